@@ -0,0 +1,68 @@
+package com.airport.common;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Spin phase of the SPIN_THEN_PARK wait strategy.
+ *
+ * Before blocking, a plane spins with Thread.onSpinWait() while polling a cheap, lock-free
+ * readiness hint (e.g. a volatile free-runway counter). The spin budget tunes itself per
+ * instance: a spin that sees the resource become ready doubles the budget, a spin that runs
+ * out halves it. Short handoffs therefore end up spinning, long holds quickly fall back to
+ * parking and stop burning CPU.
+ *
+ * The upper bound of the budget is calibrated once per JVM so that a full spin lasts about
+ * MAX_SPIN_NS, whatever the cost of onSpinWait() on this CPU.
+ */
+public final class AdaptiveSpinner {
+
+    // Longest spin worth doing: a few park/unpark round trips
+    private static final long MAX_SPIN_NS = 50_000;
+    private static final int MIN_SPINS = 16;
+    private static final int MAX_SPINS = calibrateMaxSpins();
+
+    // Shared by all threads of one airport; races on it only make tuning slightly noisier
+    private volatile int spinLimit = Math.min(1024, MAX_SPINS);
+
+    /**
+     * Spin until {@code ready} returns true or the budget is used up.
+     * Returns true if the resource looked ready (the caller still has to acquire it properly).
+     */
+    public boolean spinUntil(BooleanSupplier ready) {
+        int limit = spinLimit;
+        for (int i = 0; i < limit; i++) {
+            if (ready.getAsBoolean()) {
+                // Spinning paid off: allow longer spins next time
+                if (limit < MAX_SPINS) spinLimit = Math.min(MAX_SPINS, limit << 1);
+                return true;
+            }
+            Thread.onSpinWait();
+        }
+        // Wasted spin: back off towards parking immediately
+        if (limit > MIN_SPINS) spinLimit = Math.max(MIN_SPINS, limit >> 1);
+        return ready.getAsBoolean();
+    }
+
+    public int getSpinLimit() {
+        return spinLimit;
+    }
+
+    public static int getMaxSpins() {
+        return MAX_SPINS;
+    }
+
+    private static int calibrateMaxSpins() {
+        final int iterations = 20_000;
+        long best = Long.MAX_VALUE;
+        // A few rounds, keep the fastest (least disturbed) one
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                Thread.onSpinWait();
+            }
+            best = Math.min(best, System.nanoTime() - t0);
+        }
+        double nsPerSpin = Math.max(1.0, (double) best / iterations);
+        return (int) Math.max(MIN_SPINS, Math.min(1 << 20, MAX_SPIN_NS / nsPerSpin));
+    }
+}
@@ -7,16 +7,43 @@ public interface AirportManager {
     // Attempt to dock at a gate. Blocks if no gate. Releases Runway.
     void finishLandingAndDock(int planeId);
     
-    // Attempt to leave gate. Blocks if no runway.
+    // Attempt to leave gate. Blocks if no runway. Frees the gate this plane docked at, if any
+    // (a stand-alone departure holds none and frees none).
     void requestRunwayForTakeoff(int planeId);
     
     // Leave the system. Releases Runway.
     void finishTakeoff(int planeId);
+
+    // Same requests with a priority class (the plain versions are SCHEDULED).
+    // Implementations without priority queues just ignore the class.
+    default void requestRunwayForLanding(int planeId, PriorityClass priority) {
+        requestRunwayForLanding(planeId);
+    }
+
+    default void requestRunwayForTakeoff(int planeId, PriorityClass priority) {
+        requestRunwayForTakeoff(planeId);
+    }
   
     int getFreeRunways();
     int getTotalRunways();
 
     int getFreeGates();
     int getTotalGates();
+
+    // Change capacity at runtime (runway closures, overflow gates). Planes holding a runway or
+    // gate that is taken away keep it and release it normally; waiters see the new capacity at
+    // once. Implementations with a fixed capacity throw UnsupportedOperationException.
+    default void setRunwayCapacity(int runways) {
+        throw new UnsupportedOperationException(getAlgorithmName() + " has a fixed runway count");
+    }
+
+    default void setGateCapacity(int gates) {
+        throw new UnsupportedOperationException(getAlgorithmName() + " has a fixed gate count");
+    }
+
+    // Short name used in reports and JFR events; decorators report the wrapped implementation.
+    default String getAlgorithmName() {
+        return getClass().getSimpleName();
+    }
     
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.airport.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted by Plane for an arrival, from the runway grant until the plane is docked
+ * (landing roll plus gate wait).
+ */
+@Name("com.airport.Dock")
+@Label("Dock")
+@Category({"Airport", "Plane"})
+@Description("Arrival from runway grant until docked at a gate")
+@StackTrace(false)
+public class DockEvent extends jdk.jfr.Event {
+
+    @Label("Plane Id")
+    int planeId;
+
+    @Label("Priority Class")
+    String priority;
+
+    @Label("Algorithm")
+    String algorithm;
+
+    public void complete(String algorithm, int planeId, PriorityClass priority) {
+        end();
+        if (shouldCommit()) {
+            this.algorithm = algorithm;
+            this.planeId = planeId;
+            this.priority = priority.name();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.airport.common;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compact flight state for large simulations: one slot per flight, struct-of-arrays.
+ *
+ * Instead of one Plane object (plus thread, Runnable and references) per flight, every field
+ * lives in a primitive array indexed by the flight number. A million flights take about 55 MB
+ * ({@link #BYTES_PER_FLIGHT} bytes each) in a dozen arrays, which the GC never has to trace
+ * element by element. Timestamps are the same call boundaries a {@link Plane} records (0 = not reached), so
+ * phase durations mean exactly the same thing.
+ *
+ * Flight numbers are handed out by {@link #add} (thread-safe). Each slot is then written by one
+ * thread only; readers must see those writes through a happens-before edge such as
+ * Thread.join or a latch. {@link #getState} may be read at any time for monitoring, it is
+ * only approximate while the flight is moving.
+ */
+public class FlightStore {
+
+    public enum State { SCHEDULED, WAITING_RUNWAY, ON_RUNWAY, RELEASING, DONE }
+
+    /** Memory per flight slot: six long timestamps, the plane id and three byte fields. */
+    public static final int BYTES_PER_FLIGHT = 6 * Long.BYTES + Integer.BYTES + 3;
+
+    private static final State[] STATES = State.values();
+    private static final PriorityClass[] PRIORITIES = PriorityClass.values();
+
+    private final int capacity;
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final int[] id;           // plane id shown in logs (not the flight number)
+    private final boolean[] arriving;
+    private final byte[] priority;    // PriorityClass ordinal
+    private final byte[] state;       // State ordinal
+
+    private final long[] startNs;
+    private final long[] runwayRequestNs;
+    private final long[] runwayGrantedNs;
+    private final long[] releaseRequestNs;
+    private final long[] releaseDoneNs;
+    private final long[] endNs;
+
+    public FlightStore(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("capacity must be >= 0");
+        this.capacity = capacity;
+        this.id = new int[capacity];
+        this.arriving = new boolean[capacity];
+        this.priority = new byte[capacity];
+        this.state = new byte[capacity];
+        this.startNs = new long[capacity];
+        this.runwayRequestNs = new long[capacity];
+        this.runwayGrantedNs = new long[capacity];
+        this.releaseRequestNs = new long[capacity];
+        this.releaseDoneNs = new long[capacity];
+        this.endNs = new long[capacity];
+    }
+
+    /**
+     * Reserve the next slot and return its flight number.
+     */
+    public int add(int planeId, boolean isArriving, PriorityClass pc) {
+        int f = size.getAndIncrement();
+        if (f >= capacity) {
+            size.decrementAndGet();
+            throw new IllegalStateException("FlightStore full (" + capacity + " flights)");
+        }
+        id[f] = planeId;
+        arriving[f] = isArriving;
+        priority[f] = (byte) pc.ordinal();
+        state[f] = (byte) State.SCHEDULED.ordinal();
+        return f;
+    }
+
+    /**
+     * Forget all flights (the arrays are kept for reuse). Not safe while flights are moving.
+     */
+    public void clear() {
+        size.set(0);
+        Arrays.fill(runwayRequestNs, 0L);
+        Arrays.fill(runwayGrantedNs, 0L);
+        Arrays.fill(releaseRequestNs, 0L);
+        Arrays.fill(releaseDoneNs, 0L);
+        Arrays.fill(endNs, 0L);
+    }
+
+    public int size() {
+        return Math.min(size.get(), capacity);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // --- LIFECYCLE MARKS (called by the thread flying the flight) ---
+
+    public void markStart(int f) {
+        startNs[f] = System.nanoTime();
+    }
+
+    public void markRunwayRequest(int f) {
+        state[f] = (byte) State.WAITING_RUNWAY.ordinal();
+        runwayRequestNs[f] = System.nanoTime();
+    }
+
+    public void markRunwayGranted(int f) {
+        runwayGrantedNs[f] = System.nanoTime();
+        state[f] = (byte) State.ON_RUNWAY.ordinal();
+    }
+
+    public void markReleaseRequest(int f) {
+        state[f] = (byte) State.RELEASING.ordinal();
+        releaseRequestNs[f] = System.nanoTime();
+    }
+
+    public void markReleaseDone(int f) {
+        releaseDoneNs[f] = System.nanoTime();
+    }
+
+    public void markEnd(int f) {
+        endNs[f] = System.nanoTime();
+        state[f] = (byte) State.DONE.ordinal();
+    }
+
+    // --- READ ---
+
+    public int getPlaneId(int f) {
+        return id[f];
+    }
+
+    public boolean isArriving(int f) {
+        return arriving[f];
+    }
+
+    public PriorityClass getPriority(int f) {
+        return PRIORITIES[priority[f]];
+    }
+
+    public State getState(int f) {
+        return STATES[state[f]];
+    }
+
+    /**
+     * Number of stored flights currently in a state (monitoring, approximate while running).
+     */
+    public int countInState(State s) {
+        int n = 0;
+        int count = size();
+        for (int f = 0; f < count; f++) {
+            if (state[f] == s.ordinal()) n++;
+        }
+        return n;
+    }
+
+    /**
+     * Same as {@link Plane#getLatencyNs()}: start to end, or to now if the flight is not done.
+     */
+    public long getLatencyNs(int f) {
+        long end = endNs[f] == 0 ? System.nanoTime() : endNs[f];
+        return Math.max(0L, end - startNs[f]);
+    }
+
+    /**
+     * Same as {@link Plane#getPhaseNs(Phase)}: -1 if the phase does not apply or was not reached.
+     */
+    public long getPhaseNs(int f, Phase phase) {
+        if (runwayRequestNs[f] == 0 || runwayGrantedNs[f] == 0 || releaseRequestNs[f] == 0 || releaseDoneNs[f] == 0) {
+            return -1L;
+        }
+        long runwayWait = runwayGrantedNs[f] - runwayRequestNs[f];
+        long releaseWait = releaseDoneNs[f] - releaseRequestNs[f];
+
+        switch (phase) {
+            case RUNWAY_WAIT:
+                return runwayWait;
+            case RUNWAY_HOLD:
+                return releaseDoneNs[f] - runwayGrantedNs[f];
+            case GATE_WAIT:
+                return arriving[f] ? releaseWait : -1L;
+            case SERVICE:
+                return Math.max(0L, getLatencyNs(f) - runwayWait - releaseWait);
+            default:
+                return -1L;
+        }
+    }
+
+    /**
+     * Latencies of all stored flights, in flight order.
+     */
+    public long[] latenciesNs() {
+        long[] out = new long[size()];
+        for (int f = 0; f < out.length; f++) out[f] = getLatencyNs(f);
+        return out;
+    }
+}
@@ -0,0 +1,161 @@
+package com.airport.common;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gates partitioned into terminals, each with its own free counter.
+ *
+ * A plane first tries its home terminal (planeId % terminals) and steals a gate from the next
+ * terminals when home is full. Acquire and release are a single CAS on the terminal's counter;
+ * counters are padded onto separate cache lines so terminals don't false-share.
+ * Only when every terminal is full does a plane block, on a lock that releasers touch only
+ * if somebody is actually waiting.
+ *
+ * The pool remembers which terminal each docked plane occupies, so a later departure of the
+ * same plane releases exactly that gate.
+ */
+public class GatePool {
+
+    // One counter per 64-byte line (16 ints)
+    private static final int PAD = 16;
+
+    private final int terminals;
+    private final int[] capacity;
+    private final int totalGates;
+    private final AtomicIntegerArray free;
+
+    // planeId -> terminal of the gate it holds
+    private final ConcurrentHashMap<Integer, Integer> docked = new ConcurrentHashMap<>();
+
+    // Slow path: all terminals full
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition gateFreed = waitLock.newCondition();
+
+    /**
+     * Spread {@code totalGates} as evenly as possible over {@code terminals} terminals.
+     */
+    public GatePool(int totalGates, int terminals) {
+        if (terminals < 1) throw new IllegalArgumentException("terminals must be >= 1");
+        this.terminals = terminals;
+        this.totalGates = totalGates;
+        this.capacity = new int[terminals];
+        this.free = new AtomicIntegerArray(terminals * PAD);
+        for (int t = 0; t < terminals; t++) {
+            capacity[t] = totalGates / terminals + (t < totalGates % terminals ? 1 : 0);
+            free.set(t * PAD, capacity[t]);
+        }
+    }
+
+    public int getTerminalCount() {
+        return terminals;
+    }
+
+    public int homeTerminal(int planeId) {
+        return Math.floorMod(planeId, terminals);
+    }
+
+    // --- ACQUIRE ---
+
+    /**
+     * Take a gate without blocking: home terminal first, then steal from the others.
+     * Returns the terminal index, or -1 if every terminal is full.
+     */
+    public int tryAcquire(int planeId) {
+        int home = homeTerminal(planeId);
+        for (int k = 0; k < terminals; k++) {
+            int t = home + k < terminals ? home + k : home + k - terminals;
+            if (tryTake(t)) {
+                docked.put(planeId, t);
+                return t;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Take a gate, blocking while every terminal is full. Returns the terminal index.
+     */
+    public int acquire(int planeId) throws InterruptedException {
+        int t = tryAcquire(planeId);
+        if (t >= 0) return t;
+
+        waiters.incrementAndGet();
+        waitLock.lock();
+        try {
+            while ((t = tryAcquire(planeId)) < 0) {
+                gateFreed.await();
+            }
+            return t;
+        } finally {
+            waitLock.unlock();
+            waiters.decrementAndGet();
+        }
+    }
+
+    private boolean tryTake(int terminal) {
+        int idx = terminal * PAD;
+        while (true) {
+            int f = free.get(idx);
+            if (f <= 0) return false;
+            if (free.compareAndSet(idx, f, f - 1)) return true;
+        }
+    }
+
+    // --- RELEASE ---
+
+    /**
+     * Release the gate held by {@code planeId}. A plane the pool never docked (a stand-alone
+     * departure) holds no gate and releases nothing. Returns false if there was no gate to release.
+     */
+    public boolean release(int planeId) {
+        Integer t = docked.remove(planeId);
+        if (t == null || !tryGiveBack(t)) return false;
+        wakeWaiters();
+        return true;
+    }
+
+    private boolean tryGiveBack(int terminal) {
+        int idx = terminal * PAD;
+        while (true) {
+            int f = free.get(idx);
+            if (f >= capacity[terminal]) return false;
+            if (free.compareAndSet(idx, f, f + 1)) return true;
+        }
+    }
+
+    private void wakeWaiters() {
+        // Waiters register before their last tryAcquire, so reading 0 here is safe
+        if (waiters.get() == 0) return;
+        waitLock.lock();
+        try {
+            gateFreed.signalAll();
+        } finally {
+            waitLock.unlock();
+        }
+    }
+
+    // --- GETTERS ---
+
+    public int getFreeGates() {
+        int sum = 0;
+        for (int t = 0; t < terminals; t++) sum += free.get(t * PAD);
+        return sum;
+    }
+
+    public int getFreeGates(int terminal) {
+        return free.get(terminal * PAD);
+    }
+
+    public int getTotalGates() {
+        return totalGates;
+    }
+
+    public int getTotalGates(int terminal) {
+        return capacity[terminal];
+    }
+}
@@ -0,0 +1,35 @@
+package com.airport.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning finishLandingAndDock: waiting for a gate while still holding the runway.
+ * Emitted by the three AirportManager implementations. The priority class is not known at
+ * this call, join with the RunwayRequest event on the plane id if needed.
+ */
+@Name("com.airport.GateWait")
+@Label("Gate Wait")
+@Category({"Airport", "Gate"})
+@Description("Wait for a gate after landing, runway still held")
+@StackTrace(false)
+public class GateWaitEvent extends jdk.jfr.Event {
+
+    @Label("Plane Id")
+    int planeId;
+
+    @Label("Algorithm")
+    String algorithm;
+
+    public void complete(String algorithm, int planeId) {
+        end();
+        if (shouldCommit()) {
+            this.algorithm = algorithm;
+            this.planeId = planeId;
+            commit();
+        }
+    }
+}
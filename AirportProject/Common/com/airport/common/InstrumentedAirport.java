@@ -0,0 +1,152 @@
+package com.airport.common;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator that adds queue-depth and throughput counters to any AirportManager.
+ * All counters are kept outside the wrapped implementation (atomics / LongAdder),
+ * so reading them never touches the airport's own locks.
+ */
+public class InstrumentedAirport implements AirportManager {
+
+    private final AirportManager delegate;
+
+    // Planes currently blocked in a manager call
+    private final AtomicInteger landingQueue = new AtomicInteger();
+    private final AtomicInteger takeoffQueue = new AtomicInteger();
+    private final AtomicInteger gateQueue = new AtomicInteger();
+
+    // Runways held by planes that passed through this decorator
+    private final AtomicInteger runwaysInUse = new AtomicInteger();
+
+    // Completed movements
+    private final LongAdder landings = new LongAdder();
+    private final LongAdder takeoffs = new LongAdder();
+
+    public InstrumentedAirport(AirportManager delegate) {
+        this.delegate = delegate;
+    }
+
+    public AirportManager getDelegate() {
+        return delegate;
+    }
+
+    // --- ARRIVAL LOGIC ---
+
+    @Override
+    public void requestRunwayForLanding(int planeId) {
+        requestRunwayForLanding(planeId, PriorityClass.SCHEDULED);
+    }
+
+    @Override
+    public void requestRunwayForLanding(int planeId, PriorityClass priority) {
+        landingQueue.incrementAndGet();
+        try {
+            delegate.requestRunwayForLanding(planeId, priority);
+            runwaysInUse.incrementAndGet();
+        } finally {
+            landingQueue.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void finishLandingAndDock(int planeId) {
+        gateQueue.incrementAndGet();
+        try {
+            delegate.finishLandingAndDock(planeId);
+            runwaysInUse.decrementAndGet();
+            landings.increment();
+        } finally {
+            gateQueue.decrementAndGet();
+        }
+    }
+
+    // --- DEPARTURE LOGIC ---
+
+    @Override
+    public void requestRunwayForTakeoff(int planeId) {
+        requestRunwayForTakeoff(planeId, PriorityClass.SCHEDULED);
+    }
+
+    @Override
+    public void requestRunwayForTakeoff(int planeId, PriorityClass priority) {
+        takeoffQueue.incrementAndGet();
+        try {
+            delegate.requestRunwayForTakeoff(planeId, priority);
+            runwaysInUse.incrementAndGet();
+        } finally {
+            takeoffQueue.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void finishTakeoff(int planeId) {
+        delegate.finishTakeoff(planeId);
+        runwaysInUse.decrementAndGet();
+        takeoffs.increment();
+    }
+
+    // --- CAPACITY ---
+
+    @Override
+    public void setRunwayCapacity(int runways) {
+        delegate.setRunwayCapacity(runways);
+    }
+
+    @Override
+    public void setGateCapacity(int gates) {
+        delegate.setGateCapacity(gates);
+    }
+
+    // --- GETTERS ---
+
+    @Override
+    public int getFreeRunways() {
+        return delegate.getFreeRunways();
+    }
+
+    @Override
+    public int getTotalRunways() {
+        return delegate.getTotalRunways();
+    }
+
+    @Override
+    public int getFreeGates() {
+        return delegate.getFreeGates();
+    }
+
+    @Override
+    public int getTotalGates() {
+        return delegate.getTotalGates();
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return delegate.getAlgorithmName();
+    }
+
+    public int getLandingQueueDepth() {
+        return landingQueue.get();
+    }
+
+    public int getTakeoffQueueDepth() {
+        return takeoffQueue.get();
+    }
+
+    public int getGateQueueDepth() {
+        return gateQueue.get();
+    }
+
+    public int getRunwaysInUse() {
+        return runwaysInUse.get();
+    }
+
+    public long getLandings() {
+        return landings.sum();
+    }
+
+    public long getTakeoffs() {
+        return takeoffs.sum();
+    }
+}
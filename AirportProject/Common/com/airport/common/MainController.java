@@ -11,7 +11,7 @@ public interface MainController {
     void updateQueue(int planeId, String status);
 
     /**
-     * Called by a Plane when it fully finishes its lifecycle (landing+docking OR takeoff).
+     * Called by a Plane when it fully finishes its lifecycle (landing+docking, takeoff, or a whole turnaround).
      * PerformanceTester listens to these notifications during a benchmark run.
      */
     void notifyPlaneFinished(Plane p);
@@ -0,0 +1,15 @@
+package com.airport.common;
+
+/**
+ * Phases of a plane lifecycle, measured at the AirportManager call boundaries.
+ */
+public enum Phase {
+    // Time blocked in requestRunwayForLanding / requestRunwayForTakeoff
+    RUNWAY_WAIT,
+    // From runway grant until the runway is released (finishLandingAndDock / finishTakeoff returns)
+    RUNWAY_HOLD,
+    // Time blocked in finishLandingAndDock waiting for a gate (arrivals only)
+    GATE_WAIT,
+    // Everything outside the manager calls (landing, docking, boarding, takeoff, UI updates)
+    SERVICE
+}
@@ -4,16 +4,58 @@ public class Plane implements Runnable {
     private int id;
     private AirportManager airport;
     private boolean isArriving; // true = arrival, false = departure
+    private PriorityClass priority; // Runway queue priority
     private MainController uiController; // To update the UI
+    private ServiceTimeModel serviceTimes; // Landing / docking / boarding / takeoff durations
 
     // For performance measurement (nanoseconds)
     private volatile long startTimeNs;
     private volatile long endTimeNs;
 
+    // Per-phase timestamps taken at the AirportManager call boundaries (0 = not reached)
+    private long runwayRequestNs;  // before requestRunwayForLanding / requestRunwayForTakeoff
+    private long runwayGrantedNs;  // after the runway request returned
+    private long releaseRequestNs; // before finishLandingAndDock / finishTakeoff
+    private long releaseDoneNs;    // after the runway was released
+
+    // Turnaround: arrival, gate dwell, departure of the same aircraft from the gate it holds
+    private final boolean turnaround;
+    private long dockedNs;                  // end of the arrival leg
+    private long departureRequestNs;        // departure leg, same boundaries as above
+    private long departureGrantedNs;
+    private long departureReleaseRequestNs;
+    private long departureReleaseDoneNs;
+
     public Plane(int id, AirportManager airport, boolean isArriving, MainController ui) {
+        this(id, airport, isArriving, PriorityClass.SCHEDULED, ui);
+    }
+
+    public Plane(int id, AirportManager airport, boolean isArriving, PriorityClass priority, MainController ui) {
+        this(id, airport, isArriving, priority, ServiceTimeModel.DEFAULT, ui);
+    }
+
+    public Plane(int id, AirportManager airport, boolean isArriving, PriorityClass priority,
+                 ServiceTimeModel serviceTimes, MainController ui) {
+        this(id, airport, isArriving, priority, serviceTimes, false, ui);
+    }
+
+    /**
+     * An aircraft that lands, docks, stays at its gate for the turnaround time (boarding) and
+     * departs again, releasing the gate it actually holds. Its latency covers the whole cycle.
+     */
+    public static Plane turnaround(int id, AirportManager airport, PriorityClass priority,
+                                   ServiceTimeModel serviceTimes, MainController ui) {
+        return new Plane(id, airport, true, priority, serviceTimes, true, ui);
+    }
+
+    private Plane(int id, AirportManager airport, boolean isArriving, PriorityClass priority,
+                  ServiceTimeModel serviceTimes, boolean turnaround, MainController ui) {
         this.id = id;
         this.airport = airport;
         this.isArriving = isArriving;
+        this.priority = priority;
+        this.serviceTimes = serviceTimes;
+        this.turnaround = turnaround;
         this.uiController = ui;
     }
 
@@ -24,53 +66,11 @@ public class Plane implements Runnable {
 
         try {
             if (isArriving) {
-                // PHASE: ARRIVAL
-                uiController.log("Plane " + id + " (Arrival) entering airspace.");
-                uiController.updateQueue(id, "Waiting for Runway");
-
-                airport.requestRunwayForLanding(id);
-
-                uiController.updateQueue(id, "Landing...");
-                uiController.updateRunwayVisuals(); // Occupy runway visual
-                Thread.sleep(800); // Simulate landing time (shorter for benchmark snappiness)
-
-                airport.finishLandingAndDock(id);
-
-                uiController.updateRunwayVisuals(); // Free runway visual
-                uiController.updateGateStatus();    // Occupy gate visual
-                uiController.log("Plane " + id + " docked at gate.");
-
-                // Simulate docking time
-                Thread.sleep(700);
-
-                // For arrival-only lifecycle in this sim, plane remains at gate until
-                // (we consider finishTime once it docked for arrival measurement)
-                // Mark end time here for arrivals
-                endTimeNs = System.nanoTime();
-
-                // NOTE: In a real full lifecycle you might wait for departure; for our hybrid
-                // benchmark we consider arrival latency as time until docked.
-
+                arrive();
+                // A turnaround stays at its gate for the turnaround time, then leaves from it
+                if (turnaround) depart();
             } else {
-                // PHASE: DEPARTURE
-                uiController.log("Plane " + id + " (Departure) boarding.");
-                uiController.updateGateStatus(); // Starts at gate
-                Thread.sleep(600); // Boarding time (shorter)
-
-                airport.requestRunwayForTakeoff(id);
-
-                uiController.updateGateStatus(); // Free gate
-                uiController.updateRunwayVisuals(); // Occupy runway
-                uiController.log("Plane " + id + " taking off.");
-                Thread.sleep(900); // Takeoff time
-
-                airport.finishTakeoff(id);
-
-                uiController.updateRunwayVisuals(); // Free runway
-                uiController.log("Plane " + id + " left the system.");
-
-                // Mark end time for departure lifecycle
-                endTimeNs = System.nanoTime();
+                depart();
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
@@ -86,12 +86,130 @@ public class Plane implements Runnable {
         }
     }
 
+    // PHASE: ARRIVAL
+    private void arrive() throws InterruptedException {
+        uiController.log("Plane " + id + " (Arrival" + priorityTag() + ") entering airspace.");
+        uiController.updateQueue(id, "Waiting for Runway");
+
+        runwayRequestNs = System.nanoTime();
+        airport.requestRunwayForLanding(id, priority);
+        runwayGrantedNs = System.nanoTime();
+        DockEvent dock = new DockEvent();
+        dock.begin();
+
+        uiController.updateQueue(id, "Landing...");
+        uiController.updateRunwayVisuals(); // Occupy runway visual
+        serviceTimes.pause(ServiceTimeModel.Activity.LANDING); // Simulate landing time
+
+        releaseRequestNs = System.nanoTime();
+        airport.finishLandingAndDock(id);
+        releaseDoneNs = System.nanoTime();
+        dock.complete(airport.getAlgorithmName(), id, priority);
+
+        uiController.updateRunwayVisuals(); // Free runway visual
+        uiController.updateGateStatus();    // Occupy gate visual
+        uiController.log("Plane " + id + " docked at gate.");
+
+        // Simulate docking time
+        serviceTimes.pause(ServiceTimeModel.Activity.DOCKING);
+
+        // Arrival latency is the time until docked; a plain arrival stays at the gate for good
+        dockedNs = System.nanoTime();
+        if (!turnaround) endTimeNs = dockedNs;
+    }
+
+    // PHASE: DEPARTURE (from the gate this plane holds, if it arrived here)
+    private void depart() throws InterruptedException {
+        uiController.log("Plane " + id + " (Departure" + priorityTag() + ") boarding.");
+        uiController.updateGateStatus(); // Starts at gate
+        serviceTimes.pause(ServiceTimeModel.Activity.BOARDING); // Boarding time
+
+        long request = System.nanoTime();
+        if (turnaround) departureRequestNs = request;
+        else runwayRequestNs = request;
+        airport.requestRunwayForTakeoff(id, priority);
+        long granted = System.nanoTime();
+        if (turnaround) departureGrantedNs = granted;
+        else runwayGrantedNs = granted;
+        TakeoffEvent takeoff = new TakeoffEvent();
+        takeoff.begin();
+
+        uiController.updateGateStatus(); // Free gate
+        uiController.updateRunwayVisuals(); // Occupy runway
+        uiController.log("Plane " + id + " taking off.");
+        serviceTimes.pause(ServiceTimeModel.Activity.TAKEOFF); // Takeoff time
+
+        long releaseRequest = System.nanoTime();
+        airport.finishTakeoff(id);
+        long releaseDone = System.nanoTime();
+        if (turnaround) {
+            departureReleaseRequestNs = releaseRequest;
+            departureReleaseDoneNs = releaseDone;
+        } else {
+            releaseRequestNs = releaseRequest;
+            releaseDoneNs = releaseDone;
+        }
+        takeoff.complete(airport.getAlgorithmName(), id, priority);
+
+        uiController.updateRunwayVisuals(); // Free runway
+        uiController.log("Plane " + id + " left the system.");
+
+        // Mark end time for departure lifecycle
+        endTimeNs = System.nanoTime();
+    }
+
+    private String priorityTag() {
+        return priority == PriorityClass.SCHEDULED ? "" : ", " + priority;
+    }
+
     public long getLatencyNs() {
         // If endTime wasn't set (unexpected), use current time
         long end = endTimeNs == 0 ? System.nanoTime() : endTimeNs;
         return Math.max(0L, end - startTimeNs);
     }
 
+    /**
+     * Duration of one lifecycle phase in ns, or -1 if the phase does not apply to this plane
+     * (GATE_WAIT for departures) or was not reached (interrupted plane). A turnaround sums its
+     * arrival and departure legs.
+     */
+    public long getPhaseNs(Phase phase) {
+        if (runwayRequestNs == 0 || runwayGrantedNs == 0 || releaseRequestNs == 0 || releaseDoneNs == 0) {
+            return -1L;
+        }
+        long runwayWait = runwayGrantedNs - runwayRequestNs;
+        long releaseWait = releaseDoneNs - releaseRequestNs;
+        long runwayHold = releaseDoneNs - runwayGrantedNs;
+        if (turnaround) {
+            if (departureReleaseDoneNs == 0) return -1L;
+            runwayWait += departureGrantedNs - departureRequestNs;
+            runwayHold += departureReleaseDoneNs - departureGrantedNs;
+        }
+        long departureRelease = turnaround ? departureReleaseDoneNs - departureReleaseRequestNs : 0L;
+
+        switch (phase) {
+            case RUNWAY_WAIT:
+                return runwayWait;
+            case RUNWAY_HOLD:
+                return runwayHold;
+            case GATE_WAIT:
+                return isArriving ? releaseWait : -1L;
+            case SERVICE:
+                return Math.max(0L, getLatencyNs() - runwayWait - releaseWait - departureRelease);
+            default:
+                return -1L;
+        }
+    }
+
+    /**
+     * Time from entering the airspace until docked (arrivals only, -1 otherwise). For a plain
+     * arrival this is its latency; for a turnaround the first part of it.
+     */
+    public long getLandingLatencyNs() {
+        if (!isArriving || dockedNs == 0) return -1L;
+        return dockedNs - startTimeNs;
+    }
+
     public int getId() {
         return id;
     }
@@ -100,6 +218,18 @@ public class Plane implements Runnable {
         return isArriving;
     }
 
+    public boolean isTurnaround() {
+        return turnaround;
+    }
+
+    public PriorityClass getPriority() {
+        return priority;
+    }
+
+    public ServiceTimeModel getServiceTimes() {
+        return serviceTimes;
+    }
+
     public AirportManager getAirportManager() {
         return airport;
     }
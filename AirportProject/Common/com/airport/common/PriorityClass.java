@@ -0,0 +1,33 @@
+package com.airport.common;
+
+/**
+ * Priority class of a flight, highest first.
+ *
+ * Runway waiters are ordered by {@link #level(boolean)}: emergency and low-fuel arrivals jump
+ * every queue, departures included; their departures come next, then scheduled and cargo
+ * flights. Within those arrivals still go before departures (the original rule), and cargo
+ * yields to all passenger traffic.
+ */
+public enum PriorityClass {
+    EMERGENCY,
+    LOW_FUEL,
+    SCHEDULED,
+    CARGO;
+
+    /** Number of distinct runway queue levels (class x arrival/departure). */
+    public static final int LEVELS = values().length * 2;
+
+    /** Emergency and low-fuel flights: they go ahead of all other traffic. */
+    public boolean isUrgent() {
+        return ordinal() <= LOW_FUEL.ordinal();
+    }
+
+    /**
+     * Runway queue level, 0 = served first: emergency and low-fuel arrivals 0-1, their
+     * departures 2-3, then scheduled and cargo flights, each arrival before its departure.
+     */
+    public int level(boolean arriving) {
+        if (isUrgent()) return arriving ? ordinal() : LOW_FUEL.ordinal() + 1 + ordinal();
+        return ordinal() * 2 + (arriving ? 0 : 1);
+    }
+}
@@ -0,0 +1,98 @@
+package com.airport.common;
+
+import java.util.ArrayDeque;
+
+/**
+ * Multi-level FIFO wait queue: one deque per level plus a bitmap of the non-empty levels,
+ * so finding the next waiter is a single numberOfTrailingZeros instead of a scan.
+ *
+ * Level 0 is served first. Not thread-safe: the owning AirportManager guards it with its
+ * own lock / monitor / mutex.
+ */
+public class PriorityWaitQueue<T> {
+
+    /**
+     * Test hook (StressTester): sees every waiter queued and dequeued. Called by the thread that
+     * adds / polls / removes, while it holds the owning manager's lock, so the calls arrive in
+     * the queue's real order.
+     */
+    public interface Observer {
+        void added(int level, Object waiter);
+
+        void polled(Object waiter);
+
+        void removed(Object waiter);
+    }
+
+    private static volatile Observer observer;
+
+    /** Install (or clear with null) the observer for every queue in the JVM. */
+    public static void setObserver(Observer o) {
+        observer = o;
+    }
+
+    private final ArrayDeque<T>[] levels;
+    private int nonEmpty; // bit i set = levels[i] has waiters
+    private int size;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public PriorityWaitQueue(int levelCount) {
+        if (levelCount < 1 || levelCount > Integer.SIZE) {
+            throw new IllegalArgumentException("levelCount must be in 1.." + Integer.SIZE);
+        }
+        levels = new ArrayDeque[levelCount];
+        for (int i = 0; i < levelCount; i++) {
+            levels[i] = new ArrayDeque<>();
+        }
+    }
+
+    public void add(int level, T waiter) {
+        levels[level].addLast(waiter);
+        nonEmpty |= 1 << level;
+        size++;
+        Observer o = observer;
+        if (o != null) o.added(level, waiter);
+    }
+
+    /**
+     * Oldest waiter of the highest non-empty level, or null.
+     */
+    public T peek() {
+        return nonEmpty == 0 ? null : levels[Integer.numberOfTrailingZeros(nonEmpty)].peekFirst();
+    }
+
+    public T poll() {
+        if (nonEmpty == 0) return null;
+        int level = Integer.numberOfTrailingZeros(nonEmpty);
+        T waiter = levels[level].pollFirst();
+        if (levels[level].isEmpty()) nonEmpty &= ~(1 << level);
+        size--;
+        Observer o = observer;
+        if (o != null) o.polled(waiter);
+        return waiter;
+    }
+
+    /**
+     * Remove a specific waiter (interrupted or timed out). Returns false if it was not queued.
+     */
+    public boolean remove(int level, T waiter) {
+        if (!levels[level].remove(waiter)) return false;
+        if (levels[level].isEmpty()) nonEmpty &= ~(1 << level);
+        size--;
+        Observer o = observer;
+        if (o != null) o.removed(waiter);
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return nonEmpty == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int size(int level) {
+        return levels[level].size();
+    }
+}
@@ -0,0 +1,47 @@
+package com.airport.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning a runway request, from the call until the runway is granted.
+ * The event duration is the runway wait. Emitted by the three AirportManager implementations.
+ */
+@Name("com.airport.RunwayRequest")
+@Label("Runway Request")
+@Category({"Airport", "Runway"})
+@Description("Wait from requesting a runway until it is granted")
+@StackTrace(false)
+public class RunwayRequestEvent extends jdk.jfr.Event {
+
+    @Label("Plane Id")
+    int planeId;
+
+    @Label("Priority Class")
+    String priority;
+
+    @Label("Movement")
+    @Description("Landing or Takeoff")
+    String movement;
+
+    @Label("Algorithm")
+    String algorithm;
+
+    /**
+     * End the event and commit it if the recording wants it. Fields are only filled in
+     * then, so a disabled event costs no more than the begin/end timestamps.
+     */
+    public void complete(String algorithm, int planeId, PriorityClass priority, boolean arriving) {
+        end();
+        if (shouldCommit()) {
+            this.algorithm = algorithm;
+            this.planeId = planeId;
+            this.priority = priority.name();
+            this.movement = arriving ? "Landing" : "Takeoff";
+            commit();
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.airport.common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How long a plane spends landing, docking, boarding and taking off.
+ *
+ * Each activity has its own duration distribution (fixed, exponential or empirical samples),
+ * and one global compression factor divides every sampled duration: 10 runs the day ten times
+ * faster, 0.5 in slow motion. {@link #ZERO} skips the pauses entirely, which leaves only the
+ * synchronization cost of the managers.
+ *
+ * Immutable; the with* methods return modified copies.
+ */
+public final class ServiceTimeModel {
+
+    public enum Activity { LANDING, DOCKING, BOARDING, TAKEOFF }
+
+    /**
+     * Duration distribution of one activity, in nanoseconds. Plane threads sample with their
+     * ThreadLocalRandom; simulations pass a seeded generator to stay reproducible.
+     */
+    public interface Distribution {
+        long sampleNs(Random random);
+
+        double meanNs();
+
+        String describe();
+    }
+
+    // Original Plane timings (ms)
+    private static final long[] DEFAULT_MS = {800, 700, 600, 900};
+
+    /** The original fixed timings, uncompressed. */
+    public static final ServiceTimeModel DEFAULT = fixed(1.0);
+
+    /** No pauses at all. */
+    public static final ServiceTimeModel ZERO = fixed(Double.POSITIVE_INFINITY);
+
+    private final EnumMap<Activity, Distribution> distributions;
+    private final double compression;
+
+    private ServiceTimeModel(Map<Activity, Distribution> distributions, double compression) {
+        if (!(compression > 0)) throw new IllegalArgumentException("compression must be > 0: " + compression);
+        this.distributions = new EnumMap<>(distributions);
+        this.compression = compression;
+    }
+
+    // --- FACTORIES ---
+
+    /**
+     * The original timings as fixed durations.
+     */
+    public static ServiceTimeModel fixed(double compression) {
+        Map<Activity, Distribution> d = new EnumMap<>(Activity.class);
+        for (Activity a : Activity.values()) d.put(a, fixedMs(DEFAULT_MS[a.ordinal()]));
+        return new ServiceTimeModel(d, compression);
+    }
+
+    /**
+     * Exponential durations with the original timings as means.
+     */
+    public static ServiceTimeModel exponential(double compression) {
+        Map<Activity, Distribution> d = new EnumMap<>(Activity.class);
+        for (Activity a : Activity.values()) d.put(a, exponentialMs(DEFAULT_MS[a.ordinal()]));
+        return new ServiceTimeModel(d, compression);
+    }
+
+    /**
+     * Empirical durations read from a file with one "ACTIVITY milliseconds" pair per line
+     * ('#' starts a comment). Activities without samples keep their fixed original timing.
+     */
+    public static ServiceTimeModel empirical(Path file, double compression) throws IOException {
+        Map<Activity, List<Long>> samples = new EnumMap<>(Activity.class);
+        int lineNo = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            lineNo++;
+            int hash = line.indexOf('#');
+            if (hash >= 0) line = line.substring(0, hash);
+            line = line.trim();
+            if (line.isEmpty()) continue;
+
+            String[] parts = line.split("[\\s,;]+");
+            if (parts.length != 2) {
+                throw new IOException(file + ":" + lineNo + ": expected 'ACTIVITY milliseconds'");
+            }
+            Activity a;
+            long ns;
+            try {
+                a = Activity.valueOf(parts[0].toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IOException(file + ":" + lineNo + ": unknown activity " + parts[0]);
+            }
+            try {
+                ns = Math.round(Double.parseDouble(parts[1]) * 1e6);
+            } catch (NumberFormatException e) {
+                throw new IOException(file + ":" + lineNo + ": not a duration: " + parts[1]);
+            }
+            if (ns < 0) throw new IOException(file + ":" + lineNo + ": negative duration");
+            samples.computeIfAbsent(a, k -> new ArrayList<>()).add(ns);
+        }
+
+        Map<Activity, Distribution> d = new EnumMap<>(Activity.class);
+        for (Activity a : Activity.values()) {
+            List<Long> s = samples.get(a);
+            d.put(a, s == null ? fixedMs(DEFAULT_MS[a.ordinal()]) : empiricalNs(s));
+        }
+        return new ServiceTimeModel(d, compression);
+    }
+
+    /**
+     * Parse a command-line spec: "fixed", "exponential", "empirical:FILE" or "zero".
+     */
+    public static ServiceTimeModel parse(String spec, double compression) throws IOException {
+        if (spec.startsWith("empirical:")) {
+            return empirical(Path.of(spec.substring("empirical:".length())), compression);
+        }
+        switch (spec) {
+            case "fixed": return fixed(compression);
+            case "exponential":
+            case "exp": return exponential(compression);
+            case "zero": return ZERO;
+            default: throw new IllegalArgumentException("Unknown service time model: " + spec
+                    + " (fixed, exponential, empirical:FILE, zero)");
+        }
+    }
+
+    public ServiceTimeModel withCompression(double compression) {
+        return new ServiceTimeModel(distributions, compression);
+    }
+
+    public ServiceTimeModel with(Activity activity, Distribution distribution) {
+        EnumMap<Activity, Distribution> d = new EnumMap<>(distributions);
+        d.put(activity, distribution);
+        return new ServiceTimeModel(d, compression);
+    }
+
+    // --- DISTRIBUTIONS ---
+
+    public static Distribution fixedMs(double ms) {
+        long ns = Math.round(ms * 1e6);
+        return new Distribution() {
+            @Override
+            public long sampleNs(Random random) { return ns; }
+            @Override
+            public double meanNs() { return ns; }
+            @Override
+            public String describe() { return "fixed " + fmt(ns); }
+        };
+    }
+
+    public static Distribution exponentialMs(double meanMs) {
+        double meanNs = meanMs * 1e6;
+        return new Distribution() {
+            @Override
+            public long sampleNs(Random random) {
+                return Math.round(-meanNs * Math.log(1.0 - random.nextDouble()));
+            }
+            @Override
+            public double meanNs() { return meanNs; }
+            @Override
+            public String describe() { return "exponential mean " + fmt(meanNs); }
+        };
+    }
+
+    public static Distribution empiricalNs(List<Long> samplesNs) {
+        if (samplesNs.isEmpty()) throw new IllegalArgumentException("no samples");
+        long[] s = new long[samplesNs.size()];
+        double sum = 0;
+        for (int i = 0; i < s.length; i++) {
+            s[i] = samplesNs.get(i);
+            sum += s[i];
+        }
+        double mean = sum / s.length;
+        return new Distribution() {
+            @Override
+            public long sampleNs(Random random) { return s[random.nextInt(s.length)]; }
+            @Override
+            public double meanNs() { return mean; }
+            @Override
+            public String describe() { return "empirical " + s.length + " samples, mean " + fmt(mean); }
+        };
+    }
+
+    private static String fmt(double ns) {
+        return String.format(Locale.ROOT, "%.1f ms", ns / 1e6);
+    }
+
+    // --- USE ---
+
+    public boolean isZeroDelay() {
+        return Double.isInfinite(compression);
+    }
+
+    public double getCompression() {
+        return compression;
+    }
+
+    public Distribution getDistribution(Activity activity) {
+        return distributions.get(activity);
+    }
+
+    /**
+     * Compressed mean duration of an activity, in ms.
+     */
+    public double meanMs(Activity activity) {
+        return isZeroDelay() ? 0.0 : distributions.get(activity).meanNs() / compression / 1e6;
+    }
+
+    /**
+     * Draw one compressed duration of an activity.
+     */
+    public long sampleNs(Activity activity) {
+        return sampleNs(activity, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Draw one compressed duration with the given generator (reproducible simulations).
+     */
+    public long sampleNs(Activity activity, Random random) {
+        if (isZeroDelay()) return 0L;
+        return Math.round(distributions.get(activity).sampleNs(random) / compression);
+    }
+
+    /**
+     * Compress a fixed delay that is not an activity (spawn gaps, pauses between runs).
+     */
+    public long compressMs(long ms) {
+        return isZeroDelay() ? 0L : Math.round(ms / compression);
+    }
+
+    /**
+     * Spend one activity's duration (no-op in zero-delay mode).
+     */
+    public void pause(Activity activity) throws InterruptedException {
+        sleepNs(sampleNs(activity));
+    }
+
+    /**
+     * Sleep with sub-millisecond resolution, like Thread.sleep responds to interrupts.
+     */
+    public static void sleepNs(long ns) throws InterruptedException {
+        if (ns <= 0) {
+            if (Thread.interrupted()) throw new InterruptedException();
+            return;
+        }
+        long deadline = System.nanoTime() + ns;
+        long left = ns;
+        while (left > 0) {
+            LockSupport.parkNanos(left);
+            if (Thread.interrupted()) throw new InterruptedException();
+            left = deadline - System.nanoTime();
+        }
+    }
+
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        if (isZeroDelay()) return "zero delay";
+        for (Activity a : Activity.values()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(a.name().toLowerCase(Locale.ROOT)).append(' ').append(distributions.get(a).describe());
+        }
+        sb.append(String.format(Locale.ROOT, ", compression x%s", compression));
+        return sb.toString();
+    }
+}
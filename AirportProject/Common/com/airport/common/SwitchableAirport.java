@@ -0,0 +1,346 @@
+package com.airport.common;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * AirportManager facade whose implementation can be swapped under live traffic.
+ *
+ * Planes always talk to the facade. It keeps a small ledger of what is in flight (runways held,
+ * planes docked at a gate, planes waiting for a runway or a gate) and forwards every call to the
+ * current manager. {@link #swap} migrates to a new manager:
+ *
+ *   1. Take the write lock. Calls that only touch the ledger or release a resource run under
+ *      the read lock, so the ledger is now stable; planes parked inside a manager hold no lock.
+ *   2. Seed the new manager with the ledger's occupancy, using its own API: every docked plane
+ *      lands and docks again under its own id (a manager frees a gate only for the plane that
+ *      docked at it), then a ghost plane takes one runway per runway in use.
+ *   3. Make it current and release the write lock. This is the pause new requests see.
+ *   4. Flood the retired manager with free runways and gates. Planes parked there wake up,
+ *      notice the manager they waited on is retired, hand back what they got (keeping the
+ *      wake-up chain going) and queue again on the new manager, where their runway or gate
+ *      was already carried over.
+ *
+ * Releases always go to the current manager: a plane that landed before the swap releases the
+ * runway seeded for it. Managers built on a terminal {@link GatePool} have a fixed gate count
+ * and cannot be drained this way.
+ */
+public class SwitchableAirport implements AirportManager {
+
+    private static final int GHOST_ID = -1;
+
+    /**
+     * Outcome of one swap.
+     */
+    public static class SwapReport {
+        private final String from;
+        private final String to;
+        private final long pauseNs;
+        private final int runwaysMigrated;
+        private final int gatesMigrated;
+        private final int runwayWaitersMoved;
+        private final int gateWaitersMoved;
+
+        SwapReport(String from, String to, long pauseNs, int runwaysMigrated, int gatesMigrated,
+                   int runwayWaitersMoved, int gateWaitersMoved) {
+            this.from = from;
+            this.to = to;
+            this.pauseNs = pauseNs;
+            this.runwaysMigrated = runwaysMigrated;
+            this.gatesMigrated = gatesMigrated;
+            this.runwayWaitersMoved = runwayWaitersMoved;
+            this.gateWaitersMoved = gateWaitersMoved;
+        }
+
+        /** Time new requests were held back (write lock held). */
+        public long getPauseNs() {
+            return pauseNs;
+        }
+
+        public int getRunwaysMigrated() {
+            return runwaysMigrated;
+        }
+
+        public int getGatesMigrated() {
+            return gatesMigrated;
+        }
+
+        public int getWaitersMoved() {
+            return runwayWaitersMoved + gateWaitersMoved;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s -> %s: pause %.3f ms, migrated %d runway(s) and %d gate(s), moving %d runway and %d gate waiter(s)",
+                    from, to, pauseNs / 1e6, runwaysMigrated, gatesMigrated, runwayWaitersMoved, gateWaitersMoved);
+        }
+    }
+
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile AirportManager current;
+
+    // Ledger (updated under the read lock, read consistently under the write lock)
+    private final AtomicInteger runwayWaiters = new AtomicInteger();
+    private final AtomicInteger runwaysHeld = new AtomicInteger();
+    private final AtomicInteger gateWaiters = new AtomicInteger();
+    private final Set<Integer> docked = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger swaps = new AtomicInteger();
+    private final AtomicLong maxPauseNs = new AtomicLong();
+
+    public SwitchableAirport(AirportManager initial) {
+        this.current = initial;
+    }
+
+    public AirportManager getCurrent() {
+        return current;
+    }
+
+    /**
+     * Migrate all in-flight state to {@code next} (a fresh manager with no traffic of its own)
+     * and route every later call to it. The retired manager is drained in the calling thread
+     * after the new one is live.
+     *
+     * @throws UnsupportedOperationException if {@code next} is smaller than the traffic in
+     *         flight and cannot change its capacity
+     */
+    public synchronized SwapReport swap(AirportManager next) {
+        AirportManager old;
+        int held;
+        int gates;
+        int waitingRunway;
+        int waitingGate;
+
+        long t0 = System.nanoTime();
+        swapLock.writeLock().lock();
+        try {
+            old = current;
+            if (next == old) throw new IllegalArgumentException("already the current manager");
+            held = runwaysHeld.get();
+            gates = docked.size();
+            waitingRunway = runwayWaiters.get();
+            waitingGate = gateWaiters.get();
+
+            // A manager smaller than the traffic in flight (a runway was just closed, or a plane
+            // that just docked has not yet taken its runway off the ledger) is grown for the
+            // seeding and cut back afterwards, which leaves the same deficit as a closure
+            int runwayCap = next.getTotalRunways();
+            int gateCap = next.getTotalGates();
+            int seedRunways = Math.max(runwayCap, Math.max(held, gates > 0 ? 1 : 0));
+            int seedGates = Math.max(gateCap, gates);
+            if (seedRunways != runwayCap) next.setRunwayCapacity(seedRunways);
+            if (seedGates != gateCap) next.setGateCapacity(seedGates);
+
+            // 1. Occupied gates: each docked plane lands and docks again (the runway is free afterwards)
+            for (int planeId : docked) {
+                next.requestRunwayForLanding(planeId);
+                next.finishLandingAndDock(planeId);
+            }
+            // 2. Runways in use (including planes blocked on a gate while holding one)
+            for (int i = 0; i < held; i++) {
+                next.requestRunwayForLanding(GHOST_ID);
+            }
+
+            if (seedGates != gateCap) next.setGateCapacity(gateCap);
+            if (seedRunways != runwayCap) next.setRunwayCapacity(runwayCap);
+            current = next;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        long pauseNs = System.nanoTime() - t0;
+        maxPauseNs.accumulateAndGet(pauseNs, Math::max);
+        swaps.incrementAndGet();
+
+        // 3. Drain the retired manager: every parked plane must wake up and move over. Extra
+        //    runways and gates there are harmless, nobody new will ever queue on it
+        for (int i = 0; i < waitingRunway + old.getTotalRunways(); i++) {
+            old.finishTakeoff(GHOST_ID);
+        }
+        if (waitingGate > 0) old.setGateCapacity(old.getTotalGates() + waitingGate);
+
+        return new SwapReport(old.getAlgorithmName(), next.getAlgorithmName(), pauseNs,
+                held, gates, waitingRunway, waitingGate);
+    }
+
+    // The plane departs again from the gate it got in the retired manager (its runways are flooded)
+    private static void freeRetiredGate(AirportManager old, int planeId) {
+        old.requestRunwayForTakeoff(planeId);
+        old.finishTakeoff(planeId);
+    }
+
+    public int getSwapCount() {
+        return swaps.get();
+    }
+
+    public long getMaxPauseNs() {
+        return maxPauseNs.get();
+    }
+
+    /** Runways held according to the ledger. */
+    public int getRunwaysInUse() {
+        return runwaysHeld.get();
+    }
+
+    /** Gates occupied according to the ledger. */
+    public int getGatesOccupied() {
+        return docked.size();
+    }
+
+    // --- RUNWAY REQUESTS ---
+
+    @Override
+    public void requestRunwayForLanding(int planeId) {
+        requestRunway(planeId, PriorityClass.SCHEDULED, true);
+    }
+
+    @Override
+    public void requestRunwayForLanding(int planeId, PriorityClass priority) {
+        requestRunway(planeId, priority, true);
+    }
+
+    @Override
+    public void requestRunwayForTakeoff(int planeId) {
+        requestRunway(planeId, PriorityClass.SCHEDULED, false);
+    }
+
+    @Override
+    public void requestRunwayForTakeoff(int planeId, PriorityClass priority) {
+        requestRunway(planeId, priority, false);
+    }
+
+    private void requestRunway(int planeId, PriorityClass priority, boolean arriving) {
+        AirportManager m;
+        swapLock.readLock().lock();
+        try {
+            m = current;
+            runwayWaiters.incrementAndGet();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+
+        while (true) {
+            // Blocks inside the manager without holding the swap lock
+            if (arriving) m.requestRunwayForLanding(planeId, priority);
+            else m.requestRunwayForTakeoff(planeId, priority);
+
+            swapLock.readLock().lock();
+            try {
+                if (m == current) {
+                    runwayWaiters.decrementAndGet();
+                    runwaysHeld.incrementAndGet();
+                    // A departure leaves the gate it docked at, if any (same rule as the managers)
+                    if (!arriving) docked.remove(planeId);
+                    return;
+                }
+            } finally {
+                swapLock.readLock().unlock();
+            }
+
+            // Granted by a retired manager: pass that runway on to its next waiter, queue again
+            m.finishTakeoff(planeId);
+            m = current;
+        }
+    }
+
+    // --- RELEASES ---
+
+    @Override
+    public void finishLandingAndDock(int planeId) {
+        AirportManager m;
+        swapLock.readLock().lock();
+        try {
+            m = current;
+            gateWaiters.incrementAndGet();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+
+        while (true) {
+            // May block for a gate (holding the runway)
+            m.finishLandingAndDock(planeId);
+
+            swapLock.readLock().lock();
+            try {
+                if (m == current) {
+                    gateWaiters.decrementAndGet();
+                    runwaysHeld.decrementAndGet();
+                    docked.add(planeId);
+                    return;
+                }
+            } finally {
+                swapLock.readLock().unlock();
+            }
+
+            // Docked at a retired manager: free a gate there for its next waiter, and dock again
+            // on the new manager, which already holds our runway
+            freeRetiredGate(m, planeId);
+            m = current;
+        }
+    }
+
+    @Override
+    public void finishTakeoff(int planeId) {
+        // Non-blocking release, done under the read lock so it cannot straddle a swap
+        swapLock.readLock().lock();
+        try {
+            current.finishTakeoff(planeId);
+            runwaysHeld.decrementAndGet();
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // --- CAPACITY ---
+
+    // Under the read lock so a change cannot straddle a swap (the new manager brings its own capacity)
+
+    @Override
+    public void setRunwayCapacity(int runways) {
+        swapLock.readLock().lock();
+        try {
+            current.setRunwayCapacity(runways);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void setGateCapacity(int gates) {
+        swapLock.readLock().lock();
+        try {
+            current.setGateCapacity(gates);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // --- GETTERS ---
+
+    @Override
+    public int getFreeRunways() {
+        return current.getFreeRunways();
+    }
+
+    @Override
+    public int getTotalRunways() {
+        return current.getTotalRunways();
+    }
+
+    @Override
+    public int getFreeGates() {
+        return current.getFreeGates();
+    }
+
+    @Override
+    public int getTotalGates() {
+        return current.getTotalGates();
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return current.getAlgorithmName();
+    }
+}
@@ -0,0 +1,38 @@
+package com.airport.common;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted by Plane for a departure, from the runway grant until the runway is
+ * released after takeoff.
+ */
+@Name("com.airport.Takeoff")
+@Label("Takeoff")
+@Category({"Airport", "Plane"})
+@Description("Departure from runway grant until the runway is released")
+@StackTrace(false)
+public class TakeoffEvent extends jdk.jfr.Event {
+
+    @Label("Plane Id")
+    int planeId;
+
+    @Label("Priority Class")
+    String priority;
+
+    @Label("Algorithm")
+    String algorithm;
+
+    public void complete(String algorithm, int planeId, PriorityClass priority) {
+        end();
+        if (shouldCommit()) {
+            this.algorithm = algorithm;
+            this.planeId = planeId;
+            this.priority = priority.name();
+            commit();
+        }
+    }
+}
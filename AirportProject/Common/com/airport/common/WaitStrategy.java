@@ -0,0 +1,11 @@
+package com.airport.common;
+
+/**
+ * How an AirportManager waits for a busy runway or gate.
+ */
+public enum WaitStrategy {
+    // Block immediately (park / Condition.await / Object.wait)
+    PARK,
+    // Spin with Thread.onSpinWait for an adaptive period before blocking (see AdaptiveSpinner)
+    SPIN_THEN_PARK
+}
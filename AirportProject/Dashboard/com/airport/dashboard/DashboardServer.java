@@ -0,0 +1,202 @@
+package com.airport.dashboard;
+
+import com.airport.common.AirportManager;
+import com.airport.common.InstrumentedAirport;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Optional embedded HTTP dashboard for headless runs (JDK HttpServer, no dependencies).
+ *
+ *   GET /               tiny HTML page subscribed to the stream
+ *   GET /api/snapshot   latest JSON snapshot
+ *   GET /api/stream     server-sent events, one coalesced snapshot per tick
+ *
+ * A single sampler thread reads the AirportManager getters once per tick and publishes an
+ * immutable JSON string. HTTP clients only ever read that string, so the number of watching
+ * dashboards does not add any contention on the airport's locks. Slow SSE clients simply
+ * skip the snapshots they missed.
+ */
+public class DashboardServer implements AutoCloseable {
+
+    private final Supplier<AirportManager> source;
+    private final HttpServer server;
+    private final ScheduledExecutorService sampler;
+    private final ExecutorService handlers;
+
+    // Latest published snapshot; tickLock only guards the stream wakeups, never the airport
+    private final Object tickLock = new Object();
+    private volatile String latestJson = "{}";
+    private volatile long sequence = 0;
+
+    // Throughput computation (sampler thread only)
+    private long lastMovements = -1;
+    private long lastSampleNs;
+
+    public DashboardServer(Supplier<AirportManager> source, int port, long periodMs) throws IOException {
+        this.source = source;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.handlers = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "dashboard-http");
+            t.setDaemon(true);
+            return t;
+        });
+        this.sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "dashboard-sampler");
+            t.setDaemon(true);
+            return t;
+        });
+
+        server.createContext("/", this::handleIndex);
+        server.createContext("/api/snapshot", this::handleSnapshot);
+        server.createContext("/api/stream", this::handleStream);
+        server.setExecutor(handlers);
+        server.start();
+
+        sampler.scheduleAtFixedRate(this::sample, 0, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getLatestJson() {
+        return latestJson;
+    }
+
+    // --- SAMPLING ---
+
+    private void sample() {
+        try {
+            AirportManager manager = source.get();
+            if (manager == null) return;
+
+            long now = System.nanoTime();
+            int freeRunways = manager.getFreeRunways();
+            int totalRunways = manager.getTotalRunways();
+            int freeGates = manager.getFreeGates();
+            int totalGates = manager.getTotalGates();
+
+            // Decorators forward the name of the manager they wrap
+            String algorithm = manager.getAlgorithmName();
+            int landingQueue = -1, takeoffQueue = -1, gateQueue = -1;
+            long landings = -1, takeoffs = -1;
+            double movementsPerSec = 0.0;
+
+            if (manager instanceof InstrumentedAirport) {
+                InstrumentedAirport m = (InstrumentedAirport) manager;
+                landingQueue = m.getLandingQueueDepth();
+                takeoffQueue = m.getTakeoffQueueDepth();
+                gateQueue = m.getGateQueueDepth();
+                landings = m.getLandings();
+                takeoffs = m.getTakeoffs();
+
+                long movements = landings + takeoffs;
+                if (lastMovements >= 0 && movements >= lastMovements && now > lastSampleNs) {
+                    movementsPerSec = (movements - lastMovements) * 1e9 / (now - lastSampleNs);
+                }
+                lastMovements = movements;
+                lastSampleNs = now;
+            }
+
+            String json = "{"
+                    + "\"timestampMs\":" + System.currentTimeMillis()
+                    + ",\"algorithm\":\"" + algorithm + "\""
+                    + ",\"runways\":{\"free\":" + freeRunways + ",\"total\":" + totalRunways
+                    + ",\"occupied\":" + (totalRunways - freeRunways) + "}"
+                    + ",\"gates\":{\"free\":" + freeGates + ",\"total\":" + totalGates
+                    + ",\"occupied\":" + (totalGates - freeGates) + "}"
+                    + ",\"queues\":{\"landing\":" + landingQueue + ",\"takeoff\":" + takeoffQueue
+                    + ",\"gate\":" + gateQueue + "}"
+                    + ",\"movements\":{\"landings\":" + landings + ",\"takeoffs\":" + takeoffs + "}"
+                    + ",\"throughput\":{\"movementsPerSec\":" + String.format(Locale.ROOT, "%.2f", movementsPerSec) + "}"
+                    + "}";
+
+            latestJson = json;
+            synchronized (tickLock) {
+                sequence++;
+                tickLock.notifyAll();
+            }
+        } catch (RuntimeException e) {
+            // Never let one bad sample kill the scheduled task
+            System.err.println("Dashboard sample failed: " + e);
+        }
+    }
+
+    // --- HTTP HANDLERS ---
+
+    private void handleSnapshot(HttpExchange ex) throws IOException {
+        byte[] body = latestJson.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.getResponseHeaders().set("Cache-Control", "no-cache");
+        ex.sendResponseHeaders(200, body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void handleStream(HttpExchange ex) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", "text/event-stream");
+        ex.getResponseHeaders().set("Cache-Control", "no-cache");
+        ex.sendResponseHeaders(200, 0);
+
+        long seen = -1;
+        try (OutputStream out = ex.getResponseBody()) {
+            while (true) {
+                synchronized (tickLock) {
+                    while (sequence == seen) {
+                        tickLock.wait();
+                    }
+                    seen = sequence;
+                }
+                // Coalesced: whatever is newest when we get here
+                out.write(("data: " + latestJson + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Client disconnected
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            ex.close();
+        }
+    }
+
+    private void handleIndex(HttpExchange ex) throws IOException {
+        if (!"/".equals(ex.getRequestURI().getPath())) {
+            ex.sendResponseHeaders(404, -1);
+            ex.close();
+            return;
+        }
+        String html = "<!DOCTYPE html><html><head><title>Airport Dashboard</title></head>"
+                + "<body style=\"font-family:sans-serif\"><h2>Airport Dashboard</h2>"
+                + "<pre id=\"s\">waiting...</pre><script>"
+                + "new EventSource('/api/stream').onmessage=function(e){"
+                + "document.getElementById('s').textContent=JSON.stringify(JSON.parse(e.data),null,2);};"
+                + "</script></body></html>";
+        byte[] body = html.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+        ex.sendResponseHeaders(200, body.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+}
@@ -4,12 +4,18 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.nio.file.Path;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 
 import com.airport.common.*;
 import com.airport.semaphore.SemaphoreAirport;
 import com.airport.lock.LockAirport;
 import com.airport.monitor.MonitorAirport;
 import com.airport.performance.PerformanceTester;
+import com.airport.performance.ResultsStore;
 
 public class AirportFrame extends JFrame implements MainController {
 
@@ -17,15 +23,24 @@ public class AirportFrame extends JFrame implements MainController {
 
     // Components
     private JTextArea logsArea;
-    private JPanel runwayPanel;
-    private JPanel gatePanel;
+    private ResourceGridView runwayView;
+    private ResourceGridView gateView;
     private JList<String> queueList;
     private DefaultListModel<String> queueModel;
 
     // Logic
-    private AirportManager airportManager;
+    private AirportManager airportManager; // what the views show (the tester may point it at its own manager)
+    private final SwitchableAirport liveAirport = new SwitchableAirport(new MonitorAirport(1, 3));
     private int planeIdCounter = 1;
 
+    // Arrivals parked at a gate, oldest first: "Add Departure" pushes them back and frees the gate
+    private final Deque<Integer> dockedArrivals = new ConcurrentLinkedDeque<>();
+    // Planes that hold or will hold a gate (arrivals until they depart, turnarounds until done).
+    // Never more than the gates: an arrival holding the runway while it waits for a gate
+    // would block every departure that could free one.
+    private final AtomicInteger gateClaims = new AtomicInteger();
+    private volatile ServiceTimeModel serviceTimes = ServiceTimeModel.DEFAULT;
+
     // UI: Title + Toggle Buttons
     private JLabel algoTitleLabel;
     private JToggleButton btnSemaphore;
@@ -37,6 +52,13 @@ public class AirportFrame extends JFrame implements MainController {
     private final PerformanceTester tester;
 
     public AirportFrame() {
+        this(null);
+    }
+
+    /**
+     * @param resultsStore where every "Run Test" suite is saved, or null to keep the results in memory only
+     */
+    public AirportFrame(ResultsStore resultsStore) {
 
         setTitle("Airport Management - Projet 2026");
         setSize(1050, 720);
@@ -44,11 +66,12 @@ public class AirportFrame extends JFrame implements MainController {
         setLayout(new BorderLayout());
         setBackground(new Color(245, 245, 247)); // Apple light gray
 
-        // Default Algorithm
-        airportManager = new MonitorAirport(1, 3);
+        // Default Algorithm (manual planes always fly through liveAirport)
+        airportManager = liveAirport;
 
         // Init tester (Hybrid: 3 arrivals + 3 departures per algorithm)
         tester = new PerformanceTester(this, 3, 3);
+        tester.setResultsStore(resultsStore);
 
         // Apply Apple window look
         getContentPane().setBackground(new Color(245, 245, 247));
@@ -144,9 +167,13 @@ public class AirportFrame extends JFrame implements MainController {
 
         JButton addArrivalBtn = createMacButton("Add Arrival Plane");
         JButton addDepartureBtn = createMacButton("Add Departure Plane");
+        JButton addEmergencyBtn = createMacButton("Add Emergency Arrival");
+        JButton addTurnaroundBtn = createMacButton("Add Turnaround Flight");
 
         addArrivalBtn.addActionListener(ev -> spawnPlane(true));
         addDepartureBtn.addActionListener(ev -> spawnPlane(false));
+        addEmergencyBtn.addActionListener(ev -> spawnPlane(true, PriorityClass.EMERGENCY));
+        addTurnaroundBtn.addActionListener(ev -> spawnTurnaround());
 
         JLabel ctrlTitle = new JLabel("Control Tower");
         ctrlTitle.setFont(new Font("SF Pro Display", Font.BOLD, 16));
@@ -157,6 +184,16 @@ public class AirportFrame extends JFrame implements MainController {
         controls.add(addArrivalBtn);
         controls.add(Box.createVerticalStrut(10));
         controls.add(addDepartureBtn);
+        controls.add(Box.createVerticalStrut(10));
+        controls.add(addEmergencyBtn);
+        controls.add(Box.createVerticalStrut(10));
+        controls.add(addTurnaroundBtn);
+        controls.add(Box.createVerticalStrut(25));
+        controls.add(createSpeedSelector());
+        controls.add(Box.createVerticalStrut(10));
+        controls.add(createCapacitySpinner("Runways", 1, liveAirport::setRunwayCapacity));
+        controls.add(Box.createVerticalStrut(10));
+        controls.add(createCapacitySpinner("Gates", 3, liveAirport::setGateCapacity));
 
         add(controls, BorderLayout.WEST);
 
@@ -174,8 +211,9 @@ public class AirportFrame extends JFrame implements MainController {
         JPanel q1 = createShadowCard("Queue", new JScrollPane(queueList));
 
         // Runways
-        runwayPanel = new JPanel();
-        JPanel q2 = createShadowCard("Runways", runwayPanel);
+        runwayView = new ResourceGridView("Runway", "Busy", "Free",
+                new Color(255, 100, 100), new Color(180, 255, 180), Color.WHITE);
+        JPanel q2 = createShadowCard("Runways", gridScroll(runwayView));
 
         // Logs
         logsArea = new JTextArea();
@@ -184,8 +222,9 @@ public class AirportFrame extends JFrame implements MainController {
         JPanel q3 = createShadowCard("Event Logs", new JScrollPane(logsArea));
 
         // Gates
-        gatePanel = new JPanel();
-        JPanel q4 = createShadowCard("Gates", gatePanel);
+        gateView = new ResourceGridView("Gate", "Occupied", "Free",
+                new Color(255, 200, 120), new Color(200, 255, 200), Color.BLACK);
+        JPanel q4 = createShadowCard("Gates", gridScroll(gateView));
 
         dashboard.add(q1);
         dashboard.add(q2);
@@ -264,6 +303,69 @@ public class AirportFrame extends JFrame implements MainController {
         return btn;
     }
 
+    private static final String[] SPEEDS = {"0.5x", "1x", "2x", "10x", "100x", "No delay"};
+
+    /**
+     * Time compression of the plane durations, for manual planes and the benchmark.
+     */
+    private JPanel createSpeedSelector() {
+        JComboBox<String> speed = new JComboBox<>(SPEEDS);
+        speed.setSelectedItem("1x");
+        speed.setFont(new Font("SF Pro Text", Font.PLAIN, 14));
+        speed.setMaximumSize(new Dimension(120, 30));
+        speed.addActionListener(e -> {
+            String s = (String) speed.getSelectedItem();
+            serviceTimes = "No delay".equals(s)
+                    ? ServiceTimeModel.ZERO
+                    : ServiceTimeModel.DEFAULT.withCompression(Double.parseDouble(s.substring(0, s.length() - 1)));
+            tester.setServiceTimes(serviceTimes);
+            log("Service times: " + serviceTimes.describe());
+        });
+
+        JLabel lbl = new JLabel("Speed");
+        lbl.setFont(new Font("SF Pro Text", Font.PLAIN, 14));
+
+        JPanel row = new JPanel(new FlowLayout(FlowLayout.CENTER, 8, 0));
+        row.setOpaque(false);
+        row.add(lbl);
+        row.add(speed);
+        row.setMaximumSize(new Dimension(240, 34));
+        return row;
+    }
+
+    /**
+     * Runway closures / overflow gates at runtime: planes holding a removed resource finish normally.
+     */
+    private JPanel createCapacitySpinner(String name, int initial, IntConsumer apply) {
+        JSpinner spinner = new JSpinner(new SpinnerNumberModel(initial, 0, 10_000, 1));
+        spinner.setFont(new Font("SF Pro Text", Font.PLAIN, 14));
+        spinner.setMaximumSize(new Dimension(80, 30));
+        spinner.addChangeListener(e -> {
+            int value = (Integer) spinner.getValue();
+            apply.accept(value);
+            log(name + " capacity set to " + value);
+            updateRunwayVisuals();
+            updateGateStatus();
+        });
+
+        JLabel lbl = new JLabel(name);
+        lbl.setFont(new Font("SF Pro Text", Font.PLAIN, 14));
+
+        JPanel row = new JPanel(new FlowLayout(FlowLayout.CENTER, 8, 0));
+        row.setOpaque(false);
+        row.add(lbl);
+        row.add(spinner);
+        row.setMaximumSize(new Dimension(240, 34));
+        return row;
+    }
+
+    private JScrollPane gridScroll(ResourceGridView view) {
+        JScrollPane scroll = new JScrollPane(view);
+        scroll.setBorder(BorderFactory.createEmptyBorder());
+        scroll.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+        return scroll;
+    }
+
     private JPanel createShadowCard(String title, JComponent content) {
         JPanel card = new JPanel(new BorderLayout()) {
             @Override
@@ -291,34 +393,83 @@ public class AirportFrame extends JFrame implements MainController {
     // ---------------- core logic ----------------
 
     private void spawnPlane(boolean isArrival) {
-        Plane p = new Plane(planeIdCounter++, airportManager, isArrival, this);
-        new Thread(p).start();
+        spawnPlane(isArrival, PriorityClass.SCHEDULED);
+    }
+
+    private void spawnPlane(boolean isArrival, PriorityClass priority) {
+        if (isArrival) {
+            if (!claimGate()) return;
+            Plane p = new Plane(planeIdCounter++, liveAirport, isArrival, priority, serviceTimes, this);
+            new Thread(() -> {
+                p.run();
+                dockedArrivals.add(p.getId());
+            }).start();
+            return;
+        }
+
+        // A departure is the oldest docked arrival leaving its gate; without one it needs no gate
+        Integer docked = dockedArrivals.poll();
+        int id = docked != null ? docked : planeIdCounter++;
+        Plane p = new Plane(id, liveAirport, false, priority, serviceTimes, this);
+        new Thread(() -> {
+            p.run();
+            if (docked != null) gateClaims.decrementAndGet();
+        }).start();
+    }
+
+    // Lands, stays at its gate for the turnaround, then departs from that same gate
+    private void spawnTurnaround() {
+        if (!claimGate()) return;
+        Plane p = Plane.turnaround(planeIdCounter++, liveAirport, PriorityClass.SCHEDULED, serviceTimes, this);
+        new Thread(() -> {
+            p.run();
+            gateClaims.decrementAndGet();
+        }).start();
+    }
+
+    // Called on the EDT only, so the check and the increment cannot interleave with another click
+    private boolean claimGate() {
+        if (gateClaims.get() >= liveAirport.getTotalGates()) {
+            log("All " + liveAirport.getTotalGates() + " gates are taken: add a departure or more gates first.");
+            return false;
+        }
+        gateClaims.incrementAndGet();
+        return true;
     }
 
     /**
      * Switch algorithm, called by toggle buttons or externally via forceSwitchAlgorithm.
      */
     private void switchAlgorithm(String selected) {
+        // The new manager keeps the capacity set with the spinners
+        int runways = liveAirport.getTotalRunways();
+        int gates = liveAirport.getTotalGates();
+        AirportManager next;
         switch (selected) {
             case "Semaphore":
-                airportManager = new SemaphoreAirport(1, 3);
+                next = new SemaphoreAirport(runways, gates);
                 algoTitleLabel.setText("Algorithm: Semaphore");
-                log("Switched to Semaphore Algorithm");
                 break;
 
             case "Lock":
-                airportManager = new LockAirport(1, 3);
+                next = new LockAirport(runways, gates);
                 algoTitleLabel.setText("Algorithm: ReentrantLock");
-                log("Switched to ReentrantLock Algorithm");
                 break;
 
             case "Monitor":
-                airportManager = new MonitorAirport(1, 3);
+                next = new MonitorAirport(runways, gates);
                 algoTitleLabel.setText("Algorithm: Monitor");
-                log("Switched to Monitor Algorithm");
                 break;
+
+            default:
+                return;
         }
 
+        // Planes already in flight move over to the new algorithm with their runway and gate
+        SwitchableAirport.SwapReport report = liveAirport.swap(next);
+        airportManager = liveAirport;
+        log("Switched to " + next.getAlgorithmName() + " Algorithm (" + report + ")");
+
         updateRunwayVisuals();
         updateGateStatus();
     }
@@ -375,67 +526,20 @@ public class AirportFrame extends JFrame implements MainController {
         });
     }
 
+    // Both views coalesce updates into one repaint per frame, so these are cheap from any thread
+
     @Override
     public void updateRunwayVisuals() {
-        int free = airportManager.getFreeRunways();
         int total = airportManager.getTotalRunways();
-        int occupied = total - free;
-
-        SwingUtilities.invokeLater(() -> {
-            runwayPanel.removeAll();
-            runwayPanel.setLayout(new GridLayout(total, 1, 5, 5));
-
-            for (int i = 0; i < occupied; i++) {
-                JLabel block = new JLabel("Runway " + (i + 1) + " (Busy)");
-                block.setHorizontalAlignment(SwingConstants.CENTER);
-                block.setOpaque(true);
-                block.setBackground(new Color(255, 100, 100));
-                block.setForeground(Color.WHITE);
-                runwayPanel.add(block);
-            }
-
-            for (int i = 0; i < free; i++) {
-                JLabel block = new JLabel("Runway " + (occupied + i + 1) + " (Free)");
-                block.setHorizontalAlignment(SwingConstants.CENTER);
-                block.setOpaque(true);
-                block.setBackground(new Color(180, 255, 180));
-                runwayPanel.add(block);
-            }
-
-            runwayPanel.revalidate();
-            runwayPanel.repaint();
-        });
+        runwayView.setCapacity(total);
+        runwayView.setOccupiedCount(total - airportManager.getFreeRunways());
     }
 
     @Override
     public void updateGateStatus() {
-        SwingUtilities.invokeLater(() -> {
-            int free = airportManager.getFreeGates();
-            int total = airportManager.getTotalGates();
-            int occupied = total - free;
-
-            gatePanel.removeAll();
-            gatePanel.setLayout(new GridLayout(total, 1, 5, 5));
-
-            for (int i = 0; i < occupied; i++) {
-                JLabel g = new JLabel("Gate " + (i + 1) + " (Occupied)");
-                g.setHorizontalAlignment(SwingConstants.CENTER);
-                g.setOpaque(true);
-                g.setBackground(new Color(255, 200, 120));
-                gatePanel.add(g);
-            }
-
-            for (int i = 0; i < free; i++) {
-                JLabel g = new JLabel("Gate " + (occupied + i + 1) + " (Free)");
-                g.setHorizontalAlignment(SwingConstants.CENTER);
-                g.setOpaque(true);
-                g.setBackground(new Color(200, 255, 200));
-                gatePanel.add(g);
-            }
-
-            gatePanel.revalidate();
-            gatePanel.repaint();
-        });
+        int total = airportManager.getTotalGates();
+        gateView.setCapacity(total);
+        gateView.setOccupiedCount(total - airportManager.getFreeGates());
     }
 
     @Override
@@ -456,7 +560,23 @@ public class AirportFrame extends JFrame implements MainController {
         SwingUtilities.invokeLater(() -> log("Plane " + p.getId() + " finished (latency: " + (p.getLatencyNs() / 1_000_000) + " ms)"));
     }
 
+    /**
+     * Usage: AirportFrame [--save] [--store DIR]
+     *
+     * --save writes every "Run Test" suite to the results store (default ./benchmark-results),
+     * the same files as PerformanceTester --save. Without it nothing is written to disk.
+     */
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(() -> new AirportFrame().setVisible(true));
+        boolean save = false;
+        String storeDir = ResultsStore.DEFAULT_DIR;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--save": save = true; break;
+                case "--store": storeDir = args[++i]; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        ResultsStore store = save ? new ResultsStore(Path.of(storeDir)) : null;
+        SwingUtilities.invokeLater(() -> new AirportFrame(store).setVisible(true));
     }
 }
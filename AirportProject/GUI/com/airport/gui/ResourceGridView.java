@@ -0,0 +1,318 @@
+package com.airport.gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Custom-painted grid of runways or gates, one cell per resource.
+ *
+ * Replaces a GridLayout of JLabels: the state is a primitive occupancy array, painting only
+ * touches the cells inside the clip, and a change repaints just the rows of the cells that
+ * changed. Occupancy updates may come from any thread at any rate; they are coalesced and
+ * applied by a 60 Hz Swing timer, so a burst of plane events costs at most one repaint per frame.
+ *
+ * Cells stretch to fill the width and wrap into rows; Ctrl + mouse wheel zooms (labels are
+ * dropped when cells get too small) and the component scrolls inside a JScrollPane.
+ */
+public class ResourceGridView extends JComponent implements Scrollable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int BASE_WIDTH = 120;
+    private static final int BASE_HEIGHT = 28;
+    private static final int GAP = 4;
+    private static final double MIN_ZOOM = 0.1;
+    private static final double MAX_ZOOM = 3.0;
+    private static final int FRAME_MS = 16;
+
+    private final String name;
+    private final String busyText;
+    private final String freeText;
+    private final Color busyColor;
+    private final Color freeColor;
+    private final Color busyTextColor;
+
+    // EDT-confined state
+    private byte[] occupied = new byte[0]; // 1 = busy
+    private double zoom = 1.0;
+
+    // Written by any thread, applied on the next frame
+    private volatile int pendingCapacity = 0;
+    private volatile int pendingOccupied = 0;
+
+    private final Timer frameTimer = new Timer(FRAME_MS, e -> applyPending());
+
+    public ResourceGridView(String name, String busyText, String freeText,
+                            Color busyColor, Color freeColor, Color busyTextColor) {
+        this.name = name;
+        this.busyText = busyText;
+        this.freeText = freeText;
+        this.busyColor = busyColor;
+        this.freeColor = freeColor;
+        this.busyTextColor = busyTextColor;
+
+        setOpaque(true);
+        setBackground(Color.WHITE);
+        setFont(new Font("SF Pro Text", Font.PLAIN, 13));
+        setToolTipText(""); // enables getToolTipText(MouseEvent)
+        frameTimer.setCoalesce(true);
+
+        addMouseWheelListener(e -> {
+            if (e.isControlDown()) {
+                setZoom(zoom * Math.pow(1.1, -e.getPreciseWheelRotation()));
+            } else {
+                // Pass plain scrolling on to the scroll pane
+                Container parent = SwingUtilities.getAncestorOfClass(JScrollPane.class, this);
+                if (parent != null) parent.dispatchEvent(SwingUtilities.convertMouseEvent(this, e, parent));
+            }
+        });
+    }
+
+    // --- MODEL (thread-safe) ---
+
+    /**
+     * Set the number of resources; safe from any thread.
+     */
+    public void setCapacity(int capacity) {
+        pendingCapacity = Math.max(0, capacity);
+    }
+
+    /**
+     * Mark the first {@code count} resources busy and the rest free (the managers only expose
+     * counts); safe from any thread.
+     */
+    public void setOccupiedCount(int count) {
+        pendingOccupied = Math.max(0, count);
+    }
+
+    /**
+     * Mark one resource busy or free. EDT only.
+     */
+    public void setOccupied(int index, boolean busy) {
+        if (index < 0 || index >= occupied.length) return;
+        byte v = (byte) (busy ? 1 : 0);
+        if (occupied[index] == v) return;
+        occupied[index] = v;
+        repaintRange(index, index + 1);
+    }
+
+    public boolean isOccupied(int index) {
+        return index >= 0 && index < occupied.length && occupied[index] != 0;
+    }
+
+    public int getCapacity() {
+        return occupied.length;
+    }
+
+    // --- FRAME UPDATE (EDT) ---
+
+    private void applyPending() {
+        int capacity = pendingCapacity;
+        if (capacity != occupied.length) {
+            occupied = new byte[capacity];
+            applyCount(Math.min(pendingOccupied, capacity), false);
+            revalidate();
+            repaint();
+            return;
+        }
+        applyCount(Math.min(pendingOccupied, capacity), true);
+    }
+
+    // Cells [0, count) busy; repaint only the span that flipped
+    private void applyCount(int count, boolean repaintDirty) {
+        int lo = Integer.MAX_VALUE;
+        int hi = -1;
+        for (int i = 0; i < occupied.length; i++) {
+            byte v = (byte) (i < count ? 1 : 0);
+            if (occupied[i] != v) {
+                occupied[i] = v;
+                if (i < lo) lo = i;
+                hi = i;
+            }
+        }
+        if (repaintDirty && hi >= 0) repaintRange(lo, hi + 1);
+    }
+
+    private void repaintRange(int from, int to) {
+        int cols = columns();
+        int rowH = cellHeight() + GAP;
+        int firstRow = from / cols;
+        int lastRow = (to - 1) / cols;
+        repaint(0, GAP + firstRow * rowH, getWidth(), (lastRow - firstRow + 1) * rowH);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        frameTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        frameTimer.stop();
+        super.removeNotify();
+    }
+
+    // --- ZOOM & LAYOUT ---
+
+    public double getZoom() {
+        return zoom;
+    }
+
+    public void setZoom(double zoom) {
+        double z = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+        if (z == this.zoom) return;
+        this.zoom = z;
+        revalidate();
+        repaint();
+    }
+
+    private int cellHeight() {
+        return Math.max(3, (int) Math.round(BASE_HEIGHT * zoom));
+    }
+
+    private int columns() {
+        int width = getWidth() > 0 ? getWidth() : BASE_WIDTH;
+        int minCell = Math.max(4, (int) Math.round(BASE_WIDTH * zoom));
+        return Math.max(1, (width - GAP) / (minCell + GAP));
+    }
+
+    // Cells stretch to share the available width
+    private int cellWidth(int cols) {
+        int width = getWidth() > 0 ? getWidth() : BASE_WIDTH;
+        return Math.max(2, (width - GAP) / cols - GAP);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        int cols = columns();
+        int rows = (occupied.length + cols - 1) / cols;
+        int width = getWidth() > 0 ? getWidth() : BASE_WIDTH + 2 * GAP;
+        return new Dimension(width, GAP + rows * (cellHeight() + GAP));
+    }
+
+    // --- PAINT ---
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        int n = occupied.length;
+        if (n == 0) return;
+        int cols = columns();
+        int cw = cellWidth(cols);
+        int ch = cellHeight();
+        int rowH = ch + GAP;
+
+        int firstRow = Math.max(0, (clip.y - GAP) / rowH);
+        int lastRow = Math.min((n - 1) / cols, (clip.y + clip.height - GAP) / rowH);
+
+        boolean labels = ch >= 14 && cw >= 60;
+        FontMetrics fm = labels ? g.getFontMetrics() : null;
+        if (labels && g instanceof Graphics2D) {
+            ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                    RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        }
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            int y = GAP + row * rowH;
+            int end = Math.min(n, (row + 1) * cols);
+            for (int i = row * cols; i < end; i++) {
+                int x = GAP + (i - row * cols) * (cw + GAP);
+                boolean busy = occupied[i] != 0;
+                g.setColor(busy ? busyColor : freeColor);
+                g.fillRect(x, y, cw, ch);
+
+                if (labels) {
+                    String text = name + " " + (i + 1) + (cw >= 150 ? " (" + (busy ? busyText : freeText) + ")" : "");
+                    g.setColor(busy ? busyTextColor : Color.BLACK);
+                    g.drawString(text, x + (cw - fm.stringWidth(text)) / 2, y + (ch + fm.getAscent() - fm.getDescent()) / 2);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int i = indexAt(e.getX(), e.getY());
+        if (i < 0) return null;
+        return name + " " + (i + 1) + " (" + (occupied[i] != 0 ? busyText : freeText) + ")";
+    }
+
+    private int indexAt(int x, int y) {
+        int cols = columns();
+        int cw = cellWidth(cols);
+        int col = (x - GAP) / (cw + GAP);
+        int row = (y - GAP) / (cellHeight() + GAP);
+        if (x < GAP || y < GAP || col >= cols) return -1;
+        int i = row * cols + col;
+        return i < occupied.length ? i : -1;
+    }
+
+    // --- SCROLLABLE ---
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(BASE_WIDTH * 2, BASE_HEIGHT * 6);
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return cellHeight() + GAP;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return Math.max(cellHeight() + GAP, visibleRect.height - cellHeight());
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true; // wrap into rows, never scroll sideways
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        Container parent = getParent();
+        return parent instanceof JViewport && getPreferredSize().height < parent.getHeight();
+    }
+
+    /**
+     * Demo: 2,000 gates with random churn from a background thread.
+     */
+    public static void main(String[] args) {
+        int gates = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        SwingUtilities.invokeLater(() -> {
+            ResourceGridView view = new ResourceGridView("Gate", "Occupied", "Free",
+                    new Color(255, 200, 120), new Color(200, 255, 200), Color.BLACK);
+            view.setCapacity(gates);
+
+            JFrame frame = new JFrame("Resource grid: " + gates + " gates (Ctrl + wheel to zoom)");
+            frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+            frame.add(new JScrollPane(view));
+            frame.setSize(900, 700);
+            frame.setVisible(true);
+
+            Thread churn = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int count = 0;
+                while (true) {
+                    count = Math.max(0, Math.min(gates, count + random.nextInt(-20, 21)));
+                    view.setOccupiedCount(count);
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "grid-churn");
+            churn.setDaemon(true);
+            churn.start();
+        });
+    }
+}
@@ -1,117 +1,270 @@
 package com.airport.lock;
 
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import com.airport.common.AdaptiveSpinner;
 import com.airport.common.AirportManager;
+import com.airport.common.GatePool;
+import com.airport.common.GateWaitEvent;
+import com.airport.common.PriorityClass;
+import com.airport.common.PriorityWaitQueue;
+import com.airport.common.RunwayRequestEvent;
+import com.airport.common.WaitStrategy;
 
 public class LockAirport implements AirportManager {
 
-    private final int totalRunways;
-    private final int totalGates;
+    private static final String ALGORITHM = "ReentrantLock";
+
+    // Capacity (changed under the lock, see setRunwayCapacity / setGateCapacity)
+    private volatile int totalRunways;
+    private volatile int totalGates;
     
-    // Shared State
-    private int freeRunways;
-    private int freeGates;
-    private int waitingArrivals = 0; // To handle priority
+    // Shared State (written under the lock; volatile so spinners can peek without it).
+    // Negative right after a capacity cut: the holders of the removed resources release into the deficit
+    private volatile int freeRunways;
+    private volatile int freeGates;
+    private final Set<Integer> docked = new HashSet<>(); // Planes holding a gate; only they free one on departure
 
     // Locks and Conditions
     private final Lock lock = new ReentrantLock(true); // Fair lock
-    private final Condition runwayFree = lock.newCondition();
     private final Condition gateFree = lock.newCondition();
 
+    // Runway waiters by priority level (class x arrival/departure); each parks on its own
+    // Condition, so a freed runway wakes exactly the next plane instead of everybody
+    private final PriorityWaitQueue<Condition> runwayQueue = new PriorityWaitQueue<>(PriorityClass.LEVELS);
+
+    // Optional spin phase before parking (runway waiters spin only once queued)
+    private final WaitStrategy waitStrategy;
+    private final AdaptiveSpinner spinner = new AdaptiveSpinner();
+    private final BooleanSupplier runwayLooksFree = () -> freeRunways > 0;
+    private final BooleanSupplier gateLooksFree;
+
+    // Optional terminal gate pool; null = gates are counted under the main lock
+    private final GatePool gatePool;
+
     public LockAirport(int numRunways, int numGates) {
+        this(numRunways, numGates, WaitStrategy.PARK);
+    }
+
+    public LockAirport(int numRunways, int numGates, WaitStrategy waitStrategy) {
+        this(numRunways, numGates, null, waitStrategy);
+    }
+
+    public LockAirport(int numRunways, GatePool gatePool) {
+        this(numRunways, gatePool, WaitStrategy.PARK);
+    }
+
+    public LockAirport(int numRunways, GatePool gatePool, WaitStrategy waitStrategy) {
+        this(numRunways, gatePool.getTotalGates(), gatePool, waitStrategy);
+    }
+
+    private LockAirport(int numRunways, int numGates, GatePool gatePool, WaitStrategy waitStrategy) {
         this.totalRunways = numRunways;
         this.totalGates = numGates;
         this.freeRunways = numRunways;
         this.freeGates = numGates;
+        this.gatePool = gatePool;
+        this.waitStrategy = waitStrategy;
+        this.gateLooksFree = gatePool != null ? () -> gatePool.getFreeGates() > 0 : () -> freeGates > 0;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    // Spin (without the lock) until the condition looks true, before taking the lock to wait on it
+    private void spinIfEnabled(BooleanSupplier hint) {
+        if (waitStrategy == WaitStrategy.SPIN_THEN_PARK && !hint.getAsBoolean()) {
+            spinner.spinUntil(hint);
+        }
     }
 
     // --- ARRIVAL LOGIC ---
 
     @Override
     public void requestRunwayForLanding(int planeId) {
-        lock.lock();
-        try {
-            // 1. Indicate a high-priority arrival is waiting
-            waitingArrivals++;
-
-            // 2. Wait if no runways are available
-            while (freeRunways == 0) {
-                runwayFree.await();
-            }
+        requestRunwayForLanding(planeId, PriorityClass.SCHEDULED);
+    }
 
-            // 3. Acquire runway
-            freeRunways--;
-            
-            // 4. We got the runway, so we are no longer "waiting" for it
-            waitingArrivals--;
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        } finally {
-            lock.unlock();
-        }
+    @Override
+    public void requestRunwayForLanding(int planeId, PriorityClass priority) {
+        RunwayRequestEvent event = new RunwayRequestEvent();
+        event.begin();
+        acquireRunway(planeId, priority.level(true), false);
+        event.complete(ALGORITHM, planeId, priority, true);
     }
 
     @Override
     public void finishLandingAndDock(int planeId) {
+        GateWaitEvent event = new GateWaitEvent();
+        event.begin();
+        spinIfEnabled(gateLooksFree);
+
+        if (gatePool != null) {
+            // 1. Wait for a terminal gate (holding the runway, but not the lock)
+            try {
+                gatePool.acquire(planeId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            event.complete(ALGORITHM, planeId);
+            releaseRunway();
+            return;
+        }
+
         lock.lock();
         try {
             // 1. Wait for a gate (holding the runway!)
-            while (freeGates == 0) {
+            while (freeGates <= 0) {
                 gateFree.await();
             }
 
             // 2. Acquire gate
             freeGates--;
+            docked.add(planeId);
 
             // 3. Release runway
             freeRunways++;
-            runwayFree.signalAll(); // Wake up waiting planes (Arrivals or Departures)
+            signalNextRunwayWaiter(); // Wake up the highest-priority waiting plane
 
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         } finally {
             lock.unlock();
         }
+        event.complete(ALGORITHM, planeId);
     }
 
     // --- DEPARTURE LOGIC ---
 
     @Override
     public void requestRunwayForTakeoff(int planeId) {
+        requestRunwayForTakeoff(planeId, PriorityClass.SCHEDULED);
+    }
+
+    @Override
+    public void requestRunwayForTakeoff(int planeId, PriorityClass priority) {
+        RunwayRequestEvent event = new RunwayRequestEvent();
+        event.begin();
+        boolean granted = acquireRunway(planeId, priority.level(false), true);
+        event.complete(ALGORITHM, planeId, priority, false);
+
+        // Terminal gates are released outside the runway lock
+        if (granted && gatePool != null) {
+            gatePool.release(planeId);
+        }
+    }
+
+    // --- RUNWAY QUEUE ---
+
+    /**
+     * Take a runway in priority order. A departure also gives back the gate it docked at in the
+     * same critical section. Returns false if interrupted while queued.
+     */
+    private boolean acquireRunway(int planeId, int level, boolean departing) {
         lock.lock();
         try {
-            // 1. Wait if:
-            //    a) No runways are free OR
-            //    b) There are arrivals waiting (PRIORITY CHECK)
-            while (freeRunways == 0 || waitingArrivals > 0) {
-                runwayFree.await();
+            // 1. Queue unless a runway is free and nobody is waiting ahead of us
+            if (freeRunways <= 0 || !runwayQueue.isEmpty()) {
+                if (!awaitRunwayTurn(level)) return false;
             }
 
-            // 2. Acquire runway
+            // 2. Acquire runway, and pass the turn on if another one is still free
             freeRunways--;
+            signalNextRunwayWaiter();
 
-            // 3. Release gate (departure leaves the gate now)
-            freeGates++;
-            gateFree.signalAll(); // Wake up planes waiting for gates
+            // 3. Release gate (departure leaves the gate now, if it docked at one)
+            if (departing && gatePool == null && docked.remove(planeId)) {
+                freeGates++;
+                gateFree.signalAll(); // Wake up planes waiting for gates
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
 
+    // Called with the lock held; returns with this plane dequeued and a runway free
+    private boolean awaitRunwayTurn(int level) {
+        Condition turn = lock.newCondition();
+        runwayQueue.add(level, turn);
+        try {
+            // Spin without the lock, already queued: a plane of a lower level that comes
+            // meanwhile queues behind us instead of taking the runway
+            if (waitStrategy == WaitStrategy.SPIN_THEN_PARK) {
+                lock.unlock();
+                try {
+                    spinIfEnabled(runwayLooksFree);
+                } finally {
+                    lock.lock();
+                }
+            }
+            // A higher-priority plane that queues later simply becomes the new head
+            while (freeRunways <= 0 || runwayQueue.peek() != turn) {
+                turn.await();
+            }
+            runwayQueue.poll();
+            return true;
         } catch (InterruptedException e) {
+            runwayQueue.remove(level, turn);
+            signalNextRunwayWaiter(); // We may have been signalled already
             Thread.currentThread().interrupt();
-        } finally {
-            lock.unlock();
+            return false;
+        }
+    }
+
+    private void signalNextRunwayWaiter() {
+        Condition next = runwayQueue.peek();
+        if (next != null && freeRunways > 0) {
+            next.signal();
         }
     }
 
     @Override
     public void finishTakeoff(int planeId) {
+        // 1. Release runway
+        releaseRunway();
+    }
+
+    private void releaseRunway() {
         lock.lock();
         try {
-            // 1. Release runway
             freeRunways++;
-            runwayFree.signalAll();
+            signalNextRunwayWaiter();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- CAPACITY ---
 
+    @Override
+    public void setRunwayCapacity(int runways) {
+        if (runways < 0) throw new IllegalArgumentException("runways must be >= 0: " + runways);
+        lock.lock();
+        try {
+            freeRunways += runways - totalRunways;
+            totalRunways = runways;
+            signalNextRunwayWaiter(); // The head passes the turn on while runways are left
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void setGateCapacity(int gates) {
+        if (gates < 0) throw new IllegalArgumentException("gates must be >= 0: " + gates);
+        if (gatePool != null) throw new UnsupportedOperationException("terminal gates are fixed by the GatePool");
+        lock.lock();
+        try {
+            freeGates += gates - totalGates;
+            totalGates = gates;
+            gateFree.signalAll();
         } finally {
             lock.unlock();
         }
@@ -123,7 +276,7 @@ public class LockAirport implements AirportManager {
     public int getFreeRunways() {
         lock.lock();
         try {
-            return freeRunways;
+            return Math.max(0, freeRunways);
         } finally {
             lock.unlock();
         }
@@ -136,9 +289,10 @@ public class LockAirport implements AirportManager {
 
     @Override
     public int getFreeGates() {
+        if (gatePool != null) return gatePool.getFreeGates();
         lock.lock();
         try {
-            return freeGates;
+            return Math.max(0, freeGates);
         } finally {
             lock.unlock();
         }
@@ -148,4 +302,13 @@ public class LockAirport implements AirportManager {
     public int getTotalGates() {
         return totalGates;
     }
+
+    @Override
+    public String getAlgorithmName() {
+        return ALGORITHM;
+    }
+
+    public GatePool getGatePool() {
+        return gatePool;
+    }
 }
\ No newline at end of file
@@ -1,56 +1,130 @@
 package com.airport.monitor;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import com.airport.common.AdaptiveSpinner;
 import com.airport.common.AirportManager;
+import com.airport.common.GatePool;
+import com.airport.common.GateWaitEvent;
+import com.airport.common.PriorityClass;
+import com.airport.common.PriorityWaitQueue;
+import com.airport.common.RunwayRequestEvent;
+import com.airport.common.WaitStrategy;
 
 public class MonitorAirport implements AirportManager {
 
-    private final int totalRunways;
-    private final int totalGates;
+    private static final String ALGORITHM = "Monitor";
+
+    // Capacity (changed inside the monitor, see setRunwayCapacity / setGateCapacity)
+    private volatile int totalRunways;
+    private volatile int totalGates;
     
-    // Shared State
-    private int freeRunways;
-    private int freeGates;
-    private int waitingArrivals = 0;
+    // Shared State (written inside the monitor; volatile so spinners can peek without it).
+    // Negative right after a capacity cut: the holders of the removed resources release into the deficit
+    private volatile int freeRunways;
+    private volatile int freeGates;
+    private final Set<Integer> docked = new HashSet<>(); // Planes holding a gate; only they free one on departure
+
+    // Runway waiters by priority level (class x arrival/departure). The monitor has a single
+    // wait set, so wakeups are still notifyAll; the queue decides whose turn it is.
+    private final PriorityWaitQueue<Object> runwayQueue = new PriorityWaitQueue<>(PriorityClass.LEVELS);
+
+    // Optional spin phase before wait() (runway waiters spin only once queued)
+    private final WaitStrategy waitStrategy;
+    private final AdaptiveSpinner spinner = new AdaptiveSpinner();
+    private final BooleanSupplier runwayLooksFree = () -> freeRunways > 0;
+    private final BooleanSupplier gateLooksFree;
+
+    // Optional terminal gate pool; null = gates are counted inside the monitor
+    private final GatePool gatePool;
 
     public MonitorAirport(int numRunways, int numGates) {
+        this(numRunways, numGates, WaitStrategy.PARK);
+    }
+
+    public MonitorAirport(int numRunways, int numGates, WaitStrategy waitStrategy) {
+        this(numRunways, numGates, null, waitStrategy);
+    }
+
+    public MonitorAirport(int numRunways, GatePool gatePool) {
+        this(numRunways, gatePool, WaitStrategy.PARK);
+    }
+
+    public MonitorAirport(int numRunways, GatePool gatePool, WaitStrategy waitStrategy) {
+        this(numRunways, gatePool.getTotalGates(), gatePool, waitStrategy);
+    }
+
+    private MonitorAirport(int numRunways, int numGates, GatePool gatePool, WaitStrategy waitStrategy) {
         this.totalRunways = numRunways;
         this.totalGates = numGates;
         this.freeRunways = numRunways;
         this.freeGates = numGates;
+        this.gatePool = gatePool;
+        this.waitStrategy = waitStrategy;
+        this.gateLooksFree = gatePool != null ? () -> gatePool.getFreeGates() > 0 : () -> freeGates > 0;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    // Spin (outside the monitor) until the condition looks true, before entering it
+    private void spinIfEnabled(BooleanSupplier hint) {
+        if (waitStrategy == WaitStrategy.SPIN_THEN_PARK && !hint.getAsBoolean()) {
+            spinner.spinUntil(hint);
+        }
     }
 
     // --- ARRIVAL LOGIC ---
 
     @Override
-    public synchronized void requestRunwayForLanding(int planeId) {
-        // 1. Register high priority wait
-        waitingArrivals++;
+    public void requestRunwayForLanding(int planeId) {
+        requestRunwayForLanding(planeId, PriorityClass.SCHEDULED);
+    }
 
-        try {
-            // 2. Wait for runway
-            while (freeRunways == 0) {
-                wait();
-            }
-            
-            // 3. Acquire runway
-            freeRunways--;
-            waitingArrivals--; // No longer waiting
+    @Override
+    public void requestRunwayForLanding(int planeId, PriorityClass priority) {
+        RunwayRequestEvent event = new RunwayRequestEvent();
+        event.begin();
+        acquireRunway(planeId, priority.level(true), false);
+        event.complete(ALGORITHM, planeId, priority, true);
+    }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+    @Override
+    public void finishLandingAndDock(int planeId) {
+        GateWaitEvent event = new GateWaitEvent();
+        event.begin();
+        spinIfEnabled(gateLooksFree);
+
+        if (gatePool != null) {
+            // 1. Wait for a terminal gate (holding the runway, outside the monitor)
+            try {
+                gatePool.acquire(planeId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            event.complete(ALGORITHM, planeId);
+            releaseRunway();
+            return;
         }
+
+        awaitGateAndDock(planeId);
+        event.complete(ALGORITHM, planeId);
     }
 
-    @Override
-    public synchronized void finishLandingAndDock(int planeId) {
+    private synchronized void awaitGateAndDock(int planeId) {
         try {
             // 1. Wait for gate
-            while (freeGates == 0) {
+            while (freeGates <= 0) {
                 wait();
             }
             
             // 2. Acquire gate
             freeGates--;
+            docked.add(planeId);
 
             // 3. Release runway
             freeRunways++;
@@ -64,37 +138,113 @@ public class MonitorAirport implements AirportManager {
     // --- DEPARTURE LOGIC ---
 
     @Override
-    public synchronized void requestRunwayForTakeoff(int planeId) {
-        try {
-            // 1. PRIORITY CHECK: Wait if runways full OR arrivals are waiting
-            while (freeRunways == 0 || waitingArrivals > 0) {
-                wait();
+    public void requestRunwayForTakeoff(int planeId) {
+        requestRunwayForTakeoff(planeId, PriorityClass.SCHEDULED);
+    }
+
+    @Override
+    public void requestRunwayForTakeoff(int planeId, PriorityClass priority) {
+        RunwayRequestEvent event = new RunwayRequestEvent();
+        event.begin();
+        boolean granted = acquireRunway(planeId, priority.level(false), true);
+        event.complete(ALGORITHM, planeId, priority, false);
+
+        // Terminal gates are released outside the monitor
+        if (granted && gatePool != null) {
+            gatePool.release(planeId);
+        }
+    }
+
+    // --- RUNWAY QUEUE ---
+
+    /**
+     * Take a runway in priority order. A departure also gives back the gate it docked at in the
+     * same critical section. Returns false if interrupted while queued.
+     */
+    private boolean acquireRunway(int planeId, int level, boolean departing) {
+        Object turn;
+        synchronized (this) {
+            // 1. Take a free runway directly if nobody is waiting ahead of us
+            if (freeRunways > 0 && runwayQueue.isEmpty()) {
+                takeRunway(planeId, departing);
+                return true;
             }
+            turn = new Object();
+            runwayQueue.add(level, turn);
+        }
 
-            // 2. Acquire runway
-            freeRunways--;
+        // 2. Spin outside the monitor, already queued: a plane of a lower level that comes
+        //    meanwhile queues behind us instead of taking the runway
+        spinIfEnabled(runwayLooksFree);
 
-            // 3. Release gate
-            freeGates++;
+        synchronized (this) {
+            try {
+                // A higher-priority plane that queues later simply becomes the new head
+                while (freeRunways <= 0 || runwayQueue.peek() != turn) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                runwayQueue.remove(level, turn);
+                notifyAll(); // The next plane may be the head now
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            runwayQueue.poll();
+            takeRunway(planeId, departing);
+            return true;
+        }
+    }
+
+    // Called inside the monitor
+    private void takeRunway(int planeId, boolean departing) {
+        // 3. Acquire runway; if another one is still free the new head can go too
+        freeRunways--;
+        if (freeRunways > 0 && !runwayQueue.isEmpty()) {
             notifyAll();
+        }
 
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        // 4. Release gate (if this plane docked at one)
+        if (departing && gatePool == null && docked.remove(planeId)) {
+            freeGates++;
+            notifyAll();
         }
     }
 
     @Override
-    public synchronized void finishTakeoff(int planeId) {
+    public void finishTakeoff(int planeId) {
         // 1. Release runway
+        releaseRunway();
+    }
+
+    private synchronized void releaseRunway() {
         freeRunways++;
         notifyAll();
     }
 
+    // --- CAPACITY ---
+
+    @Override
+    public synchronized void setRunwayCapacity(int runways) {
+        if (runways < 0) throw new IllegalArgumentException("runways must be >= 0: " + runways);
+        freeRunways += runways - totalRunways;
+        totalRunways = runways;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized void setGateCapacity(int gates) {
+        if (gates < 0) throw new IllegalArgumentException("gates must be >= 0: " + gates);
+        if (gatePool != null) throw new UnsupportedOperationException("terminal gates are fixed by the GatePool");
+        freeGates += gates - totalGates;
+        totalGates = gates;
+        notifyAll();
+    }
+
     // --- GETTERS FOR UI ---
 
     @Override
     public synchronized int getFreeRunways() {
-        return freeRunways;
+        return Math.max(0, freeRunways);
     }
 
     @Override
@@ -103,12 +253,24 @@ public class MonitorAirport implements AirportManager {
     }
 
     @Override
-    public synchronized int getFreeGates() {
-        return freeGates;
+    public int getFreeGates() {
+        if (gatePool != null) return gatePool.getFreeGates();
+        synchronized (this) {
+            return Math.max(0, freeGates);
+        }
     }
 
     @Override
     public int getTotalGates() {
         return totalGates;
     }
+
+    @Override
+    public String getAlgorithmName() {
+        return ALGORITHM;
+    }
+
+    public GatePool getGatePool() {
+        return gatePool;
+    }
 }
\ No newline at end of file
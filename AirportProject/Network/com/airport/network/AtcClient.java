@@ -0,0 +1,113 @@
+package com.airport.network;
+
+import com.airport.performance.LatencyHistogram;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * AtcService talking to an AtcServer over localhost. Requests are spread over a small
+ * pool of connections so concurrent flights don't serialize on a single socket.
+ * Every round trip is recorded in a histogram to measure the coordinator overhead
+ * as seen by the airports.
+ */
+public class AtcClient implements AtcService, AutoCloseable {
+
+    private final BlockingQueue<Connection> pool;
+    private final Connection[] all;
+    private final LatencyHistogram roundTripNs = new LatencyHistogram();
+
+    public AtcClient(int port, int connections) throws IOException {
+        this.pool = new ArrayBlockingQueue<>(connections);
+        this.all = new Connection[connections];
+        for (int i = 0; i < connections; i++) {
+            all[i] = new Connection(port);
+            pool.add(all[i]);
+        }
+    }
+
+    public int register(String name) {
+        return parseReply(call("REGISTER " + name), "OK");
+    }
+
+    @Override
+    public int routeNewFlight(int flightId) {
+        return parseReply(call("ROUTE " + flightId), "AIRPORT");
+    }
+
+    @Override
+    public int clearArrival(int flightId, int destination) {
+        return parseReply(call("CLEAR " + flightId + " " + destination), "AIRPORT");
+    }
+
+    @Override
+    public void reportLoad(int airport, int landingQueue, int takeoffQueue, int runwaysInUse, int totalRunways) {
+        call("LOAD " + airport + " " + landingQueue + " " + takeoffQueue + " " + runwaysInUse + " " + totalRunways);
+    }
+
+    public String stats() {
+        return call("STATS");
+    }
+
+    public LatencyHistogram getRoundTripHistogram() {
+        return roundTripNs;
+    }
+
+    private String call(String request) {
+        Connection c;
+        try {
+            c = pool.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an ATC connection", e);
+        }
+
+        long t0 = System.nanoTime();
+        try {
+            c.out.print(request);
+            c.out.print('\n');
+            c.out.flush();
+            String reply = c.in.readLine();
+            if (reply == null) throw new IOException("ATC closed the connection");
+            return reply;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            roundTripNs.record(System.nanoTime() - t0);
+            pool.add(c);
+        }
+    }
+
+    private static int parseReply(String reply, String expectedPrefix) {
+        if (!reply.startsWith(expectedPrefix + " ")) {
+            throw new IllegalStateException("Unexpected ATC reply: " + reply);
+        }
+        return Integer.parseInt(reply.substring(expectedPrefix.length() + 1).trim());
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Connection c : all) c.socket.close();
+    }
+
+    private static final class Connection {
+        final Socket socket;
+        final BufferedReader in;
+        final PrintWriter out;
+
+        Connection(int port) throws IOException {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setTcpNoDelay(true);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            out = new PrintWriter(socket.getOutputStream(), false, StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.airport.network;
+
+import com.airport.common.InstrumentedAirport;
+import com.airport.performance.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process ATC coordinator.
+ *
+ * Keeps one load entry per airport. Local airports (same JVM) are read live from their
+ * InstrumentedAirport counters; remote airports push their load through reportLoad().
+ * Decisions only read atomics, they never take an airport lock.
+ *
+ * Load score = (landing queue + takeoff queue + runways in use) / total runways.
+ */
+public class AtcCoordinator implements AtcService {
+
+    private final int maxAirports;
+    private final int divertThreshold;
+
+    private final String[] names;
+    private final InstrumentedAirport[] localAirports;
+    private final AtomicInteger registered = new AtomicInteger();
+
+    // Reported load of remote airports
+    private final AtomicIntegerArray landingQueue;
+    private final AtomicIntegerArray takeoffQueue;
+    private final AtomicIntegerArray runwaysInUse;
+    private final AtomicIntegerArray totalRunways;
+
+    // Spreads ties between equally loaded airports
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    // Coordinator overhead and decisions
+    private final LatencyHistogram decisionNs = new LatencyHistogram();
+    private final LongAdder routed = new LongAdder();
+    private final LongAdder cleared = new LongAdder();
+    private final LongAdder diverted = new LongAdder();
+
+    public AtcCoordinator(int maxAirports, int divertThreshold) {
+        this.maxAirports = maxAirports;
+        this.divertThreshold = divertThreshold;
+        this.names = new String[maxAirports];
+        this.localAirports = new InstrumentedAirport[maxAirports];
+        this.landingQueue = new AtomicIntegerArray(maxAirports);
+        this.takeoffQueue = new AtomicIntegerArray(maxAirports);
+        this.runwaysInUse = new AtomicIntegerArray(maxAirports);
+        this.totalRunways = new AtomicIntegerArray(maxAirports);
+    }
+
+    // --- REGISTRATION ---
+
+    public synchronized int registerLocal(String name, InstrumentedAirport airport) {
+        int idx = register(name);
+        localAirports[idx] = airport;
+        return idx;
+    }
+
+    public synchronized int registerRemote(String name) {
+        return register(name);
+    }
+
+    private int register(String name) {
+        int idx = registered.get();
+        if (idx >= maxAirports) {
+            throw new IllegalStateException("ATC full: " + maxAirports + " airports already registered");
+        }
+        names[idx] = name;
+        totalRunways.set(idx, 1);
+        registered.set(idx + 1); // publish after the slot is filled
+        return idx;
+    }
+
+    public int getAirportCount() {
+        return registered.get();
+    }
+
+    public String getName(int airport) {
+        return names[airport];
+    }
+
+    // --- ATC DECISIONS ---
+
+    @Override
+    public int routeNewFlight(int flightId) {
+        long t0 = System.nanoTime();
+        int best = leastLoaded(-1, Integer.MAX_VALUE);
+        routed.increment();
+        decisionNs.record(System.nanoTime() - t0);
+        return best;
+    }
+
+    @Override
+    public int clearArrival(int flightId, int destination) {
+        long t0 = System.nanoTime();
+        int result = destination;
+
+        // 1. Destination queue short enough: cleared to land as planned
+        if (landingQueueOf(destination) >= divertThreshold) {
+            // 2. Otherwise divert to the least loaded airport whose queue is below the threshold
+            int alternative = leastLoaded(destination, divertThreshold);
+            if (alternative >= 0) {
+                result = alternative;
+                diverted.increment();
+            }
+        }
+
+        cleared.increment();
+        decisionNs.record(System.nanoTime() - t0);
+        return result;
+    }
+
+    @Override
+    public void reportLoad(int airport, int landing, int takeoff, int inUse, int total) {
+        landingQueue.set(airport, landing);
+        takeoffQueue.set(airport, takeoff);
+        runwaysInUse.set(airport, inUse);
+        totalRunways.set(airport, Math.max(1, total));
+    }
+
+    /**
+     * Least loaded airport, skipping {@code exclude} and airports whose landing queue is at or
+     * above {@code maxLandingQueue}. Returns -1 if no airport qualifies.
+     */
+    private int leastLoaded(int exclude, int maxLandingQueue) {
+        int n = registered.get();
+        int start = n == 0 ? 0 : Math.floorMod(cursor.getAndIncrement(), n);
+        int best = -1;
+        double bestScore = Double.MAX_VALUE;
+
+        for (int k = 0; k < n; k++) {
+            int i = (start + k) % n;
+            if (i == exclude || landingQueueOf(i) >= maxLandingQueue) continue;
+            double score = scoreOf(i);
+            if (score < bestScore) {
+                bestScore = score;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private int landingQueueOf(int i) {
+        InstrumentedAirport local = localAirports[i];
+        return local != null ? local.getLandingQueueDepth() : landingQueue.get(i);
+    }
+
+    private double scoreOf(int i) {
+        InstrumentedAirport local = localAirports[i];
+        if (local != null) {
+            return (double) (local.getLandingQueueDepth() + local.getTakeoffQueueDepth() + local.getRunwaysInUse())
+                    / Math.max(1, local.getTotalRunways());
+        }
+        return (double) (landingQueue.get(i) + takeoffQueue.get(i) + runwaysInUse.get(i)) / totalRunways.get(i);
+    }
+
+    // --- METRICS ---
+
+    public LatencyHistogram getDecisionHistogram() {
+        return decisionNs;
+    }
+
+    public long getRouted() {
+        return routed.sum();
+    }
+
+    public long getCleared() {
+        return cleared.sum();
+    }
+
+    public long getDiverted() {
+        return diverted.sum();
+    }
+}
@@ -0,0 +1,139 @@
+package com.airport.network;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Exposes an AtcCoordinator on a loopback TCP port with a line based protocol
+ * (one request line, one reply line):
+ *
+ *   REGISTER name                                  -> OK idx
+ *   LOAD idx landingQ takeoffQ runwaysInUse total  -> OK
+ *   ROUTE flightId                                 -> AIRPORT idx
+ *   CLEAR flightId destination                     -> AIRPORT idx
+ *   STATS                                          -> STATS routed cleared diverted meanNs p99Ns
+ *
+ * Each connection is served by its own daemon thread.
+ */
+public class AtcServer implements AutoCloseable {
+
+    private final AtcCoordinator coordinator;
+    private final ServerSocket serverSocket;
+    private volatile boolean running = true;
+
+    public AtcServer(AtcCoordinator coordinator, int port) throws IOException {
+        this.coordinator = coordinator;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+
+        Thread acceptor = new Thread(this::acceptLoop, "atc-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public AtcCoordinator getCoordinator() {
+        return coordinator;
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Thread t = new Thread(() -> serve(socket), "atc-conn-" + socket.getPort());
+                t.setDaemon(true);
+                t.start();
+            } catch (IOException e) {
+                if (running) System.err.println("ATC accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII));
+             PrintWriter out = new PrintWriter(s.getOutputStream(), false, StandardCharsets.US_ASCII)) {
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                out.print(handle(line));
+                out.print('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Client went away; nothing to clean up
+        }
+    }
+
+    private String handle(String line) {
+        String[] parts = line.trim().split(" ");
+        try {
+            switch (parts[0]) {
+                case "REGISTER":
+                    return "OK " + coordinator.registerRemote(parts[1]);
+                case "LOAD":
+                    coordinator.reportLoad(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                            Integer.parseInt(parts[3]), Integer.parseInt(parts[4]), Integer.parseInt(parts[5]));
+                    return "OK";
+                case "ROUTE":
+                    return "AIRPORT " + coordinator.routeNewFlight(Integer.parseInt(parts[1]));
+                case "CLEAR":
+                    return "AIRPORT " + coordinator.clearArrival(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+                case "STATS":
+                    return String.format("STATS %d %d %d %d %d",
+                            coordinator.getRouted(), coordinator.getCleared(), coordinator.getDiverted(),
+                            (long) coordinator.getDecisionHistogram().getMean(),
+                            coordinator.getDecisionHistogram().getValueAtPercentile(99));
+                default:
+                    return "ERR unknown command " + parts[0];
+            }
+        } catch (RuntimeException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+    }
+
+    /**
+     * Standalone coordinator JVM.
+     * Usage: AtcServer [--port N] [--max-airports N] [--divert-threshold N]
+     */
+    public static void main(String[] args) throws Exception {
+        int port = 7700;
+        int maxAirports = 64;
+        int divertThreshold = 3;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[++i]);
+                    break;
+                case "--max-airports":
+                    maxAirports = Integer.parseInt(args[++i]);
+                    break;
+                case "--divert-threshold":
+                    divertThreshold = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        AtcServer server = new AtcServer(new AtcCoordinator(maxAirports, divertThreshold), port);
+        System.out.println("ATC coordinator listening on 127.0.0.1:" + server.getPort());
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,18 @@
+package com.airport.network;
+
+/**
+ * Air traffic control service shared by all airports of a network.
+ * Airports are addressed by the index returned when they were registered.
+ */
+public interface AtcService {
+
+    // Pick the airport that should handle a new flight (least loaded).
+    int routeNewFlight(int flightId);
+
+    // Final clearance for an arrival holding for destination: returns destination,
+    // or another airport if the destination's runway queue is too long (diversion).
+    int clearArrival(int flightId, int destination);
+
+    // Publish the current load of an airport.
+    void reportLoad(int airport, int landingQueue, int takeoffQueue, int runwaysInUse, int totalRunways);
+}
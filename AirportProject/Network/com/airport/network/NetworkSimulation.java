@@ -0,0 +1,226 @@
+package com.airport.network;
+
+import com.airport.common.AirportManager;
+import com.airport.common.InstrumentedAirport;
+import com.airport.common.MainController;
+import com.airport.common.Plane;
+import com.airport.performance.LatencyHistogram;
+import com.airport.performance.PerformanceTester;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless simulation of several airports coordinated by one ATC service.
+ *
+ * Every flight first asks ATC for an airport (least loaded). Arrivals then hold for a while
+ * and ask for final clearance; if the destination's landing queue has grown past the divert
+ * threshold they are diverted to another airport. Then the normal Plane lifecycle runs on the
+ * chosen AirportManager.
+ *
+ * Modes:
+ *   local  - coordinator in this JVM, direct method calls
+ *   socket - coordinator behind an AtcServer on localhost; started in-process, or external
+ *            (another JVM running AtcServer.main) when --atc-port is given
+ *
+ * In socket mode the airports of this JVM push their load to ATC every --report-ms.
+ * If an external coordinator routes a flight to an airport registered by another JVM,
+ * the flight falls back to the least loaded local airport (counted as "foreign routes").
+ *
+ * Arrivals stay at their gate forever in this lifecycle, so --gates must leave room for all
+ * arrivals an airport may receive; otherwise an arrival holds the runway waiting for a gate.
+ */
+public class NetworkSimulation {
+
+    public static void main(String[] args) throws Exception {
+        int airportCount = 3;
+        int flights = 60;
+        String algo = "Monitor";
+        int runways = 1;
+        int gates = 20;
+        int divertThreshold = 3;
+        String mode = "local";
+        int atcPort = 0;
+        long intervalMs = 50;
+        long holdingMs = 200;
+        long reportMs = 2;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--airports": airportCount = Integer.parseInt(args[++i]); break;
+                case "--flights": flights = Integer.parseInt(args[++i]); break;
+                case "--algo": algo = args[++i]; break;
+                case "--runways": runways = Integer.parseInt(args[++i]); break;
+                case "--gates": gates = Integer.parseInt(args[++i]); break;
+                case "--divert-threshold": divertThreshold = Integer.parseInt(args[++i]); break;
+                case "--mode": mode = args[++i]; break;
+                case "--atc-port": atcPort = Integer.parseInt(args[++i]); break;
+                case "--interval-ms": intervalMs = Long.parseLong(args[++i]); break;
+                case "--holding-ms": holdingMs = Long.parseLong(args[++i]); break;
+                case "--report-ms": reportMs = Long.parseLong(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        // 1. Airports
+        InstrumentedAirport[] airports = new InstrumentedAirport[airportCount];
+        for (int i = 0; i < airportCount; i++) {
+            airports[i] = new InstrumentedAirport(PerformanceTester.createManager(algo, runways, gates));
+        }
+
+        // 2. ATC service
+        AtcCoordinator coordinator = null;
+        AtcServer server = null;
+        AtcClient client = null;
+        AtcService atc;
+        // global ATC index -> local airport (null when owned by another JVM)
+        InstrumentedAirport[] byAtcIndex;
+
+        if ("socket".equals(mode)) {
+            if (atcPort == 0) {
+                coordinator = new AtcCoordinator(Math.max(64, airportCount), divertThreshold);
+                server = new AtcServer(coordinator, 0);
+                atcPort = server.getPort();
+            }
+            client = new AtcClient(atcPort, Math.max(2, Runtime.getRuntime().availableProcessors()));
+            int[] atcIndex = new int[airportCount];
+            int maxIndex = 0;
+            for (int i = 0; i < airportCount; i++) {
+                atcIndex[i] = client.register("AP" + i + "@" + ProcessHandle.current().pid());
+                maxIndex = Math.max(maxIndex, atcIndex[i]);
+            }
+            byAtcIndex = new InstrumentedAirport[maxIndex + 1];
+            for (int i = 0; i < airportCount; i++) byAtcIndex[atcIndex[i]] = airports[i];
+            startLoadReporter(client, airports, atcIndex, reportMs);
+            atc = client;
+        } else {
+            coordinator = new AtcCoordinator(airportCount, divertThreshold);
+            for (int i = 0; i < airportCount; i++) coordinator.registerLocal("AP" + i, airports[i]);
+            byAtcIndex = airports;
+            atc = coordinator;
+        }
+
+        // 3. Traffic
+        LatencyHistogram endToEnd = new LatencyHistogram();
+        LongAdder diversions = new LongAdder();
+        LongAdder foreignRoutes = new LongAdder();
+        MainController quiet = new QuietController();
+        Random random = new Random();
+        List<Thread> threads = new ArrayList<>();
+
+        System.out.printf("Network simulation: %d airports (%s, %d runways, %d gates), %d flights, mode=%s%n",
+                airportCount, algo, runways, gates, flights, mode);
+
+        long wallStart = System.nanoTime();
+        for (int f = 0; f < flights; f++) {
+            int flightId = f + 1;
+            boolean arriving = random.nextBoolean();
+            final long holding = holdingMs;
+
+            Thread t = new Thread(() -> {
+                long t0 = System.nanoTime();
+
+                int target = atc.routeNewFlight(flightId);
+                if (arriving) {
+                    sleepQuiet(holding);
+                    int cleared = atc.clearArrival(flightId, target);
+                    if (cleared != target) diversions.increment();
+                    target = cleared;
+                }
+
+                AirportManager airport = target < byAtcIndex.length ? byAtcIndex[target] : null;
+                if (airport == null) {
+                    foreignRoutes.increment();
+                    airport = leastLoadedLocal(airports);
+                }
+
+                new Plane(flightId, airport, arriving, quiet).run();
+                endToEnd.record(System.nanoTime() - t0);
+            }, "flight-" + flightId);
+            threads.add(t);
+            t.start();
+            sleepQuiet(intervalMs);
+        }
+
+        for (Thread t : threads) t.join();
+        long wallNs = System.nanoTime() - wallStart;
+
+        // 4. Report
+        System.out.println();
+        System.out.printf("%-6s %9s %9s%n", "airport", "landings", "takeoffs");
+        for (int i = 0; i < airportCount; i++) {
+            System.out.printf("%-6s %9d %9d%n", "AP" + i, airports[i].getLandings(), airports[i].getTakeoffs());
+        }
+        System.out.println();
+        System.out.printf("Throughput: %.2f flights/s over %.1f s%n", flights * 1e9 / wallNs, wallNs / 1e9);
+        System.out.printf("End-to-end latency: mean %.1f ms, p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                endToEnd.getMean() / 1e6, endToEnd.getValueAtPercentile(50) / 1e6,
+                endToEnd.getValueAtPercentile(99) / 1e6, endToEnd.getMax() / 1e6);
+        System.out.printf("Diversions: %d, foreign routes: %d%n", diversions.sum(), foreignRoutes.sum());
+
+        if (coordinator != null) {
+            LatencyHistogram d = coordinator.getDecisionHistogram();
+            System.out.printf("ATC decisions: %d, mean %.0f ns, p99 %d ns%n",
+                    d.getCount(), d.getMean(), d.getValueAtPercentile(99));
+        }
+        if (client != null) {
+            LatencyHistogram rtt = client.getRoundTripHistogram();
+            System.out.printf("ATC round trips (incl. load reports): %d, mean %.1f us, p99 %.1f us%n",
+                    rtt.getCount(), rtt.getMean() / 1e3, rtt.getValueAtPercentile(99) / 1e3);
+            client.close();
+        }
+        if (server != null) server.close();
+    }
+
+    private static void startLoadReporter(AtcClient client, InstrumentedAirport[] airports, int[] atcIndex, long periodMs) {
+        Thread reporter = new Thread(() -> {
+            int[] lastKey = new int[airports.length];
+            while (true) {
+                for (int i = 0; i < airports.length; i++) {
+                    InstrumentedAirport a = airports[i];
+                    int landing = a.getLandingQueueDepth();
+                    int takeoff = a.getTakeoffQueueDepth();
+                    int inUse = a.getRunwaysInUse();
+                    // Only send when something changed
+                    int key = (landing * 31 + takeoff) * 31 + inUse;
+                    if (key != lastKey[i]) {
+                        client.reportLoad(atcIndex[i], landing, takeoff, inUse, a.getTotalRunways());
+                        lastKey[i] = key;
+                    }
+                }
+                sleepQuiet(periodMs);
+            }
+        }, "atc-load-reporter");
+        reporter.setDaemon(true);
+        reporter.start();
+    }
+
+    private static InstrumentedAirport leastLoadedLocal(InstrumentedAirport[] airports) {
+        InstrumentedAirport best = airports[0];
+        for (InstrumentedAirport a : airports) {
+            if (a.getLandingQueueDepth() + a.getTakeoffQueueDepth()
+                    < best.getLandingQueueDepth() + best.getTakeoffQueueDepth()) {
+                best = a;
+            }
+        }
+        return best;
+    }
+
+    private static void sleepQuiet(long ms) {
+        try { Thread.sleep(ms); }
+        catch (InterruptedException ignored) { Thread.currentThread().interrupt(); }
+    }
+
+    /**
+     * Headless controller: the network simulation has no UI to update.
+     */
+    private static final class QuietController implements MainController {
+        @Override public void log(String message) { }
+        @Override public void updateRunwayVisuals() { }
+        @Override public void updateGateStatus() { }
+        @Override public void updateQueue(int planeId, String status) { }
+        @Override public void notifyPlaneFinished(Plane p) { }
+    }
+}
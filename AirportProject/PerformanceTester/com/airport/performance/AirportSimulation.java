@@ -0,0 +1,652 @@
+package com.airport.performance;
+
+import com.airport.common.PriorityClass;
+import com.airport.common.ServiceTimeModel;
+import com.airport.common.ServiceTimeModel.Activity;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Discrete-event simulation of one airport on a virtual clock: no threads, no sleeping.
+ *
+ * Every aircraft turns around: it requests a runway, lands, waits for a gate while still holding
+ * the runway (the rule of the real managers), docks, boards, requests a runway for takeoff (which
+ * frees its gate) and leaves. Runway waiters are ordered by a {@link QueuePolicy}, gate waiters
+ * are FIFO. Each runway or gate handoff costs {@code handoffNs}, calibrated from a real manager.
+ *
+ * A run stops early when it can no longer meet its targets: the shared count of landings over
+ * the latency budget passed the allowed number, the virtual clock passed the deadline, or every
+ * runway is held by a plane waiting for a gate while all gates are full (the model deadlock).
+ *
+ * {@link #runUntil} stops the run at a virtual time, {@link #checkpoint} then writes the complete
+ * state (workload, clock, counters, queues and the pending events, which carry every in-flight
+ * aircraft and its phase) to a binary file, and {@link #restore} rebuilds a simulation that
+ * continues exactly where the original stopped. {@link #setCapacity} on the restored copy turns
+ * it into a what-if branch. There is no random state to save: all randomness is in the workload.
+ *
+ * Not thread-safe; one instance per run. The {@link Workload} is read-only and shared.
+ */
+public class AirportSimulation {
+
+    /**
+     * Order of the runway queue.
+     */
+    public enum QueuePolicy {
+        // One queue, first come first served
+        FIFO,
+        // Arrivals before departures (the original manager rule)
+        ARRIVALS_FIRST,
+        // Priority classes, urgent arrivals ahead of every departure (PriorityWaitQueue levels)
+        PRIORITY;
+
+        int levels() {
+            switch (this) {
+                case FIFO: return 1;
+                case ARRIVALS_FIRST: return 2;
+                default: return PriorityClass.LEVELS;
+            }
+        }
+
+        int level(PriorityClass pc, boolean arriving) {
+            switch (this) {
+                case FIFO: return 0;
+                case ARRIVALS_FIRST: return arriving ? 0 : 1;
+                default: return pc.level(arriving);
+            }
+        }
+    }
+
+    /**
+     * Pre-drawn aircraft: arrival times and all service durations. Drawing them up front gives
+     * every configuration the same traffic (common random numbers), so the comparison between
+     * configurations is not blurred by sampling noise.
+     */
+    public static final class Workload {
+        final long[] arriveNs;
+        final long[] landNs;
+        final long[] dwellNs; // docking + boarding
+        final long[] takeoffNs;
+        final PriorityClass[] priority;
+        private final double ratePerSec;
+
+        private Workload(int aircraft, double ratePerSec) {
+            this.arriveNs = new long[aircraft];
+            this.landNs = new long[aircraft];
+            this.dwellNs = new long[aircraft];
+            this.takeoffNs = new long[aircraft];
+            this.priority = new PriorityClass[aircraft];
+            this.ratePerSec = ratePerSec;
+        }
+
+        /**
+         * Poisson arrivals at {@code ratePerSec}, priority classes drawn from {@code mix}
+         * (percent per class), durations from {@code model}.
+         */
+        public static Workload generate(int aircraft, double ratePerSec, int[] mix, ServiceTimeModel model, long seed) {
+            if (!(ratePerSec > 0)) throw new IllegalArgumentException("rate must be > 0: " + ratePerSec);
+            Workload w = new Workload(aircraft, ratePerSec);
+            Random random = new Random(seed);
+            PriorityClass[] classes = PriorityClass.values();
+            double meanGapNs = 1e9 / ratePerSec;
+            long t = 0;
+            for (int a = 0; a < aircraft; a++) {
+                t += Math.round(-meanGapNs * Math.log(1.0 - random.nextDouble()));
+                w.arriveNs[a] = t;
+                PriorityClass pc = PriorityClass.SCHEDULED;
+                int r = random.nextInt(100);
+                for (int k = 0; k < classes.length && k < mix.length; k++) {
+                    r -= mix[k];
+                    if (r < 0) {
+                        pc = classes[k];
+                        break;
+                    }
+                }
+                w.priority[a] = pc;
+                w.landNs[a] = model.sampleNs(Activity.LANDING, random);
+                w.dwellNs[a] = model.sampleNs(Activity.DOCKING, random) + model.sampleNs(Activity.BOARDING, random);
+                w.takeoffNs[a] = model.sampleNs(Activity.TAKEOFF, random);
+            }
+            return w;
+        }
+
+        public int size() {
+            return arriveNs.length;
+        }
+
+        public double getRatePerSec() {
+            return ratePerSec;
+        }
+    }
+
+    /**
+     * Result of one run.
+     */
+    public static final class Outcome {
+        final LatencyHistogram landing = new LatencyHistogram(); // runway request -> docked
+        int completed;
+        long makespanNs;
+        boolean deadlock;
+        boolean aborted;
+
+        public LatencyHistogram getLanding() {
+            return landing;
+        }
+
+        public int getCompleted() {
+            return completed;
+        }
+
+        public long getMakespanNs() {
+            return makespanNs;
+        }
+
+        public boolean isDeadlock() {
+            return deadlock;
+        }
+
+        public boolean isAborted() {
+            return aborted;
+        }
+    }
+
+    // Event types (low two bits of an event, the aircraft index above them)
+    private static final int ARRIVE = 0;
+    private static final int LANDED = 1;
+    private static final int READY = 2;
+    private static final int AIRBORNE = 3;
+
+    private final Workload w;
+    private int runways;
+    private int gates;
+    private final QueuePolicy policy;
+    private final long handoffNs;
+
+    // Early stop
+    private final long latencyBudgetNs;
+    private final AtomicLong overBudget;
+    private final long allowedOverBudget;
+    private final long deadlineNs;
+
+    // Run state
+    private final EventHeap events = new EventHeap();
+    private final IntQueue[] runwayQueue;
+    private final IntQueue gateQueue = new IntQueue();
+    private int freeRunways; // negative: runways closed while in use, paid back on release
+    private int freeGates;
+    private long now;
+    private int processed;
+    private boolean finished;
+    private final Outcome outcome = new Outcome();
+
+    /**
+     * @param overBudget        landings over {@code latencyBudgetNs}, shared by the replications of one configuration
+     * @param allowedOverBudget stop once {@code overBudget} exceeds this
+     * @param deadlineNs        stop once the virtual clock passes this
+     */
+    public AirportSimulation(Workload workload, int runways, int gates, QueuePolicy policy, long handoffNs,
+                             long latencyBudgetNs, AtomicLong overBudget, long allowedOverBudget, long deadlineNs) {
+        if (runways < 1 || gates < 1) throw new IllegalArgumentException("need at least one runway and one gate");
+        this.w = workload;
+        this.runways = runways;
+        this.gates = gates;
+        this.policy = policy;
+        this.handoffNs = handoffNs;
+        this.latencyBudgetNs = latencyBudgetNs;
+        this.overBudget = overBudget;
+        this.allowedOverBudget = allowedOverBudget;
+        this.deadlineNs = deadlineNs;
+        this.runwayQueue = new IntQueue[policy.levels()];
+        for (int i = 0; i < runwayQueue.length; i++) runwayQueue[i] = new IntQueue();
+        this.freeRunways = runways;
+        this.freeGates = gates;
+        // Only the next arrival is queued, so the heap stays at about runways + gates events
+        if (workload.size() > 0) events.push(workload.arriveNs[0], ARRIVE);
+    }
+
+    public Outcome run() {
+        runUntil(Long.MAX_VALUE);
+        return outcome;
+    }
+
+    /**
+     * Process every event up to and including virtual time {@code clockNs}, then stop with the
+     * clock at {@code clockNs}. Returns true once the run is over (all aircraft gone, or stopped
+     * early); further calls do nothing.
+     */
+    public boolean runUntil(long clockNs) {
+        if (finished) return true;
+        int n = w.size();
+        while (!events.isEmpty()) {
+            if (events.peekTime() > clockNs) {
+                now = Math.max(now, clockNs);
+                return false;
+            }
+            now = events.peekTime();
+            int ev = events.pop();
+            int a = ev >>> 2;
+            switch (ev & 3) {
+                case ARRIVE:
+                    if (a + 1 < n) events.push(w.arriveNs[a + 1], (a + 1) << 2 | ARRIVE);
+                    requestRunway(a, true, now);
+                    break;
+
+                case LANDED:
+                    if (freeGates > 0) {
+                        freeGates--;
+                        docked(a, now);
+                        releaseRunway(now);
+                    } else {
+                        gateQueue.add(a);
+                        // Every runway held by a plane waiting for a gate, every gate waiting for a runway
+                        if (freeRunways <= 0 && gateQueue.size() == runways - freeRunways) {
+                            outcome.deadlock = true;
+                            outcome.aborted = true;
+                        }
+                    }
+                    break;
+
+                case READY:
+                    requestRunway(a, false, now);
+                    break;
+
+                default: // AIRBORNE
+                    outcome.completed++;
+                    releaseRunway(now);
+                    break;
+            }
+            if (outcome.aborted) break;
+            if ((++processed & 1023) == 0 && (overBudget.get() > allowedOverBudget || now > deadlineNs)) {
+                outcome.aborted = true;
+                break;
+            }
+        }
+        finished = true;
+        if (!outcome.aborted && outcome.completed < n) outcome.deadlock = true;
+        outcome.makespanNs = n == 0 ? 0 : now - w.arriveNs[0];
+        return true;
+    }
+
+    /** Virtual clock: time of the last event, or where {@link #runUntil} stopped. */
+    public long getClockNs() {
+        return now;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public int getRunways() {
+        return runways;
+    }
+
+    public int getGates() {
+        return gates;
+    }
+
+    /**
+     * Change the airport size from the current virtual time on (a what-if branch of a restored
+     * checkpoint). Same rule as the real managers: added capacity goes to the waiters at once,
+     * removed capacity that is in use stays with its holder and is not handed out again.
+     */
+    public void setCapacity(int runways, int gates) {
+        if (runways < 1 || gates < 1) throw new IllegalArgumentException("need at least one runway and one gate");
+        if (finished) throw new IllegalStateException("the run is over");
+        freeRunways += runways - this.runways;
+        freeGates += gates - this.gates;
+        this.runways = runways;
+        this.gates = gates;
+
+        // Gates first: a docking plane releases the runway it held while waiting
+        while (freeGates > 0 && !gateQueue.isEmpty()) {
+            freeGates--;
+            docked(gateQueue.poll(), now);
+            releaseRunway(now);
+        }
+        while (freeRunways > 0 && !isRunwayQueueEmpty()) {
+            freeRunways--;
+            grantNextWaiter(now);
+        }
+    }
+
+    // --- RUNWAYS ---
+
+    private void requestRunway(int a, boolean arriving, long now) {
+        if (freeRunways > 0 && isRunwayQueueEmpty()) {
+            freeRunways--;
+            grantRunway(a, arriving, now);
+        } else {
+            runwayQueue[policy.level(w.priority[a], arriving)].add(a << 1 | (arriving ? 1 : 0));
+        }
+    }
+
+    private void grantRunway(int a, boolean arriving, long now) {
+        long start = now + handoffNs;
+        if (arriving) {
+            events.push(start + w.landNs[a], a << 2 | LANDED);
+        } else {
+            events.push(start + w.takeoffNs[a], a << 2 | AIRBORNE);
+            releaseGate(now); // a departure leaves its gate once it has the runway
+        }
+    }
+
+    private void releaseRunway(long now) {
+        if (freeRunways < 0 || !grantNextWaiter(now)) freeRunways++;
+    }
+
+    private boolean grantNextWaiter(long now) {
+        for (IntQueue q : runwayQueue) {
+            if (!q.isEmpty()) {
+                int waiter = q.poll();
+                grantRunway(waiter >>> 1, (waiter & 1) != 0, now);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isRunwayQueueEmpty() {
+        for (IntQueue q : runwayQueue) {
+            if (!q.isEmpty()) return false;
+        }
+        return true;
+    }
+
+    // --- GATES ---
+
+    private void releaseGate(long now) {
+        if (freeGates < 0 || gateQueue.isEmpty()) {
+            freeGates++;
+            return;
+        }
+        int a = gateQueue.poll();
+        docked(a, now);
+        releaseRunway(now); // the waiter held its runway until now
+    }
+
+    private void docked(int a, long now) {
+        long at = now + handoffNs;
+        long latency = at - w.arriveNs[a];
+        outcome.landing.record(latency);
+        if (latency > latencyBudgetNs) overBudget.incrementAndGet();
+        events.push(at + w.dwellNs[a], a << 2 | READY);
+    }
+
+    // --- CHECKPOINT ---
+
+    // File layout (little endian): magic, version, workload, configuration, counters, outcome,
+    // event heap, runway queues, gate queue, CRC32 of everything before it
+    private static final int MAGIC = 0x4B435341; // "ASCK"
+    private static final int VERSION = 1;
+
+    /**
+     * Write the complete state to {@code file}, replacing it. The shared over-budget count is
+     * saved as its current value. Returns the number of bytes written.
+     */
+    public long checkpoint(Path file) throws IOException {
+        int n = w.size();
+        long bound = 128L + (long) n * (4 * Long.BYTES + 1) + LatencyHistogram.maxSerializedBytes()
+                + (long) events.size * (2 * Long.BYTES + Integer.BYTES)
+                + Integer.BYTES * (runwayQueue.length + 1L + gateQueue.size());
+        for (IntQueue q : runwayQueue) bound += (long) q.size() * Integer.BYTES;
+        if (bound > Integer.MAX_VALUE) throw new IOException("simulation too large to checkpoint: " + n + " aircraft");
+        ByteBuffer b = ByteBuffer.allocate((int) bound).order(ByteOrder.LITTLE_ENDIAN);
+
+        b.putInt(MAGIC).putInt(VERSION);
+        // Workload
+        b.putInt(n).putDouble(w.ratePerSec);
+        putLongs(b, w.arriveNs, n);
+        putLongs(b, w.landNs, n);
+        putLongs(b, w.dwellNs, n);
+        putLongs(b, w.takeoffNs, n);
+        for (PriorityClass pc : w.priority) b.put((byte) pc.ordinal());
+        // Configuration and early stop
+        b.putInt(runways).putInt(gates).putInt(policy.ordinal()).putLong(handoffNs);
+        b.putLong(latencyBudgetNs).putLong(overBudget.get()).putLong(allowedOverBudget).putLong(deadlineNs);
+        // Counters and clock
+        b.putInt(freeRunways).putInt(freeGates).putLong(now).putInt(processed).put((byte) (finished ? 1 : 0));
+        // Outcome so far
+        b.putInt(outcome.completed).putLong(outcome.makespanNs);
+        b.put((byte) (outcome.deadlock ? 1 : 0)).put((byte) (outcome.aborted ? 1 : 0));
+        outcome.landing.writeTo(b);
+        // Pending events (in-flight aircraft) and waiters
+        events.writeTo(b);
+        b.putInt(runwayQueue.length);
+        for (IntQueue q : runwayQueue) q.writeTo(b);
+        gateQueue.writeTo(b);
+
+        CRC32 crc = new CRC32();
+        crc.update(b.array(), 0, b.position());
+        b.putLong(crc.getValue());
+        b.flip();
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (b.hasRemaining()) ch.write(b);
+        }
+        return b.limit();
+    }
+
+    /**
+     * Rebuild a simulation from a {@link #checkpoint} file. It continues exactly as the
+     * original would have, with its own over-budget count starting at the saved value.
+     *
+     * @throws IOException if the file is not a checkpoint of this version or is corrupt
+     */
+    public static AirportSimulation restore(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < 16 || size > Integer.MAX_VALUE) throw new IOException("not a simulation checkpoint: " + file);
+            MappedByteBuffer b = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            b.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (b.getInt() != MAGIC) throw new IOException("not a simulation checkpoint: " + file);
+            int version = b.getInt();
+            if (version != VERSION) throw new IOException("unsupported checkpoint version " + version + ": " + file);
+            CRC32 crc = new CRC32();
+            crc.update(b.duplicate().position(0).limit((int) size - Long.BYTES));
+            if (crc.getValue() != b.getLong((int) size - Long.BYTES)) throw new IOException("corrupt checkpoint: " + file);
+
+            try {
+                // Workload
+                int n = b.getInt();
+                Workload w = new Workload(n, b.getDouble());
+                getLongs(b, w.arriveNs, n);
+                getLongs(b, w.landNs, n);
+                getLongs(b, w.dwellNs, n);
+                getLongs(b, w.takeoffNs, n);
+                PriorityClass[] classes = PriorityClass.values();
+                for (int a = 0; a < n; a++) w.priority[a] = classes[b.get()];
+
+                int runways = b.getInt();
+                int gates = b.getInt();
+                QueuePolicy policy = QueuePolicy.values()[b.getInt()];
+                long handoffNs = b.getLong();
+                long latencyBudgetNs = b.getLong();
+                AtomicLong overBudget = new AtomicLong(b.getLong());
+                long allowedOverBudget = b.getLong();
+                long deadlineNs = b.getLong();
+                AirportSimulation sim = new AirportSimulation(w, runways, gates, policy, handoffNs,
+                        latencyBudgetNs, overBudget, allowedOverBudget, deadlineNs);
+
+                sim.freeRunways = b.getInt();
+                sim.freeGates = b.getInt();
+                sim.now = b.getLong();
+                sim.processed = b.getInt();
+                sim.finished = b.get() != 0;
+                sim.outcome.completed = b.getInt();
+                sim.outcome.makespanNs = b.getLong();
+                sim.outcome.deadlock = b.get() != 0;
+                sim.outcome.aborted = b.get() != 0;
+                sim.outcome.landing.readFrom(b);
+
+                sim.events.readFrom(b);
+                if (b.getInt() != sim.runwayQueue.length) throw new IOException("corrupt checkpoint: " + file);
+                for (IntQueue q : sim.runwayQueue) q.readFrom(b);
+                sim.gateQueue.readFrom(b);
+                if (b.position() != size - Long.BYTES) throw new IOException("corrupt checkpoint: " + file);
+                return sim;
+            } catch (RuntimeException e) {
+                // Index and buffer errors of a file that passed the CRC but does not parse
+                throw new IOException("corrupt checkpoint: " + file, e);
+            }
+        }
+    }
+
+    private static void putLongs(ByteBuffer b, long[] values, int length) {
+        b.asLongBuffer().put(values, 0, length);
+        b.position(b.position() + length * Long.BYTES);
+    }
+
+    private static void getLongs(ByteBuffer b, long[] values, int length) {
+        b.asLongBuffer().get(values, 0, length);
+        b.position(b.position() + length * Long.BYTES);
+    }
+
+    // --- DATA STRUCTURES ---
+
+    /**
+     * Binary min-heap of (time, event), ties broken by insertion order so runs are deterministic.
+     */
+    private static final class EventHeap {
+        private long[] time = new long[64];
+        private long[] seq = new long[64];
+        private int[] event = new int[64];
+        private int size;
+        private long nextSeq;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long peekTime() {
+            return time[0];
+        }
+
+        void push(long t, int e) {
+            if (size == time.length) {
+                time = Arrays.copyOf(time, size * 2);
+                seq = Arrays.copyOf(seq, size * 2);
+                event = Arrays.copyOf(event, size * 2);
+            }
+            long s = nextSeq++;
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(t, s, time[parent], seq[parent])) break;
+                move(parent, i);
+                i = parent;
+            }
+            time[i] = t;
+            seq[i] = s;
+            event[i] = e;
+        }
+
+        int pop() {
+            int top = event[0];
+            int last = --size;
+            long t = time[last];
+            long s = seq[last];
+            int e = event[last];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && before(time[child + 1], seq[child + 1], time[child], seq[child])) child++;
+                if (!before(time[child], seq[child], t, s)) break;
+                move(child, i);
+                i = child;
+            }
+            time[i] = t;
+            seq[i] = s;
+            event[i] = e;
+            return top;
+        }
+
+        // Heap order is kept as is, so a restored heap pops in exactly the same order
+        void writeTo(ByteBuffer b) {
+            b.putInt(size).putLong(nextSeq);
+            putLongs(b, time, size);
+            putLongs(b, seq, size);
+            b.asIntBuffer().put(event, 0, size);
+            b.position(b.position() + size * Integer.BYTES);
+        }
+
+        void readFrom(ByteBuffer b) {
+            size = b.getInt();
+            nextSeq = b.getLong();
+            int capacity = Math.max(64, Integer.highestOneBit(Math.max(1, size)) << 1);
+            time = new long[capacity];
+            seq = new long[capacity];
+            event = new int[capacity];
+            getLongs(b, time, size);
+            getLongs(b, seq, size);
+            b.asIntBuffer().get(event, 0, size);
+            b.position(b.position() + size * Integer.BYTES);
+        }
+
+        private static boolean before(long t1, long s1, long t2, long s2) {
+            return t1 < t2 || (t1 == t2 && s1 < s2);
+        }
+
+        private void move(int from, int to) {
+            time[to] = time[from];
+            seq[to] = seq[from];
+            event[to] = event[from];
+        }
+    }
+
+    /**
+     * Growable FIFO ring of ints.
+     */
+    private static final class IntQueue {
+        private int[] items = new int[16];
+        private int head;
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(int v) {
+            if (size == items.length) {
+                int[] grown = new int[size * 2];
+                for (int i = 0; i < size; i++) grown[i] = items[(head + i) & (items.length - 1)];
+                items = grown;
+                head = 0;
+            }
+            items[(head + size++) & (items.length - 1)] = v;
+        }
+
+        int poll() {
+            int v = items[head];
+            head = (head + 1) & (items.length - 1);
+            size--;
+            return v;
+        }
+
+        void writeTo(ByteBuffer b) {
+            b.putInt(size);
+            for (int i = 0; i < size; i++) b.putInt(items[(head + i) & (items.length - 1)]);
+        }
+
+        void readFrom(ByteBuffer b) {
+            head = 0;
+            size = 0;
+            for (int i = b.getInt(); i > 0; i--) add(b.getInt());
+        }
+    }
+}
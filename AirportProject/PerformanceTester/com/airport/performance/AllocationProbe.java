@@ -0,0 +1,96 @@
+package com.airport.performance;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Memory footprint probes for the allocation profiling modes: bytes allocated by a thread
+ * (HotSpot's {@link com.sun.management.ThreadMXBean}), peak heap and peak live thread count.
+ *
+ * Allocated bytes are counted per thread in its TLABs, so they are exact per thread but see
+ * nothing of native memory: thread stacks are estimated as peak threads x ThreadStackSize.
+ */
+final class AllocationProbe {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean HOTSPOT_THREADS = hotspotThreads();
+
+    private AllocationProbe() {
+    }
+
+    // Null when the JVM has no per-thread allocation counter
+    private static com.sun.management.ThreadMXBean hotspotThreads() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREADS;
+        if (!bean.isThreadAllocatedMemorySupported()) return null;
+        if (!bean.isThreadAllocatedMemoryEnabled()) bean.setThreadAllocatedMemoryEnabled(true);
+        return bean;
+    }
+
+    static boolean isSupported() {
+        return HOTSPOT_THREADS != null;
+    }
+
+    /** Bytes allocated so far by the calling thread, -1 if not supported. */
+    static long currentThreadAllocatedBytes() {
+        return HOTSPOT_THREADS == null ? -1L : HOTSPOT_THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /** Bytes allocated so far by a live thread, -1 if not supported or the thread is gone. */
+    static long threadAllocatedBytes(long threadId) {
+        return HOTSPOT_THREADS == null ? -1L : HOTSPOT_THREADS.getThreadAllocatedBytes(threadId);
+    }
+
+    /**
+     * Wrap {@code task} so that the bytes it allocates in the thread running it are stored in
+     * {@code bytes[slot]}.
+     */
+    static Runnable measured(Runnable task, long[] bytes, int slot) {
+        return () -> {
+            long before = currentThreadAllocatedBytes();
+            task.run();
+            bytes[slot] = currentThreadAllocatedBytes() - before;
+        };
+    }
+
+    /**
+     * Collect the previous run's garbage, then restart the peak heap and thread counters.
+     */
+    static void resetPeaks() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) pool.resetPeakUsage();
+        }
+        THREADS.resetPeakThreadCount();
+    }
+
+    /**
+     * Sum of the heap pools' peak usage since {@link #resetPeaks}. The pools may peak at
+     * different moments, so this is an upper bound of the real peak.
+     */
+    static long peakHeapBytes() {
+        long bytes = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) bytes += pool.getPeakUsage().getUsed();
+        }
+        return bytes;
+    }
+
+    static int peakThreadCount() {
+        return THREADS.getPeakThreadCount();
+    }
+
+    /** Reserved stack per platform thread (-Xss / ThreadStackSize), 0 if unknown. */
+    static long threadStackBytes() {
+        try {
+            HotSpotDiagnosticMXBean hotspot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return Long.parseLong(hotspot.getVMOption("ThreadStackSize").getValue()) * 1024;
+        } catch (RuntimeException e) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.airport.performance;
+
+import com.airport.common.AirportManager;
+import com.airport.common.MainController;
+import com.airport.common.Plane;
+import com.airport.common.PriorityClass;
+import com.airport.common.ServiceTimeModel;
+
+import javax.swing.DefaultListModel;
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Memory cost of one plane lifecycle, per algorithm, execution mode and UI.
+ *
+ * Execution modes: "thread" starts one platform thread per plane (what the GUI and the
+ * benchmark suite do), "pool" runs the planes as tasks on a fixed pool of workers. UI: "quiet"
+ * is a no-op controller, "swing" replays what AirportFrame does per event without a window:
+ * invokeLater runnables that append to a JTextArea log and a DefaultListModel queue.
+ *
+ * Measured with per-thread allocation counters: bytes allocated by the thread that flies the
+ * plane, by the spawning thread (Plane, Thread or task objects) and by the event dispatch thread,
+ * each divided by the number of planes; plus peak heap, peak live threads and the stack space
+ * those threads reserve. Every combination runs once for warmup before the measured run. The
+ * airport gets one gate per plane by default, so the model cannot deadlock.
+ *
+ * Usage: AllocationProfiler [--planes N] [--runways N] [--gates N] [--workers N]
+ *                           [--modes thread,pool] [--ui quiet,swing]
+ *                           [--service zero|fixed|exponential|empirical:FILE] [--compression F]
+ *                           [--algorithms Semaphore,ReentrantLock,Monitor]
+ */
+public class AllocationProfiler {
+
+    private static final MainController QUIET = new MainController() {
+        @Override
+        public void log(String message) { }
+
+        @Override
+        public void updateRunwayVisuals() { }
+
+        @Override
+        public void updateGateStatus() { }
+
+        @Override
+        public void updateQueue(int planeId, String status) { }
+
+        @Override
+        public void notifyPlaneFinished(Plane p) { }
+    };
+
+    private static class Result {
+        long planeBytes;
+        long spawnBytes;
+        long uiBytes;
+        long peakHeapBytes;
+        int peakThreads;
+        int uiRows;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int planes = 2000;
+        int runways = 2;
+        int gates = -1;
+        int workers = 16;
+        String[] modes = {"thread", "pool"};
+        String[] uis = {"quiet", "swing"};
+        String service = "zero";
+        double compression = 1.0;
+        String[] algorithms = {"Semaphore", "ReentrantLock", "Monitor"};
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--planes": planes = Integer.parseInt(args[++i]); break;
+                case "--runways": runways = Integer.parseInt(args[++i]); break;
+                case "--gates": gates = Integer.parseInt(args[++i]); break;
+                case "--workers": workers = Integer.parseInt(args[++i]); break;
+                case "--modes": modes = args[++i].split(","); break;
+                case "--ui": uis = args[++i].split(","); break;
+                case "--service": service = args[++i]; break;
+                case "--compression": compression = Double.parseDouble(args[++i]); break;
+                case "--algorithms": algorithms = args[++i].split(","); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (gates < 0) gates = planes;
+        if (!AllocationProbe.isSupported()) {
+            System.out.println("This JVM has no per-thread allocation counter (com.sun.management.ThreadMXBean)");
+            System.exit(1);
+        }
+        // The swing UI model needs no display
+        System.setProperty("java.awt.headless", "true");
+        ServiceTimeModel model = ServiceTimeModel.parse(service, compression);
+        long stackBytes = AllocationProbe.threadStackBytes();
+
+        System.out.printf("Allocation profile: %d planes (half arrivals), %d runway(s), %d gates, %d pool workers, "
+                + "thread stack %d KB%n", planes, runways, gates, workers, stackBytes / 1024);
+        System.out.printf("Service times: %s%n%n", model.describe());
+        System.out.printf("%-14s %-7s %-6s %11s %11s %11s %12s %10s %8s %10s %8s%n",
+                "algorithm", "mode", "ui", "plane B", "spawn B", "ui B", "total B", "peak heap", "threads",
+                "stacks", "ui rows");
+
+        for (String algorithm : algorithms) {
+            for (String mode : modes) {
+                for (String ui : uis) {
+                    run(algorithm, mode, ui, planes, runways, gates, workers, model); // warmup
+                    Result r = run(algorithm, mode, ui, planes, runways, gates, workers, model);
+                    System.out.printf("%-14s %-7s %-6s %11.0f %11.0f %11.0f %12.0f %8.1fMB %8d %8.1fMB %8.1f%n",
+                            PerformanceTester.createManager(algorithm, 1, 1).getAlgorithmName(), mode, ui,
+                            (double) r.planeBytes / planes, (double) r.spawnBytes / planes,
+                            (double) r.uiBytes / planes,
+                            (double) (r.planeBytes + r.spawnBytes + r.uiBytes) / planes,
+                            r.peakHeapBytes / 1048576.0, r.peakThreads,
+                            (double) r.peakThreads * stackBytes / 1048576.0, (double) r.uiRows / planes);
+                }
+            }
+        }
+        System.out.println("\nB = bytes allocated per plane lifecycle; stacks = peak threads x reserved stack size;"
+                + " ui rows = log lines and queue rows the UI keeps per plane.");
+        System.exit(0); // the event dispatch thread is not a daemon
+    }
+
+    private static Result run(String algorithm, String mode, String ui, int planes, int runways, int gates,
+                              int workers, ServiceTimeModel model) throws Exception {
+        AirportManager airport = PerformanceTester.createManager(algorithm, runways, gates);
+        SwingModel swing = ui.equals("swing") ? new SwingModel() : null;
+        MainController controller = swing != null ? swing : QUIET;
+        long[] planeBytes = new long[planes];
+        Result result = new Result();
+
+        AllocationProbe.resetPeaks();
+        long uiBefore = swing != null ? swing.edtAllocatedBytes() : 0;
+        long spawnBefore = AllocationProbe.currentThreadAllocatedBytes();
+        long spawnBytes;
+
+        if (mode.equals("thread")) {
+            Thread[] threads = new Thread[planes];
+            for (int i = 0; i < planes; i++) {
+                Plane p = new Plane(i + 1, airport, i % 2 == 0, PriorityClass.SCHEDULED, model, controller);
+                int slot = i;
+                threads[i] = new Thread(AllocationProbe.measured(p, planeBytes, slot));
+                threads[i].start();
+            }
+            spawnBytes = AllocationProbe.currentThreadAllocatedBytes() - spawnBefore;
+            for (Thread t : threads) t.join();
+        } else if (mode.equals("pool")) {
+            ExecutorService pool = Executors.newFixedThreadPool(workers);
+            ((ThreadPoolExecutor) pool).prestartAllCoreThreads();
+            spawnBefore = AllocationProbe.currentThreadAllocatedBytes();
+            for (int i = 0; i < planes; i++) {
+                Plane p = new Plane(i + 1, airport, i % 2 == 0, PriorityClass.SCHEDULED, model, controller);
+                int slot = i;
+                pool.execute(AllocationProbe.measured(p, planeBytes, slot));
+            }
+            spawnBytes = AllocationProbe.currentThreadAllocatedBytes() - spawnBefore;
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.HOURS);
+        } else {
+            throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+
+        if (swing != null) {
+            swing.drain();
+            result.uiBytes = swing.edtAllocatedBytes() - uiBefore;
+            result.uiRows = swing.retainedRows();
+        }
+        for (long b : planeBytes) result.planeBytes += b;
+        result.spawnBytes = spawnBytes;
+        result.peakHeapBytes = AllocationProbe.peakHeapBytes();
+        result.peakThreads = AllocationProbe.peakThreadCount();
+        return result;
+    }
+
+    /**
+     * Headless copy of AirportFrame's per-event work: the same invokeLater runnables, the same
+     * log and queue models, no painting (the runway and gate views only store two ints).
+     */
+    private static final class SwingModel implements MainController {
+        private final JTextArea logsArea = new JTextArea();
+        private final DefaultListModel<String> queueModel = new DefaultListModel<>();
+        private final long edtId;
+
+        SwingModel() throws Exception {
+            long[] id = new long[1];
+            SwingUtilities.invokeAndWait(() -> id[0] = Thread.currentThread().getId());
+            this.edtId = id[0];
+        }
+
+        @Override
+        public void log(String message) {
+            SwingUtilities.invokeLater(() -> {
+                logsArea.append(message + "\n");
+                logsArea.setCaretPosition(logsArea.getDocument().getLength());
+            });
+        }
+
+        @Override
+        public void updateRunwayVisuals() { }
+
+        @Override
+        public void updateGateStatus() { }
+
+        @Override
+        public void updateQueue(int planeId, String status) {
+            SwingUtilities.invokeLater(() -> queueModel.addElement("Plane " + planeId + ": " + status));
+        }
+
+        @Override
+        public void notifyPlaneFinished(Plane p) {
+            SwingUtilities.invokeLater(() -> log("Plane " + p.getId() + " finished (latency: " + (p.getLatencyNs() / 1_000_000) + " ms)"));
+        }
+
+        // Wait until every queued runnable (and those they queued) has run
+        void drain() throws Exception {
+            SwingUtilities.invokeAndWait(() -> { });
+            SwingUtilities.invokeAndWait(() -> { });
+        }
+
+        long edtAllocatedBytes() {
+            return AllocationProbe.threadAllocatedBytes(edtId);
+        }
+
+        int retainedRows() throws Exception {
+            int[] rows = new int[1];
+            SwingUtilities.invokeAndWait(() -> rows[0] = queueModel.size() + logsArea.getLineCount() - 1);
+            return rows[0];
+        }
+    }
+}
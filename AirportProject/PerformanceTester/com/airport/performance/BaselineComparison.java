@@ -0,0 +1,196 @@
+package com.airport.performance;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Diff of a benchmark run against a stored baseline.
+ *
+ * For every algorithm present in both runs three metrics are compared on their per-repetition
+ * samples with Welch's t-test: mean latency, p99 latency and throughput. A change is flagged as
+ * a regression only when it goes the wrong way, is statistically significant at 95% and is larger
+ * than the relative threshold (so tiny but consistent differences don't fail a build).
+ *
+ * Usage: BaselineComparison BASELINE.json CANDIDATE.json [--threshold PCT]
+ *        (exit code 1 when a regression is found)
+ */
+public class BaselineComparison {
+
+    public enum Verdict { REGRESSION, IMPROVEMENT, WITHIN_THRESHOLD, NO_SIGNIFICANT_CHANGE }
+
+    /**
+     * One metric of one algorithm.
+     */
+    public static class Finding {
+        private final String algorithm;
+        private final String metric;
+        private final String unit;
+        private final double baseline;
+        private final double candidate;
+        private final double changePct;
+        private final double t;
+        private final Verdict verdict;
+
+        Finding(String algorithm, String metric, String unit, double baseline, double candidate,
+                double changePct, double t, Verdict verdict) {
+            this.algorithm = algorithm;
+            this.metric = metric;
+            this.unit = unit;
+            this.baseline = baseline;
+            this.candidate = candidate;
+            this.changePct = changePct;
+            this.t = t;
+            this.verdict = verdict;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public String getMetric() {
+            return metric;
+        }
+
+        public double getChangePct() {
+            return changePct;
+        }
+
+        public Verdict getVerdict() {
+            return verdict;
+        }
+    }
+
+    private final BenchmarkRecord baseline;
+    private final BenchmarkRecord candidate;
+    private final double thresholdPct;
+    private final List<Finding> findings = new ArrayList<>();
+    private final List<String> warnings = new ArrayList<>();
+
+    private BaselineComparison(BenchmarkRecord baseline, BenchmarkRecord candidate, double thresholdPct) {
+        this.baseline = baseline;
+        this.candidate = candidate;
+        this.thresholdPct = thresholdPct;
+    }
+
+    public static BaselineComparison compare(BenchmarkRecord baseline, BenchmarkRecord candidate, double thresholdPct) {
+        BaselineComparison c = new BaselineComparison(baseline, candidate, thresholdPct);
+        c.checkConditions();
+
+        for (BenchmarkRecord.AlgorithmRecord cand : candidate.getAlgorithms().values()) {
+            BenchmarkRecord.AlgorithmRecord base = baseline.getAlgorithms().get(cand.getName());
+            if (base == null) {
+                c.warnings.add("no baseline for " + cand.getName());
+                continue;
+            }
+            // Latencies: higher is worse. Throughput: lower is worse.
+            c.add(cand.getName(), "mean latency", "ms", 1e-6, base.getRepMeanNs(), cand.getRepMeanNs(), true);
+            c.add(cand.getName(), "p99 latency", "ms", 1e-6, base.getRepP99Ns(), cand.getRepP99Ns(), true);
+            c.add(cand.getName(), "throughput", "/s", 1.0, base.getRepThroughput(), cand.getRepThroughput(), false);
+        }
+        return c;
+    }
+
+    private void add(String algo, String metric, String unit, double scale,
+                     double[] base, double[] cand, boolean higherIsWorse) {
+        double mb = BenchmarkStats.mean(base);
+        double mc = BenchmarkStats.mean(cand);
+        double changePct = mb == 0.0 ? 0.0 : (mc - mb) / mb * 100.0;
+        double t = BenchmarkStats.welchT(base, cand);
+
+        Verdict verdict;
+        if (!BenchmarkStats.significantlyDifferent95(base, cand)) {
+            verdict = Verdict.NO_SIGNIFICANT_CHANGE;
+        } else if (Math.abs(changePct) < thresholdPct) {
+            verdict = Verdict.WITHIN_THRESHOLD;
+        } else {
+            boolean worse = higherIsWorse ? mc > mb : mc < mb;
+            verdict = worse ? Verdict.REGRESSION : Verdict.IMPROVEMENT;
+        }
+        findings.add(new Finding(algo, metric, unit, mb * scale, mc * scale, changePct, t, verdict));
+    }
+
+    // Different configuration or machine makes the comparison meaningless or at least suspicious
+    private void checkConditions() {
+        Set<String> keys = new LinkedHashSet<>(baseline.getConfiguration().keySet());
+        keys.addAll(candidate.getConfiguration().keySet());
+        for (String key : keys) {
+            Double a = baseline.getConfiguration().get(key);
+            Double b = candidate.getConfiguration().get(key);
+            if (!Objects.equals(a, b)) {
+                warnings.add("configuration differs: " + key + " " + a + " -> " + b);
+            }
+        }
+        for (String key : new String[]{"javaVersion", "vmName", "osName", "osArch", "availableProcessors", "maxHeapMb"}) {
+            String a = baseline.getEnvironment().get(key);
+            String b = candidate.getEnvironment().get(key);
+            if (!Objects.equals(a, b)) {
+                warnings.add("environment differs: " + key + " " + a + " -> " + b);
+            }
+        }
+        for (BenchmarkRecord.AlgorithmRecord a : candidate.getAlgorithms().values()) {
+            if (a.getRepMeanNs().length < 2) {
+                warnings.add(a.getName() + " has fewer than 2 measured repetitions: nothing can be significant");
+            }
+        }
+    }
+
+    public boolean hasRegression() {
+        for (Finding f : findings) {
+            if (f.verdict == Verdict.REGRESSION) return true;
+        }
+        return false;
+    }
+
+    public List<Finding> getFindings() {
+        return new ArrayList<>(findings);
+    }
+
+    public List<String> getWarnings() {
+        return new ArrayList<>(warnings);
+    }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Comparison against baseline '%s' (%s, commit %s), threshold %.1f%%, Welch t-test 95%%%n",
+                baseline.getLabel(), baseline.getTimestamp(),
+                baseline.getEnvironment().getOrDefault("gitCommit", "unknown"), thresholdPct));
+        for (String w : warnings) {
+            sb.append("  warning: ").append(w).append('\n');
+        }
+        sb.append(String.format("%n%-14s %-13s %12s %12s %9s %8s  %s%n",
+                "algorithm", "metric", "baseline", "candidate", "change", "t", "verdict"));
+        for (Finding f : findings) {
+            sb.append(String.format("%-14s %-13s %9.2f %-2s %9.2f %-2s %+8.1f%% %8.2f  %s%n",
+                    f.algorithm, f.metric, f.baseline, f.unit, f.candidate, f.unit, f.changePct, f.t,
+                    f.verdict == Verdict.REGRESSION ? "REGRESSION" : f.verdict.name().toLowerCase().replace('_', ' ')));
+        }
+        sb.append(hasRegression() ? "\nRESULT: regression detected\n" : "\nRESULT: no regression\n");
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison BASELINE.json CANDIDATE.json [--threshold PCT]");
+            System.exit(2);
+        }
+        double threshold = 5.0;
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threshold": threshold = Double.parseDouble(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        ResultsStore store = new ResultsStore(Path.of(ResultsStore.DEFAULT_DIR));
+        BenchmarkRecord base = store.load(store.resolve(args[0]));
+        BenchmarkRecord cand = store.load(store.resolve(args[1]));
+
+        BaselineComparison comparison = compare(base, cand, threshold);
+        System.out.print(comparison.report());
+        if (comparison.hasRegression()) System.exit(1);
+    }
+}
@@ -0,0 +1,233 @@
+package com.airport.performance;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persistent snapshot of one benchmark suite, as stored by {@link ResultsStore}.
+ *
+ * Besides pooled percentiles it keeps the per-repetition samples (mean latency, p99 latency,
+ * throughput) of every algorithm, which is what a later significance test needs. Environment
+ * metadata (JVM, OS, cores, heap, git commit) and the suite configuration are stored alongside,
+ * so a comparison can warn when two runs were not measured under the same conditions.
+ */
+public class BenchmarkRecord {
+
+    private final String label;
+    private final String timestamp;
+    private final Map<String, String> environment;
+    private final Map<String, Double> configuration;
+    private final Map<String, AlgorithmRecord> algorithms;
+
+    public BenchmarkRecord(String label, String timestamp, Map<String, String> environment,
+                           Map<String, Double> configuration, Map<String, AlgorithmRecord> algorithms) {
+        this.label = label;
+        this.timestamp = timestamp;
+        this.environment = Collections.unmodifiableMap(new LinkedHashMap<>(environment));
+        this.configuration = Collections.unmodifiableMap(new LinkedHashMap<>(configuration));
+        this.algorithms = Collections.unmodifiableMap(new LinkedHashMap<>(algorithms));
+    }
+
+    /**
+     * Snapshot the results of a finished suite.
+     */
+    public static BenchmarkRecord capture(String label, Map<String, Double> configuration,
+                                          Collection<BenchmarkResult> results) {
+        Map<String, AlgorithmRecord> algorithms = new LinkedHashMap<>();
+        for (BenchmarkResult r : results) {
+            long[] sorted = r.getPooledSortedNs();
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            percentiles.put("p50", (double) BenchmarkStats.percentile(sorted, 50));
+            percentiles.put("p90", (double) BenchmarkStats.percentile(sorted, 90));
+            percentiles.put("p99", (double) BenchmarkStats.percentile(sorted, 99));
+            percentiles.put("p999", (double) BenchmarkStats.percentile(sorted, 99.9));
+            algorithms.put(r.getAlgoName(), new AlgorithmRecord(r.getAlgoName(), sorted.length,
+                    r.getRunMeansNs(), r.getRunPercentilesNs(99), r.getRunThroughputs(), percentiles));
+        }
+        return new BenchmarkRecord(label, Instant.now().toString(), captureEnvironment(), configuration, algorithms);
+    }
+
+    public static Map<String, String> captureEnvironment() {
+        Map<String, String> env = new LinkedHashMap<>();
+        env.put("javaVersion", System.getProperty("java.version"));
+        env.put("javaVendor", System.getProperty("java.vendor"));
+        env.put("vmName", System.getProperty("java.vm.name"));
+        env.put("osName", System.getProperty("os.name"));
+        env.put("osArch", System.getProperty("os.arch"));
+        env.put("osVersion", System.getProperty("os.version"));
+        env.put("availableProcessors", Integer.toString(Runtime.getRuntime().availableProcessors()));
+        env.put("maxHeapMb", Long.toString(Runtime.getRuntime().maxMemory() / (1024 * 1024)));
+        env.put("jvmArgs", String.join(" ", ManagementFactory.getRuntimeMXBean().getInputArguments()));
+        env.put("gitCommit", gitCommit());
+        return env;
+    }
+
+    // Best effort: "unknown" outside a git checkout or without git on the PATH
+    private static String gitCommit() {
+        try {
+            Process p = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String line;
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
+                line = in.readLine();
+            }
+            if (!p.waitFor(2, TimeUnit.SECONDS) || p.exitValue() != 0 || line == null) return "unknown";
+            return line.trim();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+
+    // --- JSON ---
+
+    public String toJson() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"label\": ").append(Json.quote(label)).append(",\n");
+        sb.append("  \"timestamp\": ").append(Json.quote(timestamp)).append(",\n");
+
+        sb.append("  \"environment\": {");
+        int i = 0;
+        for (Map.Entry<String, String> e : environment.entrySet()) {
+            sb.append(i++ == 0 ? "\n" : ",\n");
+            sb.append("    ").append(Json.quote(e.getKey())).append(": ").append(Json.quote(e.getValue()));
+        }
+        sb.append("\n  },\n");
+
+        sb.append("  \"configuration\": {");
+        i = 0;
+        for (Map.Entry<String, Double> e : configuration.entrySet()) {
+            sb.append(i++ == 0 ? "\n" : ",\n");
+            sb.append("    ").append(Json.quote(e.getKey())).append(": ").append(Json.number(e.getValue()));
+        }
+        sb.append("\n  },\n");
+
+        sb.append("  \"algorithms\": {");
+        i = 0;
+        for (AlgorithmRecord a : algorithms.values()) {
+            sb.append(i++ == 0 ? "\n" : ",\n");
+            sb.append("    ").append(Json.quote(a.name)).append(": {\n");
+            sb.append("      \"planes\": ").append(a.planes).append(",\n");
+            sb.append("      \"repMeanNs\": ").append(Json.array(a.repMeanNs)).append(",\n");
+            sb.append("      \"repP99Ns\": ").append(Json.array(a.repP99Ns)).append(",\n");
+            sb.append("      \"repThroughput\": ").append(Json.array(a.repThroughput)).append(",\n");
+            sb.append("      \"percentilesNs\": {");
+            int k = 0;
+            for (Map.Entry<String, Double> e : a.percentilesNs.entrySet()) {
+                sb.append(k++ == 0 ? "" : ", ");
+                sb.append(Json.quote(e.getKey())).append(": ").append(Json.number(e.getValue()));
+            }
+            sb.append("}\n    }");
+        }
+        sb.append("\n  }\n}\n");
+        return sb.toString();
+    }
+
+    public static BenchmarkRecord fromJson(String text) {
+        Map<String, Object> root = Json.asObject(Json.parse(text));
+
+        Map<String, String> environment = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> e : Json.asObject(root.get("environment")).entrySet()) {
+            environment.put(e.getKey(), String.valueOf(e.getValue()));
+        }
+
+        Map<String, Double> configuration = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> e : Json.asObject(root.get("configuration")).entrySet()) {
+            configuration.put(e.getKey(), ((Number) e.getValue()).doubleValue());
+        }
+
+        Map<String, AlgorithmRecord> algorithms = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> e : Json.asObject(root.get("algorithms")).entrySet()) {
+            Map<String, Object> a = Json.asObject(e.getValue());
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> p : Json.asObject(a.get("percentilesNs")).entrySet()) {
+                percentiles.put(p.getKey(), ((Number) p.getValue()).doubleValue());
+            }
+            algorithms.put(e.getKey(), new AlgorithmRecord(e.getKey(),
+                    ((Number) a.get("planes")).intValue(),
+                    Json.asDoubleArray(a.get("repMeanNs")),
+                    Json.asDoubleArray(a.get("repP99Ns")),
+                    Json.asDoubleArray(a.get("repThroughput")),
+                    percentiles));
+        }
+
+        return new BenchmarkRecord((String) root.get("label"), (String) root.get("timestamp"),
+                environment, configuration, algorithms);
+    }
+
+    // --- GETTERS ---
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public Map<String, String> getEnvironment() {
+        return environment;
+    }
+
+    public Map<String, Double> getConfiguration() {
+        return configuration;
+    }
+
+    public Map<String, AlgorithmRecord> getAlgorithms() {
+        return algorithms;
+    }
+
+    /**
+     * Stored samples of one algorithm. Latencies in ns, throughput in finished planes per second.
+     */
+    public static class AlgorithmRecord {
+
+        private final String name;
+        private final int planes;
+        private final double[] repMeanNs;
+        private final double[] repP99Ns;
+        private final double[] repThroughput;
+        private final Map<String, Double> percentilesNs;
+
+        public AlgorithmRecord(String name, int planes, double[] repMeanNs, double[] repP99Ns,
+                               double[] repThroughput, Map<String, Double> percentilesNs) {
+            this.name = name;
+            this.planes = planes;
+            this.repMeanNs = repMeanNs.clone();
+            this.repP99Ns = repP99Ns.clone();
+            this.repThroughput = repThroughput.clone();
+            this.percentilesNs = Collections.unmodifiableMap(new LinkedHashMap<>(percentilesNs));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getPlanes() {
+            return planes;
+        }
+
+        public double[] getRepMeanNs() {
+            return repMeanNs.clone();
+        }
+
+        public double[] getRepP99Ns() {
+            return repP99Ns.clone();
+        }
+
+        public double[] getRepThroughput() {
+            return repThroughput.clone();
+        }
+
+        public Map<String, Double> getPercentilesNs() {
+            return percentilesNs;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.airport.performance;
+
+import com.airport.common.Phase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measured repetitions of one algorithm. Each repetition keeps the raw plane latencies (ns)
+ * and the wall-clock duration of the run, so we can report per-repetition means, pooled
+ * percentiles and a confidence interval of the mean latency.
+ * Per-phase durations (see {@link Phase}) of all measured planes go into one histogram per phase.
+ */
+public class BenchmarkResult {
+
+    private final String algoName;
+    private final List<long[]> runLatencies = new ArrayList<>();
+    private final List<Long> runWallNs = new ArrayList<>();
+    private final LatencyHistogram[] phaseHistograms = new LatencyHistogram[Phase.values().length];
+
+    public BenchmarkResult(String algoName) {
+        this.algoName = algoName;
+        for (int i = 0; i < phaseHistograms.length; i++) {
+            phaseHistograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Record one phase duration; negative values (phase not applicable) are ignored.
+     */
+    public void recordPhase(Phase phase, long durationNs) {
+        phaseHistograms[phase.ordinal()].record(durationNs);
+    }
+
+    public LatencyHistogram getPhaseHistogram(Phase phase) {
+        return phaseHistograms[phase.ordinal()];
+    }
+
+    public synchronized void addRun(long[] latenciesNs, long wallNs) {
+        runLatencies.add(latenciesNs.clone());
+        runWallNs.add(wallNs);
+    }
+
+    public String getAlgoName() {
+        return algoName;
+    }
+
+    public synchronized int getRepetitions() {
+        return runLatencies.size();
+    }
+
+    public synchronized int getPlaneCount() {
+        int n = 0;
+        for (long[] run : runLatencies) n += run.length;
+        return n;
+    }
+
+    /**
+     * Mean plane latency of each repetition (ns).
+     */
+    public synchronized double[] getRunMeansNs() {
+        double[] means = new double[runLatencies.size()];
+        for (int i = 0; i < means.length; i++) {
+            long[] run = runLatencies.get(i);
+            long sum = 0;
+            for (long l : run) sum += l;
+            means[i] = run.length == 0 ? 0.0 : (double) sum / run.length;
+        }
+        return means;
+    }
+
+    /**
+     * Nearest-rank percentile of each repetition's latencies (ns).
+     */
+    public synchronized double[] getRunPercentilesNs(double p) {
+        double[] out = new double[runLatencies.size()];
+        for (int i = 0; i < out.length; i++) {
+            long[] sorted = runLatencies.get(i).clone();
+            Arrays.sort(sorted);
+            out[i] = BenchmarkStats.percentile(sorted, p);
+        }
+        return out;
+    }
+
+    /**
+     * Finished planes per second of each repetition.
+     */
+    public synchronized double[] getRunThroughputs() {
+        double[] tp = new double[runLatencies.size()];
+        for (int i = 0; i < tp.length; i++) {
+            long wall = runWallNs.get(i);
+            tp[i] = wall <= 0 ? 0.0 : runLatencies.get(i).length * 1e9 / wall;
+        }
+        return tp;
+    }
+
+    /**
+     * All measured latencies of all repetitions, sorted ascending.
+     */
+    public synchronized long[] getPooledSortedNs() {
+        long[] all = new long[getPlaneCount()];
+        int pos = 0;
+        for (long[] run : runLatencies) {
+            System.arraycopy(run, 0, all, pos, run.length);
+            pos += run.length;
+        }
+        Arrays.sort(all);
+        return all;
+    }
+
+    public double getMeanNs() {
+        return BenchmarkStats.mean(getRunMeansNs());
+    }
+
+    public double getCiHalfWidthNs() {
+        return BenchmarkStats.confidenceHalfWidth95(getRunMeansNs());
+    }
+
+    public long getPercentileNs(double p) {
+        return BenchmarkStats.percentile(getPooledSortedNs(), p);
+    }
+
+    /**
+     * True when the 95% confidence intervals of both mean latencies overlap,
+     * i.e. the benchmark cannot tell the two algorithms apart.
+     */
+    public boolean isTiedWith(BenchmarkResult other) {
+        return BenchmarkStats.intervalsOverlap(getMeanNs(), getCiHalfWidthNs(),
+                other.getMeanNs(), other.getCiHalfWidthNs());
+    }
+
+    /**
+     * One-line human readable summary (milliseconds).
+     */
+    public String summary() {
+        long[] sorted = getPooledSortedNs();
+        double ci = getCiHalfWidthNs();
+        return String.format("%s — reps: %d, planes: %d, mean: %s ± %s, p50: %s, p90: %s, p99: %s, p999: %s",
+                algoName,
+                getRepetitions(),
+                sorted.length,
+                BenchmarkStats.formatMs(getMeanNs()),
+                Double.isInfinite(ci) ? "∞" : BenchmarkStats.formatMs(ci),
+                BenchmarkStats.formatMs(BenchmarkStats.percentile(sorted, 50)),
+                BenchmarkStats.formatMs(BenchmarkStats.percentile(sorted, 90)),
+                BenchmarkStats.formatMs(BenchmarkStats.percentile(sorted, 99)),
+                BenchmarkStats.formatMs(BenchmarkStats.percentile(sorted, 99.9)));
+    }
+
+    /**
+     * Per-phase latency table (milliseconds, µs resolution).
+     */
+    public String phaseSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("  %-12s %7s %9s %9s %9s %9s %9s%n",
+                "phase", "count", "mean", "p50", "p90", "p99", "max"));
+        for (Phase phase : Phase.values()) {
+            LatencyHistogram h = getPhaseHistogram(phase);
+            sb.append(String.format("  %-12s %7d %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                    phase,
+                    h.getCount(),
+                    h.getMean() / 1e6,
+                    h.getValueAtPercentile(50) / 1e6,
+                    h.getValueAtPercentile(90) / 1e6,
+                    h.getValueAtPercentile(99) / 1e6,
+                    h.getMax() / 1e6));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,124 @@
+package com.airport.performance;
+
+/**
+ * Small statistics toolbox used by the benchmark suite:
+ * mean / standard deviation, nearest-rank percentiles, Student-t confidence intervals and
+ * Welch's t-test for comparing two sets of repetitions.
+ */
+public final class BenchmarkStats {
+
+    // Two-sided 95% Student-t critical values for df = 1..30
+    private static final double[] T_95 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    private BenchmarkStats() {
+    }
+
+    public static double mean(double[] values) {
+        if (values.length == 0) return 0.0;
+        double sum = 0.0;
+        for (double v : values) sum += v;
+        return sum / values.length;
+    }
+
+    /**
+     * Sample standard deviation (n - 1 denominator). Returns 0 for fewer than two values.
+     */
+    public static double stdDev(double[] values) {
+        if (values.length < 2) return 0.0;
+        double m = mean(values);
+        double sq = 0.0;
+        for (double v : values) sq += (v - m) * (v - m);
+        return Math.sqrt(sq / (values.length - 1));
+    }
+
+    /**
+     * Two-sided 95% critical value of Student's t distribution.
+     */
+    public static double tCritical95(int degreesOfFreedom) {
+        if (degreesOfFreedom < 1) return Double.POSITIVE_INFINITY;
+        if (degreesOfFreedom <= T_95.length) return T_95[degreesOfFreedom - 1];
+        return 1.960; // normal approximation for large samples
+    }
+
+    /**
+     * Half width of the 95% confidence interval of the mean.
+     * With a single sample the interval is unbounded (we know nothing about the noise).
+     */
+    public static double confidenceHalfWidth95(double[] values) {
+        if (values.length < 2) return Double.POSITIVE_INFINITY;
+        return tCritical95(values.length - 1) * stdDev(values) / Math.sqrt(values.length);
+    }
+
+    /**
+     * Nearest-rank percentile of an already sorted array. {@code p} is in [0, 100].
+     */
+    public static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0L;
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        rank = Math.max(1, Math.min(sorted.length, rank));
+        return sorted[rank - 1];
+    }
+
+    /**
+     * Welch's t statistic of mean(b) - mean(a) (unequal variances). 0 when it is undefined.
+     */
+    public static double welchT(double[] a, double[] b) {
+        if (a.length < 2 || b.length < 2) return 0.0;
+        double se2 = welchStandardErrorSquared(a, b);
+        double diff = mean(b) - mean(a);
+        if (se2 == 0.0) return diff == 0.0 ? 0.0 : Math.copySign(Double.POSITIVE_INFINITY, diff);
+        return diff / Math.sqrt(se2);
+    }
+
+    /**
+     * Welch–Satterthwaite degrees of freedom.
+     */
+    public static double welchDegreesOfFreedom(double[] a, double[] b) {
+        if (a.length < 2 || b.length < 2) return 0.0;
+        double va = variance(a) / a.length;
+        double vb = variance(b) / b.length;
+        double denom = va * va / (a.length - 1) + vb * vb / (b.length - 1);
+        if (denom == 0.0) return a.length + b.length - 2;
+        return (va + vb) * (va + vb) / denom;
+    }
+
+    /**
+     * Two-sided Welch test at the 95% level. Needs at least two repetitions on each side;
+     * with fewer the difference is never reported as significant.
+     */
+    public static boolean significantlyDifferent95(double[] a, double[] b) {
+        if (a.length < 2 || b.length < 2) return false;
+        double t = welchT(a, b);
+        // Rounding df down keeps the test conservative
+        return Math.abs(t) > tCritical95((int) Math.floor(welchDegreesOfFreedom(a, b)));
+    }
+
+    private static double variance(double[] values) {
+        double sd = stdDev(values);
+        return sd * sd;
+    }
+
+    private static double welchStandardErrorSquared(double[] a, double[] b) {
+        return variance(a) / a.length + variance(b) / b.length;
+    }
+
+    /**
+     * True when the two intervals [m1 - h1, m1 + h1] and [m2 - h2, m2 + h2] intersect.
+     */
+    public static boolean intervalsOverlap(double m1, double h1, double m2, double h2) {
+        return m1 - h1 <= m2 + h2 && m2 - h2 <= m1 + h1;
+    }
+
+    /**
+     * Latency for reports: 0.1 ms resolution, or µs resolution below 10 ms so that zero-delay
+     * and compressed runs do not print 0.
+     */
+    public static String formatMs(double ns) {
+        double ms = ns / 1e6;
+        return String.format(Math.abs(ms) >= 10 ? "%.1f ms" : "%.3f ms", ms);
+    }
+}
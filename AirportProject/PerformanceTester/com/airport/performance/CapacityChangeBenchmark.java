@@ -0,0 +1,196 @@
+package com.airport.performance;
+
+import com.airport.common.AirportManager;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency disruption from capacity changes under load.
+ *
+ * Worker threads fly full cycles (land, dock, take off) with short busy runway holds while a
+ * controller thread cycles through the operational changes: close a runway, open overflow gates,
+ * reopen the runway, close the overflow gates. Each algorithm runs once without changes and once
+ * with them. Reported: runway wait percentiles overall and for requests made shortly after a
+ * change, and how long the capacity call itself took.
+ *
+ * Checked: no more runways are ever in use than the airport has open at most, nobody is left
+ * blocked after the run, and all capacity is free again at the end; otherwise exit code 1.
+ *
+ * Usage: CapacityChangeBenchmark [--threads N] [--runways N] [--overflow-gates N] [--seconds N]
+ *                                [--interval-ms N] [--window-ms N] [--hold-us N]
+ *                                [--algorithms Semaphore,ReentrantLock,Monitor]
+ */
+public class CapacityChangeBenchmark {
+
+    private static class Result {
+        double cyclesPerSec;
+        int changes;
+        final LatencyHistogram wait = new LatencyHistogram();
+        final LatencyHistogram waitAfterChange = new LatencyHistogram();
+        final LatencyHistogram setCall = new LatencyHistogram();
+        String problem;
+
+        void print(String algorithm, String mode) {
+            System.out.printf("%-14s %-9s %10.0f %8d %9.1fus %9.1fus %16s %9s%n", algorithm, mode, cyclesPerSec, changes,
+                    wait.getValueAtPercentile(50) / 1e3, wait.getValueAtPercentile(99) / 1e3,
+                    changes == 0 ? "-" : String.format("%.1fus", waitAfterChange.getValueAtPercentile(99) / 1e3),
+                    changes == 0 ? "-" : String.format("%.1fus", setCall.getValueAtPercentile(99) / 1e3));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = 32;
+        int runways = 4;
+        int overflowGates = 8;
+        double seconds = 3.0;
+        long intervalMs = 25;
+        long windowMs = 5;
+        long holdUs = 50;
+        String[] algorithms = {"Semaphore", "ReentrantLock", "Monitor"};
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--runways": runways = Integer.parseInt(args[++i]); break;
+                case "--overflow-gates": overflowGates = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Double.parseDouble(args[++i]); break;
+                case "--interval-ms": intervalMs = Long.parseLong(args[++i]); break;
+                case "--window-ms": windowMs = Long.parseLong(args[++i]); break;
+                case "--hold-us": holdUs = Long.parseLong(args[++i]); break;
+                case "--algorithms": algorithms = args[++i].split(","); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (runways < 2) throw new IllegalArgumentException("need at least 2 runways to close one");
+        // One gate per thread: even with a runway closed the airport model cannot deadlock
+        int gates = threads;
+
+        System.out.printf("Capacity change benchmark: %d threads, %d runways (one closes), %d gates (+%d overflow), "
+                        + "change every %d ms, hold %d us, %.1f s%n%n",
+                threads, runways, gates, overflowGates, intervalMs, holdUs, seconds);
+        System.out.printf("%-14s %-9s %10s %8s %11s %11s %16s %9s%n",
+                "algorithm", "mode", "cycles/s", "changes", "wait p50", "wait p99", "after change p99", "set p99");
+
+        String problem = null;
+        for (String algorithm : algorithms) {
+            // Warmup, then without and with changes
+            run(algorithm, threads, runways, gates, overflowGates, seconds / 4, intervalMs, windowMs, holdUs, true);
+            Result steady = run(algorithm, threads, runways, gates, overflowGates, seconds, intervalMs, windowMs, holdUs, false);
+            Result changing = run(algorithm, threads, runways, gates, overflowGates, seconds, intervalMs, windowMs, holdUs, true);
+            String name = PerformanceTester.createManager(algorithm, 1, 1).getAlgorithmName();
+            steady.print(name, "steady");
+            changing.print(name, "changing");
+            if (problem == null) problem = steady.problem != null ? steady.problem : changing.problem;
+        }
+
+        System.out.println(problem == null
+                ? "\nNo overbooking, nobody stranded, all capacity free at the end."
+                : "\nFAILED: " + problem);
+        if (problem != null) System.exit(1);
+    }
+
+    private static Result run(String algorithm, int threads, int runways, int gates, int overflowGates,
+                              double seconds, long intervalMs, long windowMs, long holdUs,
+                              boolean changing) throws Exception {
+        AirportManager airport = PerformanceTester.createManager(algorithm, runways, gates);
+        Result result = new Result();
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder cycles = new LongAdder();
+        AtomicInteger inUse = new AtomicInteger();
+        AtomicInteger maxInUse = new AtomicInteger();
+        long holdNs = holdUs * 1_000;
+        long windowNs = windowMs * 1_000_000;
+        // Start of the last capacity change, read by the workers to attribute their waits
+        AtomicLong lastChange = new AtomicLong(Long.MIN_VALUE / 2);
+
+        Thread[] workers = new Thread[threads];
+        LatencyHistogram[] waits = new LatencyHistogram[threads];
+        LatencyHistogram[] waitsAfterChange = new LatencyHistogram[threads];
+        for (int t = 0; t < threads; t++) {
+            final int planeId = t + 1;
+            LatencyHistogram wait = waits[t] = new LatencyHistogram();
+            LatencyHistogram waitAfterChange = waitsAfterChange[t] = new LatencyHistogram();
+            workers[t] = new Thread(() -> {
+                long n = 0;
+                while (!stop.get()) {
+                    for (int leg = 0; leg < 2; leg++) {
+                        boolean arriving = leg == 0;
+                        long start = System.nanoTime();
+                        if (arriving) airport.requestRunwayForLanding(planeId);
+                        else airport.requestRunwayForTakeoff(planeId);
+                        long waited = System.nanoTime() - start;
+                        wait.record(waited);
+                        if (start - lastChange.get() < windowNs) waitAfterChange.record(waited);
+
+                        maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                        busyWait(holdNs);
+                        inUse.decrementAndGet();
+                        if (arriving) airport.finishLandingAndDock(planeId);
+                        else airport.finishTakeoff(planeId);
+                    }
+                    n++;
+                }
+                cycles.add(n);
+            }, "capacity-worker-" + planeId);
+            workers[t].setDaemon(true);
+            workers[t].start();
+        }
+
+        // Close a runway, open overflow gates, reopen the runway, close the overflow gates
+        long t0 = System.nanoTime();
+        long end = t0 + (long) (seconds * 1e9);
+        int step = 0;
+        while (System.nanoTime() < end) {
+            Thread.sleep(changing ? intervalMs : 10);
+            if (!changing) continue;
+            long callStart = System.nanoTime();
+            lastChange.set(callStart);
+            switch (step++ & 3) {
+                case 0: airport.setRunwayCapacity(runways - 1); break;
+                case 1: airport.setGateCapacity(gates + overflowGates); break;
+                case 2: airport.setRunwayCapacity(runways); break;
+                default: airport.setGateCapacity(gates); break;
+            }
+            result.setCall.record(System.nanoTime() - callStart);
+            result.changes++;
+        }
+        airport.setRunwayCapacity(runways);
+        airport.setGateCapacity(gates);
+        stop.set(true);
+
+        for (Thread w : workers) {
+            w.join(5000);
+            if (w.isAlive()) {
+                result.problem = algorithm + ": " + w.getName() + " still blocked after the run";
+                break;
+            }
+        }
+        long elapsed = System.nanoTime() - t0;
+        result.cyclesPerSec = cycles.sum() * 1e9 / elapsed;
+        for (int t = 0; t < threads; t++) {
+            result.wait.add(waits[t]);
+            result.waitAfterChange.add(waitsAfterChange[t]);
+        }
+
+        if (result.problem == null) {
+            if (maxInUse.get() > runways) {
+                result.problem = algorithm + ": " + maxInUse.get() + " runways in use at once, only " + runways + " exist";
+            } else if (airport.getFreeRunways() != runways || airport.getFreeGates() != gates) {
+                result.problem = algorithm + ": " + airport.getFreeRunways() + "/" + runways + " runways and "
+                        + airport.getFreeGates() + "/" + gates + " gates free after the run";
+            }
+        }
+        return result;
+    }
+
+    private static void busyWait(long ns) {
+        if (ns <= 0) return;
+        long end = System.nanoTime() + ns;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,452 @@
+package com.airport.performance;
+
+import com.airport.common.AirportManager;
+import com.airport.common.ServiceTimeModel;
+import com.airport.common.ServiceTimeModel.Activity;
+import com.airport.performance.AirportSimulation.Outcome;
+import com.airport.performance.AirportSimulation.QueuePolicy;
+import com.airport.performance.AirportSimulation.Workload;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Capacity planning: the cheapest (runways, gates, algorithm, queue policy) that meets a landing
+ * latency and throughput SLO for a workload.
+ *
+ * Every configuration is evaluated with {@link AirportSimulation} on a virtual clock, one
+ * simulation per replication, all on a ForkJoinPool that uses every core. The algorithms enter
+ * the model through their runway handoff cost, measured first on the real managers (median of
+ * several rounds; rounds far off the median are reported as outliers and ignored).
+ *
+ * Families (algorithm + policy) are searched in parallel, and so are the replications of every
+ * configuration. The search prunes as it goes:
+ *   - Load bounds: runway counts whose utilisation would reach 100% are skipped, and the gate
+ *     search starts at the number of gates the average dwell alone keeps busy.
+ *   - Dominance: more runways or gates are assumed never to hurt, so the fewest gates found
+ *     for one runway count is a lower bound for fewer runways, and a runway count that fails
+ *     with the most gates rules out every smaller one.
+ *   - Cost: gate counts that make a configuration dearer than the family's best are skipped.
+ *   - Early stop: the replications of one configuration share their count of landings over
+ *     budget and stop as soon as the p99 target is out of reach, when the throughput target
+ *     can no longer be met, or on the model deadlock (every runway held by a plane waiting
+ *     for a gate, every gate waiting for a runway).
+ *
+ * Usage: CapacityPlanner [--rate 2.0] [--aircraft 20000] [--replications 4] [--mix 2,8,60,30]
+ *                        [--service fixed|exponential|empirical:FILE] [--p99-ms 5000]
+ *                        [--min-throughput MOVEMENTS_PER_SEC] [--max-runways 8] [--max-gates 64]
+ *                        [--runway-cost 50] [--gate-cost 5] [--algorithms Semaphore,ReentrantLock,Monitor]
+ *                        [--policies FIFO,ARRIVALS_FIRST,PRIORITY] [--parallelism N] [--seed N]
+ *                        [--no-calibration]
+ */
+public class CapacityPlanner {
+
+    /**
+     * SLO and search limits.
+     */
+    static final class Spec {
+        double ratePerSec = 2.0;
+        int aircraft = 20_000;
+        int replications = 4;
+        int[] mix = {2, 8, 60, 30};
+        ServiceTimeModel model = ServiceTimeModel.exponential(1.0);
+        long p99BudgetNs = 5_000_000_000L;
+        double minThroughput = -1; // movements per second, default 95% of the offered load
+        int maxRunways = 8;
+        int maxGates = 64;
+        long runwayCost = 50;
+        long gateCost = 5;
+        long seed = 42;
+
+        long cost(int runways, int gates) {
+            return runways * runwayCost + gates * gateCost;
+        }
+    }
+
+    /**
+     * One algorithm + queue policy.
+     */
+    static final class Family {
+        final String algorithm;
+        final QueuePolicy policy;
+        final long handoffNs;
+        final int order;
+
+        Family(String algorithm, QueuePolicy policy, long handoffNs, int order) {
+            this.algorithm = algorithm;
+            this.policy = policy;
+            this.handoffNs = handoffNs;
+            this.order = order;
+        }
+
+        String name() {
+            return algorithm + " / " + policy;
+        }
+    }
+
+    /**
+     * Pooled result of all replications of one configuration.
+     */
+    static final class Evaluation {
+        final Family family;
+        final int runways;
+        final int gates;
+        final long cost;
+        final LatencyHistogram landing = new LatencyHistogram();
+        double throughput; // movements per second
+        boolean deadlock;
+        boolean stoppedEarly;
+        boolean passed;
+
+        Evaluation(Family family, int runways, int gates, long cost) {
+            this.family = family;
+            this.runways = runways;
+            this.gates = gates;
+            this.cost = cost;
+        }
+    }
+
+    private final Spec spec;
+    private final Workload[] workloads;
+    private final ForkJoinPool pool;
+
+    // Cheapest passing configuration over all families
+    private Evaluation best;
+
+    private final ConcurrentLinkedQueue<Evaluation> frontier = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger simulated = new AtomicInteger();
+    private final AtomicInteger prunedByDominance = new AtomicInteger();
+    private final AtomicInteger prunedByBounds = new AtomicInteger();
+    private final AtomicInteger stoppedEarly = new AtomicInteger();
+
+    public CapacityPlanner(Spec spec, ForkJoinPool pool) {
+        this.spec = spec;
+        this.pool = pool;
+        if (spec.minThroughput < 0) spec.minThroughput = 0.95 * 2 * spec.ratePerSec;
+        this.workloads = new Workload[spec.replications];
+        for (int i = 0; i < workloads.length; i++) {
+            workloads[i] = Workload.generate(spec.aircraft, spec.ratePerSec, spec.mix, spec.model, spec.seed + i);
+        }
+    }
+
+    /**
+     * Search every family in parallel; returns the cheapest passing configuration or null.
+     */
+    public Evaluation plan(List<Family> families) {
+        List<FamilySearch> searches = new ArrayList<>();
+        for (Family f : families) searches.add(new FamilySearch(f));
+        pool.invoke(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                invokeAll(searches);
+            }
+        });
+        return best;
+    }
+
+    // --- SEARCH ---
+
+    /**
+     * Walks the runway counts of one family from most to fewest. Each row binary-searches the
+     * fewest gates that pass; by dominance that count is a lower bound for the row below, and a
+     * row with no passing gate count at all ends the walk. Only the family's own results prune,
+     * so the outcome does not depend on how the pool schedules the families.
+     */
+    private final class FamilySearch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Family family;
+
+        FamilySearch(Family family) {
+            this.family = family;
+        }
+
+        @Override
+        protected void compute() {
+            double runwayNs = (spec.model.meanMs(Activity.LANDING) + spec.model.meanMs(Activity.TAKEOFF)) * 1e6
+                    + 3.0 * family.handoffNs;
+            double dwellNs = (spec.model.meanMs(Activity.DOCKING) + spec.model.meanMs(Activity.BOARDING)) * 1e6;
+            // Gates the average dwell alone keeps busy
+            int minGates = Math.max(1, (int) Math.ceil(spec.ratePerSec * dwellNs / 1e9));
+
+            int floor = minGates;
+            long familyBest = Long.MAX_VALUE;
+            for (int r = spec.maxRunways; r >= 1; r--) {
+                // Runways saturated whatever the gates, and more so with fewer of them
+                if (spec.ratePerSec * runwayNs / 1e9 >= r) {
+                    prunedByBounds.addAndGet(r * (spec.maxGates - minGates + 1));
+                    return;
+                }
+                prunedByDominance.addAndGet(floor - minGates);
+
+                int hi = spec.maxGates;
+                if (familyBest != Long.MAX_VALUE) {
+                    hi = (int) Math.min(hi, (familyBest - r * spec.runwayCost) / spec.gateCost);
+                }
+                prunedByBounds.addAndGet(spec.maxGates - Math.max(hi, floor - 1));
+
+                Evaluation fewest = null;
+                int lo = floor;
+                int top = hi;
+                while (lo <= top) {
+                    int mid = (lo + top) >>> 1;
+                    Evaluation e = new Evaluation(family, r, mid, spec.cost(r, mid));
+                    simulate(e);
+                    if (e.passed) {
+                        fewest = e;
+                        top = mid - 1;
+                    } else {
+                        lo = mid + 1;
+                    }
+                }
+
+                if (fewest == null) {
+                    if (hi == spec.maxGates) {
+                        // Not even the most gates pass: fewer runways cannot either
+                        prunedByDominance.addAndGet((r - 1) * (spec.maxGates - minGates + 1));
+                        return;
+                    }
+                    continue; // cut short by cost, the row below may still be cheaper
+                }
+                frontier.add(fewest);
+                offer(fewest);
+                floor = fewest.gates;
+                familyBest = Math.min(familyBest, fewest.cost);
+            }
+        }
+    }
+
+    private void simulate(Evaluation e) {
+        simulated.incrementAndGet();
+        int landings = spec.aircraft * workloads.length;
+        long allowedOverBudget = landings / 100; // p99
+        AtomicLong overBudget = new AtomicLong();
+
+        List<RecursiveTask<Outcome>> runs = new ArrayList<>();
+        for (Workload w : workloads) {
+            // Finishing later than this cannot reach the throughput target
+            long deadline = w.arriveNs[0] + (long) (2.0 * w.size() / spec.minThroughput * 1e9);
+            runs.add(new RecursiveTask<Outcome>() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected Outcome compute() {
+                    return new AirportSimulation(w, e.runways, e.gates, e.family.policy, e.family.handoffNs,
+                            spec.p99BudgetNs, overBudget, allowedOverBudget, deadline).run();
+                }
+            });
+        }
+        ForkJoinTask.invokeAll(runs);
+
+        long movements = 0;
+        long makespan = 0;
+        boolean complete = true;
+        for (RecursiveTask<Outcome> run : runs) {
+            Outcome o = run.join();
+            e.landing.add(o.getLanding());
+            movements += 2L * o.getCompleted();
+            makespan += o.getMakespanNs();
+            e.deadlock |= o.isDeadlock();
+            e.stoppedEarly |= o.isAborted();
+            complete &= !o.isAborted() && !o.isDeadlock();
+        }
+        if (e.stoppedEarly) stoppedEarly.incrementAndGet();
+        e.throughput = makespan == 0 ? 0 : movements * 1e9 / makespan;
+        e.passed = complete
+                && e.landing.getValueAtPercentile(99) <= spec.p99BudgetNs
+                && e.throughput >= spec.minThroughput;
+    }
+
+    // Cheaper wins; equal cost goes to the lower p99, then to the earlier family
+    private synchronized void offer(Evaluation e) {
+        if (best == null || e.cost < best.cost
+                || (e.cost == best.cost && better(e, best))) {
+            best = e;
+        }
+    }
+
+    private static boolean better(Evaluation a, Evaluation b) {
+        long pa = a.landing.getValueAtPercentile(99);
+        long pb = b.landing.getValueAtPercentile(99);
+        if (pa != pb) return pa < pb;
+        return a.family.order < b.family.order;
+    }
+
+    // --- CALIBRATION ---
+
+    static final int CALIBRATION_ROUNDS = 5;
+    // A round this many times off the median was disturbed (descheduled, GC) and is ignored
+    static final double OUTLIER_FACTOR = 10.0;
+
+    /**
+     * Handoff cost of {@link #measureHandoffNs} over several rounds, sorted: the median is used,
+     * so a single disturbed round cannot make an algorithm look saturated.
+     */
+    static long[] calibrateHandoffNs(String algorithm, int threads, long millis, int rounds) throws Exception {
+        long[] samples = new long[rounds];
+        for (int i = 0; i < rounds; i++) {
+            samples[i] = measureHandoffNs(algorithm, threads, millis);
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    static int countOutliers(long[] sorted) {
+        long median = sorted[sorted.length / 2];
+        int outliers = 0;
+        for (long s : sorted) {
+            if (s > median * OUTLIER_FACTOR || s * OUTLIER_FACTOR < median) outliers++;
+        }
+        return outliers;
+    }
+
+    /**
+     * Serialized cost of handing one runway from plane to plane on the real manager: threads
+     * cycle through a single runway with no hold time, elapsed time / handoffs.
+     */
+    static long measureHandoffNs(String algorithm, int threads, long millis) throws Exception {
+        AirportManager airport = PerformanceTester.createManager(algorithm, 1, threads + 1);
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder handoffs = new LongAdder();
+        CyclicBarrier start = new CyclicBarrier(threads + 1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int planeId = t + 1;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    return;
+                }
+                long n = 0;
+                while (!stop.get()) {
+                    airport.requestRunwayForTakeoff(planeId);
+                    airport.finishTakeoff(planeId);
+                    n++;
+                }
+                handoffs.add(n);
+            }, "calibrate-" + planeId);
+            workers[t].start();
+        }
+        start.await();
+        Thread.sleep(millis / 4); // warmup
+        long before = handoffs.sum();
+        long t0 = System.nanoTime();
+        Thread.sleep(millis);
+        stop.set(true);
+        for (Thread w : workers) w.join();
+        long elapsed = System.nanoTime() - t0;
+        long n = Math.max(1, handoffs.sum() - before);
+        return elapsed / n;
+    }
+
+    // --- MAIN ---
+
+    public static void main(String[] args) throws Exception {
+        Spec spec = new Spec();
+        String[] algorithms = {"Semaphore", "ReentrantLock", "Monitor"};
+        String[] policies = {"FIFO", "ARRIVALS_FIRST", "PRIORITY"};
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        boolean calibrate = true;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--rate": spec.ratePerSec = Double.parseDouble(args[++i]); break;
+                case "--aircraft": spec.aircraft = Integer.parseInt(args[++i]); break;
+                case "--replications": spec.replications = Integer.parseInt(args[++i]); break;
+                case "--mix": {
+                    String[] parts = args[++i].split(",");
+                    spec.mix = new int[parts.length];
+                    for (int k = 0; k < parts.length; k++) spec.mix[k] = Integer.parseInt(parts[k].trim());
+                    break;
+                }
+                case "--service": spec.model = ServiceTimeModel.parse(args[++i], 1.0); break;
+                case "--p99-ms": spec.p99BudgetNs = Math.round(Double.parseDouble(args[++i]) * 1e6); break;
+                case "--min-throughput": spec.minThroughput = Double.parseDouble(args[++i]); break;
+                case "--max-runways": spec.maxRunways = Integer.parseInt(args[++i]); break;
+                case "--max-gates": spec.maxGates = Math.min(0xFFFF, Integer.parseInt(args[++i])); break;
+                case "--runway-cost": spec.runwayCost = Long.parseLong(args[++i]); break;
+                case "--gate-cost": spec.gateCost = Long.parseLong(args[++i]); break;
+                case "--algorithms": algorithms = args[++i].split(","); break;
+                case "--policies": policies = args[++i].split(","); break;
+                case "--parallelism": parallelism = Integer.parseInt(args[++i]); break;
+                case "--seed": spec.seed = Long.parseLong(args[++i]); break;
+                case "--no-calibration": calibrate = false; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        CapacityPlanner planner = new CapacityPlanner(spec, pool);
+
+        System.out.printf("Capacity planner: %d aircraft x %d replication(s) at %.2f arrivals/s (offered %.2f movements/s)%n",
+                spec.aircraft, spec.replications, spec.ratePerSec, 2 * spec.ratePerSec);
+        System.out.printf("Service times: %s%n", spec.model.describe());
+        System.out.printf("SLO: landing p99 <= %.0f ms, throughput >= %.2f movements/s; cost = %d per runway + %d per gate%n",
+                spec.p99BudgetNs / 1e6, spec.minThroughput, spec.runwayCost, spec.gateCost);
+        System.out.printf("ForkJoinPool parallelism %d%n%n", pool.getParallelism());
+
+        // 1. Calibrate the handoff cost of each algorithm on the real managers
+        List<Family> families = new ArrayList<>();
+        System.out.printf("%-16s %14s %14s %14s%n", "algorithm", "handoff", "min", "max");
+        for (String algorithm : algorithms) {
+            long[] samples = calibrate
+                    ? calibrateHandoffNs(algorithm, Math.max(2, parallelism), 200, CALIBRATION_ROUNDS)
+                    : new long[1];
+            long handoffNs = samples[samples.length / 2];
+            String name = PerformanceTester.createManager(algorithm, 1, 1).getAlgorithmName();
+            System.out.printf("%-16s %12.2fus %12.2fus %12.2fus%n", name, handoffNs / 1e3,
+                    samples[0] / 1e3, samples[samples.length - 1] / 1e3);
+            int outliers = countOutliers(samples);
+            if (outliers > 0) {
+                System.out.printf("  warning: %d of %d calibration rounds more than %.0fx off the median, ignored%n",
+                        outliers, samples.length, OUTLIER_FACTOR);
+            }
+            for (String p : policies) {
+                families.add(new Family(name, QueuePolicy.valueOf(p.trim()), handoffNs, families.size()));
+            }
+        }
+
+        // 2. Search
+        long t0 = System.nanoTime();
+        Evaluation best = planner.plan(families);
+        long wallNs = System.nanoTime() - t0;
+
+        // 3. Report
+        List<Evaluation> rows = new ArrayList<>(planner.frontier);
+        rows.sort(Comparator.<Evaluation>comparingInt(e -> e.family.order).thenComparingInt(e -> e.runways));
+        System.out.printf("%nFewest gates meeting the SLO per runway count%n");
+        System.out.printf("%-32s %8s %6s %7s %10s %10s%n", "algorithm / policy", "runways", "gates", "cost", "p99 ms", "mov/s");
+        for (Evaluation e : rows) {
+            System.out.printf("%-32s %8d %6d %7d %10.1f %10.2f%n", e.family.name(), e.runways, e.gates, e.cost,
+                    e.landing.getValueAtPercentile(99) / 1e6, e.throughput);
+        }
+
+        System.out.printf("%nSearch: %d configurations simulated, %d pruned by dominance, %d by load or cost bounds, "
+                        + "%d stopped early; %.2f s wall%n",
+                planner.simulated.get(), planner.prunedByDominance.get(), planner.prunedByBounds.get(),
+                planner.stoppedEarly.get(), wallNs / 1e9);
+
+        if (best == null) {
+            System.out.printf("%nNo configuration up to %d runway(s) and %d gate(s) meets the SLO.%n",
+                    spec.maxRunways, spec.maxGates);
+            System.exit(1);
+        }
+        System.out.printf("%nCheapest: %s, %d runway(s), %d gate(s), cost %d: landing p99 %.1f ms, %.2f movements/s%n",
+                best.family.name(), best.runways, best.gates, best.cost,
+                best.landing.getValueAtPercentile(99) / 1e6, best.throughput);
+    }
+}
@@ -0,0 +1,221 @@
+package com.airport.performance;
+
+import com.airport.common.AirportManager;
+import com.airport.common.FlightStore;
+import com.airport.common.Phase;
+import com.airport.common.PriorityClass;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Million-flight simulation on a {@link FlightStore}, without an object per flight.
+ *
+ * The whole schedule (type, priority class) is written into the store up front. A fixed pool of
+ * worker threads then claims aircraft rotations from a shared cursor: flight 2k is the arrival
+ * of an aircraft and flight 2k+1 its departure from the gate it docked at, so gates always turn
+ * over and the run cannot deadlock on a full apron. Workers only write timestamps into the store;
+ * the hot loop allocates nothing besides what the managers do internally. Runway holds and gate
+ * dwell are busy waits of a few microseconds, a compressed virtual day.
+ *
+ * Per algorithm the report shows flights per second, latency and per-phase percentiles (scanned
+ * from the store after the run), and the GC activity during the run.
+ *
+ * Usage: FleetSimulation [--flights N] [--workers N] [--runways N] [--gates N]
+ *                        [--hold-us N] [--dwell-us N] [--mix 2,8,60,30] [--seed N]
+ *                        [--algorithms Semaphore,ReentrantLock,Monitor]
+ */
+public class FleetSimulation {
+
+    private final AirportManager airport;
+    private final FlightStore store;
+    private final int workers;
+    private final long holdNs;
+    private final long dwellNs;
+
+    public FleetSimulation(AirportManager airport, FlightStore store, int workers, long holdUs, long dwellUs) {
+        this.airport = airport;
+        this.store = store;
+        this.workers = workers;
+        this.holdNs = holdUs * 1_000;
+        this.dwellNs = dwellUs * 1_000;
+    }
+
+    /**
+     * Fill the store with {@code flights} flights: alternating arrival / departure of the same
+     * aircraft, priority classes drawn from {@code mix} (percent per class).
+     */
+    public static void schedule(FlightStore store, int flights, int[] mix, long seed) {
+        store.clear();
+        SplittableRandom random = new SplittableRandom(seed);
+        PriorityClass[] classes = PriorityClass.values();
+        for (int f = 0; f < flights; f++) {
+            boolean arriving = (f & 1) == 0;
+            PriorityClass pc = PriorityClass.SCHEDULED;
+            if (arriving) {
+                int r = random.nextInt(100);
+                for (int k = 0; k < classes.length && k < mix.length; k++) {
+                    r -= mix[k];
+                    if (r < 0) {
+                        pc = classes[k];
+                        break;
+                    }
+                }
+            } else {
+                pc = store.getPriority(f - 1); // the departure keeps its aircraft's class
+            }
+            store.add(f / 2 + 1, arriving, pc);
+        }
+    }
+
+    /**
+     * Fly every scheduled flight; returns the wall-clock time in ns.
+     */
+    public long run() throws Exception {
+        int flights = store.size();
+        AtomicInteger cursor = new AtomicInteger();
+        CyclicBarrier start = new CyclicBarrier(workers + 1);
+
+        Thread[] pool = new Thread[workers];
+        for (int w = 0; w < workers; w++) {
+            pool[w] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    return;
+                }
+                int f;
+                while ((f = cursor.getAndAdd(2)) < flights) {
+                    fly(f);
+                    if (f + 1 < flights) fly(f + 1);
+                }
+            }, "fleet-" + w);
+            pool[w].start();
+        }
+
+        start.await();
+        long t0 = System.nanoTime();
+        for (Thread t : pool) t.join();
+        return System.nanoTime() - t0;
+    }
+
+    private void fly(int f) {
+        int planeId = store.getPlaneId(f);
+        PriorityClass pc = store.getPriority(f);
+        store.markStart(f);
+
+        if (store.isArriving(f)) {
+            // --- ARRIVAL: land, then dock ---
+            store.markRunwayRequest(f);
+            airport.requestRunwayForLanding(planeId, pc);
+            store.markRunwayGranted(f);
+            busyWait(holdNs);
+            store.markReleaseRequest(f);
+            airport.finishLandingAndDock(planeId);
+            store.markReleaseDone(f);
+            busyWait(dwellNs);
+        } else {
+            // --- DEPARTURE: push back from the gate and take off ---
+            store.markRunwayRequest(f);
+            airport.requestRunwayForTakeoff(planeId, pc);
+            store.markRunwayGranted(f);
+            busyWait(holdNs);
+            store.markReleaseRequest(f);
+            airport.finishTakeoff(planeId);
+            store.markReleaseDone(f);
+        }
+        store.markEnd(f);
+    }
+
+    private static void busyWait(long ns) {
+        if (ns <= 0) return;
+        long end = System.nanoTime() + ns;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long ms = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+            ms += Math.max(0, gc.getCollectionTime());
+        }
+        return new long[]{count, ms};
+    }
+
+    public static void main(String[] args) throws Exception {
+        int flights = 1_000_000;
+        int workers = 64;
+        int runways = 2;
+        int gates = -1;
+        long holdUs = 5;
+        long dwellUs = 0;
+        int[] mix = {2, 8, 60, 30};
+        long seed = 42;
+        String[] algorithms = {"Semaphore", "ReentrantLock", "Monitor"};
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--flights": flights = Integer.parseInt(args[++i]); break;
+                case "--workers": workers = Integer.parseInt(args[++i]); break;
+                case "--runways": runways = Integer.parseInt(args[++i]); break;
+                case "--gates": gates = Integer.parseInt(args[++i]); break;
+                case "--hold-us": holdUs = Long.parseLong(args[++i]); break;
+                case "--dwell-us": dwellUs = Long.parseLong(args[++i]); break;
+                case "--mix":
+                    String[] parts = args[++i].split(",");
+                    mix = new int[parts.length];
+                    for (int k = 0; k < parts.length; k++) mix[k] = Integer.parseInt(parts[k].trim());
+                    break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--algorithms": algorithms = args[++i].split(","); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        // Every worker holds at most one gate, so this many can never deadlock
+        if (gates < 0) gates = Math.max(1, workers - runways + 1);
+
+        FlightStore store = new FlightStore(flights);
+        System.out.printf("Fleet simulation: %,d flights on %d workers, %d runway(s), %d gates, hold %d us, dwell %d us%n",
+                flights, workers, runways, gates, holdUs, dwellUs);
+        System.out.printf("Flight store: %,d bytes per flight, %.1f MB%n%n",
+                FlightStore.BYTES_PER_FLIGHT, (double) flights * FlightStore.BYTES_PER_FLIGHT / (1 << 20));
+        System.out.printf("%-14s %10s %12s %10s %10s %12s %12s %6s %8s%n", "algorithm", "flights", "flights/s",
+                "mean us", "p99 us", "rwy wait p99", "gate wait p99", "GCs", "GC ms");
+
+        int warmupFlights = Math.min(flights, Math.max(2, flights / 10));
+        for (String algo : algorithms) {
+            algo = algo.trim();
+
+            // Warmup on a slice of the schedule, then measure the full day
+            schedule(store, warmupFlights, mix, seed);
+            new FleetSimulation(PerformanceTester.createManager(algo, runways, gates), store, workers, holdUs, dwellUs).run();
+
+            schedule(store, flights, mix, seed);
+            long[] gc0 = gcTotals();
+            long wallNs = new FleetSimulation(PerformanceTester.createManager(algo, runways, gates),
+                    store, workers, holdUs, dwellUs).run();
+            long[] gc1 = gcTotals();
+
+            LatencyHistogram latency = new LatencyHistogram();
+            LatencyHistogram runwayWait = new LatencyHistogram();
+            LatencyHistogram gateWait = new LatencyHistogram();
+            for (int f = 0; f < store.size(); f++) {
+                latency.record(store.getLatencyNs(f));
+                runwayWait.record(store.getPhaseNs(f, Phase.RUNWAY_WAIT));
+                gateWait.record(store.getPhaseNs(f, Phase.GATE_WAIT));
+            }
+
+            System.out.printf("%-14s %10d %12.0f %10.1f %10.1f %12.1f %12.1f %6d %8d%n",
+                    algo, store.size(), store.size() * 1e9 / wallNs,
+                    latency.getMean() / 1e3, latency.getValueAtPercentile(99) / 1e3,
+                    runwayWait.getValueAtPercentile(99) / 1e3, gateWait.getValueAtPercentile(99) / 1e3,
+                    gc1[0] - gc0[0], gc1[1] - gc0[1]);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.airport.performance;
+
+import com.airport.performance.BenchmarkRecord.AlgorithmRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the benchmark suite with every algorithm in its own child JVM.
+ *
+ * In one JVM the algorithms share JIT profiles, heap and GC history and any thread a previous
+ * run left behind, so whichever runs later is measured under different conditions. Here each
+ * (algorithm, fork) pair is a fresh {@code java} process started with the same class path and
+ * fixed heap and GC flags (the default pins G1 and the heap size, so the JVM's ergonomics do not
+ * pick a different collector on a small machine). The child runs the normal headless suite for
+ * its one algorithm and prints its {@link BenchmarkRecord} as a single {@code RESULT {...}} line
+ * on stdout, followed by a {@code HISTOGRAM name base64} line with its plane latencies; every
+ * other line is forwarded with a {@code [algorithm#fork]} prefix.
+ *
+ * Forks of one algorithm are merged: their repetitions are concatenated, so the confidence
+ * intervals include the variance between JVMs, and their latency histograms are added, so the
+ * pooled percentiles are those of all planes (to the histogram's 1% resolution). Children can
+ * run in parallel; they then share the machine's cores, which is only comparable when the suite
+ * is dominated by service-time sleeps rather than CPU. When a child fails, the others are killed.
+ */
+public class ForkedSuite {
+
+    static final String RESULT_PREFIX = "RESULT ";
+    static final String HISTOGRAM_PREFIX = "HISTOGRAM ";
+
+    public static final List<String> DEFAULT_JVM_ARGS =
+            List.of("-Xms256m", "-Xmx256m", "-XX:+UseG1GC", "-XX:+AlwaysPreTouch");
+
+    private final List<String> benchmarkArgs;
+    private final List<String> jvmArgs;
+    private final int forks;
+    private final int parallelism;
+    private final long timeoutSec;
+
+    /**
+     * @param benchmarkArgs PerformanceTester options passed to every child (iterations, service times...)
+     * @param jvmArgs       heap and GC flags of the children
+     * @param timeoutSec    a child still running after this is killed and the suite fails
+     */
+    public ForkedSuite(List<String> benchmarkArgs, List<String> jvmArgs, int forks, int parallelism, long timeoutSec) {
+        if (forks < 1 || parallelism < 1) throw new IllegalArgumentException("forks and parallelism must be >= 1");
+        this.benchmarkArgs = List.copyOf(benchmarkArgs);
+        this.jvmArgs = List.copyOf(jvmArgs);
+        this.forks = forks;
+        this.parallelism = parallelism;
+        this.timeoutSec = timeoutSec;
+    }
+
+    /**
+     * Run every algorithm in {@code forks} child JVMs and merge their results.
+     *
+     * @param configuration suite configuration of the parent, stored with the merged record
+     * @throws IOException if a child fails, times out or reports no result
+     */
+    public BenchmarkRecord run(String label, Map<String, Double> configuration, List<String> algorithms)
+            throws IOException, InterruptedException {
+        System.out.printf("Forked suite: %d algorithm(s) x %d fork(s), %d in parallel on %d core(s), JVM flags: %s%n",
+                algorithms.size(), forks, parallelism, Runtime.getRuntime().availableProcessors(),
+                String.join(" ", jvmArgs));
+
+        // Fork-major order: a slow drift of the machine spreads over all algorithms
+        List<String> tags = new ArrayList<>();
+        List<String> childAlgorithms = new ArrayList<>();
+        for (int f = 1; f <= forks; f++) {
+            for (String algorithm : algorithms) {
+                tags.add(algorithm + "#" + f);
+                childAlgorithms.add(algorithm);
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        Children processes = new Children();
+        List<Future<ChildResult>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < tags.size(); i++) {
+                String tag = tags.get(i);
+                String algorithm = childAlgorithms.get(i);
+                futures.add(pool.submit(() -> runChild(tag, algorithm, label, processes)));
+            }
+            List<ChildResult> children = new ArrayList<>();
+            for (Future<ChildResult> f : futures) {
+                try {
+                    children.add(f.get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof IOException) throw (IOException) cause;
+                    throw new IOException(cause);
+                }
+            }
+
+            Map<String, Double> config = new LinkedHashMap<>(configuration);
+            config.put("forks", (double) forks);
+            config.put("parallelism", (double) parallelism);
+            // The children's environment shows the JVM flags the numbers were measured with
+            BenchmarkRecord first = children.get(0).record;
+            return new BenchmarkRecord(label, first.getTimestamp(), first.getEnvironment(),
+                    config, merge(algorithms, children));
+        } finally {
+            // Siblings blocked reading a child's output only return once that child is gone
+            processes.destroyAll();
+            pool.shutdownNow();
+        }
+    }
+
+    // Record and latency histograms (by algorithm) printed by one child
+    private static final class ChildResult {
+        final BenchmarkRecord record;
+        final Map<String, LatencyHistogram> histograms;
+
+        ChildResult(BenchmarkRecord record, Map<String, LatencyHistogram> histograms) {
+            this.record = record;
+            this.histograms = histograms;
+        }
+    }
+
+    // Child JVMs of one suite run; once the suite is over, new ones are killed as they register
+    private static final class Children {
+        private final List<Process> processes = new ArrayList<>();
+        private boolean closed;
+
+        synchronized void register(Process process) throws IOException {
+            if (closed) {
+                process.destroyForcibly();
+                throw new IOException("suite aborted");
+            }
+            processes.add(process);
+        }
+
+        synchronized void destroyAll() {
+            closed = true;
+            for (Process p : processes) {
+                if (p.isAlive()) p.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * The line a child prints for the latencies of one algorithm (see {@link LatencyHistogram#writeTo}).
+     */
+    static String histogramLine(String algorithm, long[] latenciesNs) {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long ns : latenciesNs) h.record(ns);
+        ByteBuffer b = ByteBuffer.allocate(LatencyHistogram.maxSerializedBytes());
+        h.writeTo(b);
+        b.flip();
+        byte[] bytes = new byte[b.remaining()];
+        b.get(bytes);
+        return HISTOGRAM_PREFIX + algorithm + " " + Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private ChildResult runChild(String tag, String algorithm, String label, Children processes)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(PerformanceTester.class.getName());
+        command.addAll(benchmarkArgs);
+        command.addAll(Arrays.asList("--algorithms", algorithm, "--label", label, "--emit-result"));
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        processes.register(process);
+        Thread watchdog = new Thread(() -> {
+            try {
+                if (!process.waitFor(timeoutSec, TimeUnit.SECONDS)) process.destroyForcibly();
+            } catch (InterruptedException ignored) {
+                process.destroyForcibly(); // suite aborted
+            }
+        }, "fork-watchdog-" + tag);
+        watchdog.setDaemon(true);
+        watchdog.start();
+
+        String result = null;
+        Map<String, LatencyHistogram> histograms = new HashMap<>();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    result = line.substring(RESULT_PREFIX.length());
+                } else if (line.startsWith(HISTOGRAM_PREFIX)) {
+                    String[] parts = line.substring(HISTOGRAM_PREFIX.length()).split(" ", 2);
+                    LatencyHistogram h = new LatencyHistogram();
+                    h.readFrom(ByteBuffer.wrap(Base64.getDecoder().decode(parts[1])));
+                    histograms.put(parts[0], h);
+                } else {
+                    System.out.println("[" + tag + "] " + line);
+                }
+            }
+        }
+        int exit = process.waitFor();
+        watchdog.interrupt();
+        if (exit != 0 || result == null || !histograms.containsKey(algorithm)) {
+            throw new IOException("child JVM " + tag + " failed (exit code " + exit
+                    + (result == null ? ", no result" : histograms.containsKey(algorithm) ? "" : ", no histogram") + ")");
+        }
+        return new ChildResult(BenchmarkRecord.fromJson(result), histograms);
+    }
+
+    // Concatenate the repetitions of all forks of an algorithm, percentiles of their summed histograms
+    private static Map<String, AlgorithmRecord> merge(List<String> algorithms, List<ChildResult> children) {
+        Map<String, AlgorithmRecord> merged = new LinkedHashMap<>();
+        for (String algorithm : algorithms) {
+            int planes = 0;
+            double[] means = new double[0];
+            double[] p99s = new double[0];
+            double[] throughputs = new double[0];
+            LatencyHistogram pooled = new LatencyHistogram();
+            for (ChildResult child : children) {
+                AlgorithmRecord a = child.record.getAlgorithms().get(algorithm);
+                if (a == null) continue;
+                planes += a.getPlanes();
+                means = concat(means, a.getRepMeanNs());
+                p99s = concat(p99s, a.getRepP99Ns());
+                throughputs = concat(throughputs, a.getRepThroughput());
+                pooled.add(child.histograms.get(algorithm));
+            }
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            percentiles.put("p50", (double) pooled.getValueAtPercentile(50));
+            percentiles.put("p90", (double) pooled.getValueAtPercentile(90));
+            percentiles.put("p99", (double) pooled.getValueAtPercentile(99));
+            percentiles.put("p999", (double) pooled.getValueAtPercentile(99.9));
+            merged.put(algorithm, new AlgorithmRecord(algorithm, planes, means, p99s, throughputs, percentiles));
+        }
+        return merged;
+    }
+
+    private static double[] concat(double[] a, double[] b) {
+        double[] out = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, out, a.length, b.length);
+        return out;
+    }
+
+    /**
+     * Ranking of a merged record, in the format of {@link PerformanceTester#buildRankingText()}.
+     */
+    public static String buildRankingText(BenchmarkRecord record) {
+        List<AlgorithmRecord> list = new ArrayList<>(record.getAlgorithms().values());
+        list.sort(Comparator.comparingDouble(a -> BenchmarkStats.mean(a.getRepMeanNs())));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Benchmark Ranking (lower = better mean latency, 95% CI, across forks):\n\n");
+
+        int rank = 0;
+        AlgorithmRecord previous = null;
+        for (int i = 0; i < list.size(); i++) {
+            AlgorithmRecord a = list.get(i);
+            boolean tie = previous != null && tied(a, previous);
+            if (!tie) rank = i + 1;
+            double ci = BenchmarkStats.confidenceHalfWidth95(a.getRepMeanNs());
+            Map<String, Double> p = a.getPercentilesNs();
+            sb.append(String.format("%d%s) %s — reps: %d, planes: %d, mean: %s ± %s, p50: %s, p99: %s%n",
+                    rank, tie ? "=" : "", a.getName(), a.getRepMeanNs().length, a.getPlanes(),
+                    BenchmarkStats.formatMs(BenchmarkStats.mean(a.getRepMeanNs())),
+                    Double.isInfinite(ci) ? "∞" : BenchmarkStats.formatMs(ci),
+                    BenchmarkStats.formatMs(p.getOrDefault("p50", 0.0)),
+                    BenchmarkStats.formatMs(p.getOrDefault("p99", 0.0))));
+            previous = a;
+        }
+
+        if (list.size() > 1 && tied(list.get(0), list.get(1))) {
+            sb.append("\nTop ranks overlap: the difference is within measurement noise.\n");
+        }
+        return sb.toString();
+    }
+
+    private static boolean tied(AlgorithmRecord a, AlgorithmRecord b) {
+        return BenchmarkStats.intervalsOverlap(
+                BenchmarkStats.mean(a.getRepMeanNs()), BenchmarkStats.confidenceHalfWidth95(a.getRepMeanNs()),
+                BenchmarkStats.mean(b.getRepMeanNs()), BenchmarkStats.confidenceHalfWidth95(b.getRepMeanNs()));
+    }
+}
@@ -0,0 +1,116 @@
+package com.airport.performance;
+
+import com.airport.common.AirportManager;
+import com.airport.common.GatePool;
+import com.airport.common.WaitStrategy;
+import com.airport.lock.LockAirport;
+import com.airport.monitor.MonitorAirport;
+import com.airport.semaphore.SemaphoreAirport;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scaling benchmark for the terminal gate pool, 100 to 1,000 gates.
+ *
+ * Every thread loops over a full plane cycle with no sleeps (land, dock, take off, leave)
+ * against an airport with plenty of runways, so the gate bookkeeping is the shared hot spot.
+ * Each algorithm is measured with its built-in gate counter (same lock as the runways) and
+ * with a GatePool split into 1, 4 and 16 terminals.
+ *
+ * Usage: GatePoolBenchmark [--threads N] [--seconds N] [--gates 100,250,500,1000]
+ */
+public class GatePoolBenchmark {
+
+    private static final String[] ALGORITHMS = {"Semaphore", "ReentrantLock", "Monitor"};
+    private static final int[] TERMINALS = {0, 1, 4, 16}; // 0 = built-in gate counter
+
+    public static void main(String[] args) throws Exception {
+        int threads = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+        double seconds = 1.0;
+        int[] gateCounts = {100, 250, 500, 1000};
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Double.parseDouble(args[++i]); break;
+                case "--gates":
+                    String[] parts = args[++i].split(",");
+                    gateCounts = new int[parts.length];
+                    for (int k = 0; k < parts.length; k++) gateCounts[k] = Integer.parseInt(parts[k].trim());
+                    break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        System.out.printf("Gate pool benchmark: %d threads, %.1f s per measurement%n%n", threads, seconds);
+        System.out.printf("%-14s %6s %-12s %14s%n", "algorithm", "gates", "gate model", "cycles/s");
+
+        for (int gates : gateCounts) {
+            for (String algo : ALGORITHMS) {
+                for (int terminals : TERMINALS) {
+                    // Warmup, then measure
+                    run(algo, gates, terminals, threads, seconds / 4);
+                    double cyclesPerSec = run(algo, gates, terminals, threads, seconds);
+                    System.out.printf("%-14s %6d %-12s %14.0f%n", algo, gates,
+                            terminals == 0 ? "single lock" : terminals + " terminal" + (terminals > 1 ? "s" : ""),
+                            cyclesPerSec);
+                }
+            }
+            System.out.println();
+        }
+    }
+
+    private static AirportManager create(String algo, int gates, int terminals) {
+        // Enough runways that runway waits don't dominate
+        int runways = Math.max(1, gates / 4);
+        if (terminals == 0) return PerformanceTester.createManager(algo, runways, gates, WaitStrategy.PARK);
+
+        GatePool pool = new GatePool(gates, terminals);
+        switch (algo) {
+            case "Semaphore":
+                return new SemaphoreAirport(runways, pool);
+            case "ReentrantLock":
+                return new LockAirport(runways, pool);
+            default:
+                return new MonitorAirport(runways, pool);
+        }
+    }
+
+    private static double run(String algo, int gates, int terminals, int threads, double seconds) throws Exception {
+        AirportManager airport = create(algo, gates, terminals);
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder cycles = new LongAdder();
+        CyclicBarrier start = new CyclicBarrier(threads + 1);
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int planeId = t + 1;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    return;
+                }
+                long n = 0;
+                while (!stop.get()) {
+                    airport.requestRunwayForLanding(planeId);
+                    airport.finishLandingAndDock(planeId);
+                    airport.requestRunwayForTakeoff(planeId);
+                    airport.finishTakeoff(planeId);
+                    n++;
+                }
+                cycles.add(n);
+            }, "gate-bench-" + planeId);
+            workers[t].start();
+        }
+
+        start.await();
+        long t0 = System.nanoTime();
+        Thread.sleep((long) (seconds * 1000));
+        stop.set(true);
+        for (Thread w : workers) w.join();
+        return cycles.sum() * 1e9 / (System.nanoTime() - t0);
+    }
+}
@@ -0,0 +1,124 @@
+package com.airport.performance;
+
+import com.airport.common.AdaptiveSpinner;
+import com.airport.common.AirportManager;
+import com.airport.common.WaitStrategy;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runway handoff micro-benchmark: PARK vs SPIN_THEN_PARK for each implementation.
+ *
+ * Every thread loops over a full cycle with no sleeps (land, dock, take off, leave) and holds
+ * the runway for a configurable busy time, which models a virtual-clock simulation with short
+ * runway holds. For each combination we report handoffs per second and CPU time per handoff,
+ * so it is visible both where spinning wins (short holds) and where it only burns CPU (long holds).
+ *
+ * Plain Java harness (one warmup pass per measurement); the project has no JMH dependency.
+ *
+ * Usage: HandoffBenchmark [--threads N] [--runways N] [--seconds N] [--holds-us 0,5,50,500]
+ */
+public class HandoffBenchmark {
+
+    private static final String[] ALGORITHMS = {"Semaphore", "ReentrantLock", "Monitor"};
+
+    public static void main(String[] args) throws Exception {
+        int threads = 4;
+        int runways = 1;
+        double seconds = 2.0;
+        long[] holdsUs = {0, 5, 50, 500};
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--runways": runways = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Double.parseDouble(args[++i]); break;
+                case "--holds-us":
+                    String[] parts = args[++i].split(",");
+                    holdsUs = new long[parts.length];
+                    for (int k = 0; k < parts.length; k++) holdsUs[k] = Long.parseLong(parts[k].trim());
+                    break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        System.out.printf("Handoff benchmark: %d threads, %d runway(s), %.1f s per measurement, spin cap %d%n%n",
+                threads, runways, seconds, AdaptiveSpinner.getMaxSpins());
+        System.out.printf("%-14s %-15s %8s %14s %14s%n", "algorithm", "strategy", "hold us", "handoffs/s", "cpu us/handoff");
+
+        for (long holdUs : holdsUs) {
+            for (String algo : ALGORITHMS) {
+                for (WaitStrategy strategy : WaitStrategy.values()) {
+                    // Warmup, then measure
+                    run(algo, strategy, threads, runways, holdUs, seconds / 4);
+                    double[] r = run(algo, strategy, threads, runways, holdUs, seconds);
+                    System.out.printf("%-14s %-15s %8d %14.0f %14.2f%n", algo, strategy, holdUs, r[0], r[1]);
+                }
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * @return {handoffs per second, CPU microseconds per handoff}
+     */
+    private static double[] run(String algo, WaitStrategy strategy, int threads, int runways,
+                                long holdUs, double seconds) throws Exception {
+        // One gate per thread: every cycle docks then frees the gate again on takeoff
+        AirportManager airport = PerformanceTester.createManager(algo, runways, threads, strategy);
+        ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder handoffs = new LongAdder();
+        LongAdder cpuNs = new LongAdder();
+        CyclicBarrier start = new CyclicBarrier(threads + 1);
+        long holdNs = holdUs * 1_000;
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int planeId = t + 1;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    return;
+                }
+                long cpu0 = mx.getCurrentThreadCpuTime();
+                long n = 0;
+                while (!stop.get()) {
+                    airport.requestRunwayForLanding(planeId);
+                    busyWait(holdNs);
+                    airport.finishLandingAndDock(planeId);
+                    airport.requestRunwayForTakeoff(planeId);
+                    busyWait(holdNs);
+                    airport.finishTakeoff(planeId);
+                    n += 2;
+                }
+                handoffs.add(n);
+                cpuNs.add(mx.getCurrentThreadCpuTime() - cpu0);
+            }, "handoff-" + planeId);
+            workers[t].start();
+        }
+
+        start.await();
+        long t0 = System.nanoTime();
+        Thread.sleep((long) (seconds * 1000));
+        stop.set(true);
+        for (Thread w : workers) w.join();
+        long elapsed = System.nanoTime() - t0;
+
+        long n = Math.max(1, handoffs.sum());
+        return new double[]{n * 1e9 / elapsed, cpuNs.sum() / 1e3 / n};
+    }
+
+    private static void busyWait(long ns) {
+        if (ns <= 0) return;
+        long end = System.nanoTime() + ns;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
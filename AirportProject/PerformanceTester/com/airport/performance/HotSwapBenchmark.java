@@ -0,0 +1,168 @@
+package com.airport.performance;
+
+import com.airport.common.AirportManager;
+import com.airport.common.SwitchableAirport;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live algorithm swaps under load.
+ *
+ * Worker threads fly full cycles (land, dock, take off) and some stand-alone departures through a
+ * {@link SwitchableAirport}, with short busy runway holds, while a swapper rotates the
+ * implementation every few milliseconds. Reported: swap pause percentiles (how long new requests
+ * were held back), waiters moved per swap and cycles per second compared to a run without swaps.
+ *
+ * After the run every worker must have finished (nobody stranded in a retired manager) and the
+ * final manager's occupancy must match the facade's ledger; otherwise the process exits with 1.
+ *
+ * Usage: HotSwapBenchmark [--threads N] [--runways N] [--seconds N] [--interval-ms N] [--hold-us N]
+ */
+public class HotSwapBenchmark {
+
+    private static final String[] ALGORITHMS = {"Semaphore", "ReentrantLock", "Monitor"};
+
+    public static void main(String[] args) throws Exception {
+        int threads = 64;
+        int runways = 2;
+        double seconds = 3.0;
+        long intervalMs = 20;
+        long holdUs = 20;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--runways": runways = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Double.parseDouble(args[++i]); break;
+                case "--interval-ms": intervalMs = Long.parseLong(args[++i]); break;
+                case "--hold-us": holdUs = Long.parseLong(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        // Enough gates that the airport model itself cannot deadlock
+        int gates = threads - runways + 1;
+
+        System.out.printf("Hot swap benchmark: %d threads, %d runway(s), %d gates, swap every %d ms, hold %d us, %.1f s%n%n",
+                threads, runways, gates, intervalMs, holdUs, seconds);
+
+        // Warmup, then without and with swaps
+        run(threads, runways, gates, seconds / 4, intervalMs, holdUs, true);
+        Result base = run(threads, runways, gates, seconds, 0, holdUs, false);
+        Result swapped = run(threads, runways, gates, seconds, intervalMs, holdUs, true);
+
+        System.out.printf("%-22s %12s %8s %10s %10s %10s %14s%n",
+                "run", "cycles/s", "swaps", "pause p50", "pause p99", "pause max", "waiters/swap");
+        base.print("no swaps");
+        swapped.print("swap every " + intervalMs + " ms");
+
+        boolean ok = base.ok && swapped.ok;
+        System.out.println(ok ? "\nNo plane stranded, ledger matches the final manager."
+                : "\nFAILED: " + (base.ok ? swapped.problem : base.problem));
+        if (!ok) System.exit(1);
+    }
+
+    private static class Result {
+        double cyclesPerSec;
+        int swaps;
+        LatencyHistogram pauses = new LatencyHistogram();
+        double waitersPerSwap;
+        boolean ok = true;
+        String problem;
+
+        void print(String name) {
+            if (swaps == 0) {
+                System.out.printf("%-22s %12.0f %8d %10s %10s %10s %14s%n", name, cyclesPerSec, 0, "-", "-", "-", "-");
+            } else {
+                System.out.printf("%-22s %12.0f %8d %8.1fus %8.1fus %8.1fus %14.1f%n", name, cyclesPerSec, swaps,
+                        pauses.getValueAtPercentile(50) / 1e3, pauses.getValueAtPercentile(99) / 1e3,
+                        pauses.getMax() / 1e3, waitersPerSwap);
+            }
+        }
+    }
+
+    private static Result run(int threads, int runways, int gates, double seconds, long intervalMs,
+                              long holdUs, boolean swapping) throws Exception {
+        SwitchableAirport airport = new SwitchableAirport(PerformanceTester.createManager(ALGORITHMS[0], runways, gates));
+        LongAdder cycles = new LongAdder();
+        long holdNs = holdUs * 1_000;
+        AtomicBoolean stop = new AtomicBoolean();
+        Result result = new Result();
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int planeId = t + 1;
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long n = 0;
+                while (!stop.get()) {
+                    if (random.nextInt(5) != 0) {
+                        airport.requestRunwayForLanding(planeId);
+                        busyWait(holdNs);
+                        airport.finishLandingAndDock(planeId);
+                    }
+                    airport.requestRunwayForTakeoff(planeId);
+                    busyWait(holdNs);
+                    airport.finishTakeoff(planeId);
+                    n++;
+                }
+                cycles.add(n);
+            }, "swap-worker-" + planeId);
+            workers[t].setDaemon(true);
+            workers[t].start();
+        }
+
+        long t0 = System.nanoTime();
+        long end = t0 + (long) (seconds * 1e9);
+        long waitersMoved = 0;
+        int next = 1;
+        while (System.nanoTime() < end) {
+            Thread.sleep(swapping ? intervalMs : 10);
+            if (!swapping) continue;
+            AirportManager fresh = PerformanceTester.createManager(ALGORITHMS[next++ % ALGORITHMS.length], runways, gates);
+            SwitchableAirport.SwapReport report = airport.swap(fresh);
+            result.pauses.record(report.getPauseNs());
+            waitersMoved += report.getWaitersMoved();
+        }
+        stop.set(true);
+
+        for (Thread w : workers) {
+            w.join(5000);
+            if (w.isAlive()) {
+                result.ok = false;
+                result.problem = w.getName() + " still blocked after the run (stranded plane)";
+                break;
+            }
+        }
+        long elapsed = System.nanoTime() - t0;
+
+        result.swaps = airport.getSwapCount();
+        result.cyclesPerSec = cycles.sum() * 1e9 / elapsed;
+        result.waitersPerSwap = result.swaps == 0 ? 0 : (double) waitersMoved / result.swaps;
+
+        if (result.ok) {
+            AirportManager last = airport.getCurrent();
+            int runwaysInUse = last.getTotalRunways() - last.getFreeRunways();
+            int gatesInUse = last.getTotalGates() - last.getFreeGates();
+            if (runwaysInUse != 0 || airport.getRunwaysInUse() != 0) {
+                result.ok = false;
+                result.problem = runwaysInUse + " runway(s) still held by " + last.getAlgorithmName()
+                        + ", ledger says " + airport.getRunwaysInUse();
+            } else if (gatesInUse != airport.getGatesOccupied()) {
+                result.ok = false;
+                result.problem = gatesInUse + " gate(s) occupied in " + last.getAlgorithmName()
+                        + ", ledger says " + airport.getGatesOccupied();
+            }
+        }
+        return result;
+    }
+
+    private static void busyWait(long ns) {
+        if (ns <= 0) return;
+        long end = System.nanoTime() + ns;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
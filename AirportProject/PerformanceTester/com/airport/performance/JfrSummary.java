@@ -0,0 +1,117 @@
+package com.airport.performance;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Turns a JFR recording into per-phase latency tables.
+ *
+ * The airport events (com.airport.RunwayRequest, GateWait, Dock, Takeoff) are grouped by
+ * algorithm, movement and priority class; each group gets count / mean / p50 / p90 / p99 / max
+ * of the event duration. The lock contention events of the JDK (monitor enter, monitor wait,
+ * thread park) are summed up underneath, to relate airport waits to the JVM's view.
+ *
+ * Usage: JfrSummary RECORDING.jfr
+ */
+public class JfrSummary {
+
+    private static final String PREFIX = "com.airport.";
+    private static final String[] CONTENTION = {"jdk.JavaMonitorEnter", "jdk.JavaMonitorWait", "jdk.ThreadPark"};
+
+    /**
+     * Start a recording with the bundled airport.jfc settings (written to {@code destination} on stop).
+     */
+    public static Recording startRecording(Path destination) throws IOException, ParseException {
+        try (InputStream in = JfrSummary.class.getResourceAsStream("airport.jfc")) {
+            if (in == null) throw new IOException("airport.jfc not found on the classpath");
+            Configuration config = Configuration.create(new InputStreamReader(in, StandardCharsets.UTF_8));
+            Recording recording = new Recording(config);
+            recording.setName("airport");
+            recording.setDestination(destination);
+            recording.start();
+            return recording;
+        }
+    }
+
+    public static String summarize(Path recording) throws IOException {
+        // event -> group -> durations
+        Map<String, Map<String, LatencyHistogram>> phases = new TreeMap<>();
+        Map<String, long[]> contention = new TreeMap<>(); // event -> {count, total ns}
+
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent e = file.readEvent();
+                String name = e.getEventType().getName();
+                long ns = e.getDuration().toNanos();
+
+                if (name.startsWith(PREFIX)) {
+                    phases.computeIfAbsent(name.substring(PREFIX.length()), k -> new TreeMap<>())
+                            .computeIfAbsent(groupOf(e), k -> new LatencyHistogram())
+                            .record(ns);
+                } else {
+                    for (String c : CONTENTION) {
+                        if (c.equals(name)) {
+                            long[] acc = contention.computeIfAbsent(name, k -> new long[2]);
+                            acc[0]++;
+                            acc[1] += ns;
+                        }
+                    }
+                }
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("JFR summary of ").append(recording).append(" (durations in us)\n");
+        if (phases.isEmpty()) {
+            sb.append("\nNo airport events found (record with airport.jfc).\n");
+        }
+        for (Map.Entry<String, Map<String, LatencyHistogram>> phase : phases.entrySet()) {
+            sb.append('\n').append(phase.getKey()).append('\n');
+            sb.append(String.format("  %-40s %8s %12s %12s %12s %12s %12s%n",
+                    "algorithm / movement / priority", "count", "mean", "p50", "p90", "p99", "max"));
+            for (Map.Entry<String, LatencyHistogram> g : phase.getValue().entrySet()) {
+                LatencyHistogram h = g.getValue();
+                sb.append(String.format("  %-40s %8d %12.1f %12.1f %12.1f %12.1f %12.1f%n",
+                        g.getKey(), h.getCount(), h.getMean() / 1e3,
+                        h.getValueAtPercentile(50) / 1e3, h.getValueAtPercentile(90) / 1e3,
+                        h.getValueAtPercentile(99) / 1e3, h.getMax() / 1e3));
+            }
+        }
+
+        if (!contention.isEmpty()) {
+            sb.append("\nJVM contention (events above the recording threshold)\n");
+            for (Map.Entry<String, long[]> c : contention.entrySet()) {
+                sb.append(String.format("  %-40s %8d events, %10.1f ms total%n",
+                        c.getKey(), c.getValue()[0], c.getValue()[1] / 1e6));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String groupOf(RecordedEvent e) {
+        StringBuilder key = new StringBuilder();
+        key.append(e.hasField("algorithm") ? e.getString("algorithm") : "?");
+        if (e.hasField("movement")) key.append(" / ").append(e.getString("movement"));
+        if (e.hasField("priority")) key.append(" / ").append(e.getString("priority"));
+        return key.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("Usage: JfrSummary RECORDING.jfr");
+            System.exit(2);
+        }
+        System.out.print(summarize(Path.of(args[0])));
+    }
+}
@@ -0,0 +1,159 @@
+package com.airport.performance;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, HDR-style log-linear histogram of nanosecond values.
+ *
+ * Values below 256 ns are counted exactly; above that every power-of-two range is split into
+ * 128 linear sub-buckets, which bounds the relative error to under 1%. All storage is a single
+ * preallocated AtomicLongArray, so recording allocates nothing and is safe from many threads.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;      // 128
+    private static final int DIRECT_LIMIT = SUB_BUCKET_COUNT << 1;         // 256
+    private static final int MAX_SHIFT = 63 - SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = DIRECT_LIMIT + MAX_SHIFT * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    public void record(long valueNs) {
+        if (valueNs < 0) return;
+        counts.incrementAndGet(indexOf(valueNs));
+    }
+
+    public void recordCount(long valueNs, long count) {
+        if (valueNs < 0 || count <= 0) return;
+        counts.addAndGet(indexOf(valueNs), count);
+    }
+
+    /**
+     * Add all counts of another histogram into this one.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = other.counts.get(i);
+            if (c != 0) counts.addAndGet(i, c);
+        }
+    }
+
+    /**
+     * Upper bound of {@link #writeTo}'s output in bytes.
+     */
+    static int maxSerializedBytes() {
+        return Integer.BYTES + BUCKET_COUNT * (Integer.BYTES + Long.BYTES);
+    }
+
+    /**
+     * Write the non-empty buckets as (index, count) pairs (simulation checkpoints).
+     */
+    void writeTo(ByteBuffer b) {
+        int countPos = b.position();
+        b.putInt(0);
+        int buckets = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = counts.get(i);
+            if (c == 0) continue;
+            b.putInt(i).putLong(c);
+            buckets++;
+        }
+        b.putInt(countPos, buckets);
+    }
+
+    /**
+     * Replace the counts with those written by {@link #writeTo}.
+     */
+    void readFrom(ByteBuffer b) {
+        reset();
+        for (int k = b.getInt(); k > 0; k--) {
+            counts.set(b.getInt(), b.getLong());
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) counts.set(i, 0L);
+    }
+
+    public long getCount() {
+        long n = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) n += counts.get(i);
+        return n;
+    }
+
+    public double getMean() {
+        long n = 0;
+        double sum = 0.0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = counts.get(i);
+            if (c == 0) continue;
+            n += c;
+            sum += c * (double) midValueOf(i);
+        }
+        return n == 0 ? 0.0 : sum / n;
+    }
+
+    public long getMax() {
+        for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+            if (counts.get(i) != 0) return highestValueOf(i);
+        }
+        return 0L;
+    }
+
+    /**
+     * Nearest-rank percentile (p in [0, 100]); returns the upper bound of the matching bucket.
+     */
+    public long getValueAtPercentile(double p) {
+        long total = getCount();
+        if (total == 0) return 0L;
+        long target = Math.max(1L, (long) Math.ceil(p / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) return highestValueOf(i);
+        }
+        return getMax();
+    }
+
+    /**
+     * Visit every non-empty bucket (value = bucket upper bound).
+     */
+    public void forEachBucket(BucketVisitor visitor) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long c = counts.get(i);
+            if (c != 0) visitor.visit(highestValueOf(i), c);
+        }
+    }
+
+    public interface BucketVisitor {
+        void visit(long valueNs, long count);
+    }
+
+    // --- bucket arithmetic ---
+
+    private static int indexOf(long v) {
+        if (v < DIRECT_LIMIT) return (int) v;
+        int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BUCKET_BITS; // >= 1
+        int sub = (int) (v >>> shift) - SUB_BUCKET_COUNT;                 // 0..127
+        return DIRECT_LIMIT + (shift - 1) * SUB_BUCKET_COUNT + sub;
+    }
+
+    private static long lowestValueOf(int index) {
+        if (index < DIRECT_LIMIT) return index;
+        int shift = (index - DIRECT_LIMIT) / SUB_BUCKET_COUNT + 1;
+        int sub = (index - DIRECT_LIMIT) % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return (long) sub << shift;
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < DIRECT_LIMIT) return index;
+        int shift = (index - DIRECT_LIMIT) / SUB_BUCKET_COUNT + 1;
+        return lowestValueOf(index) + (1L << shift) - 1;
+    }
+
+    private static long midValueOf(int index) {
+        return (lowestValueOf(index) + highestValueOf(index)) >>> 1;
+    }
+}
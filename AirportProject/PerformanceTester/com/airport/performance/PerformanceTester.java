@@ -1,24 +1,52 @@
 package com.airport.performance;
 
+import com.airport.common.InstrumentedAirport;
 import com.airport.common.Plane;
+import com.airport.common.PriorityClass;
+import com.airport.common.ServiceTimeModel;
+import com.airport.common.WaitStrategy;
 import com.airport.gui.AirportFrame;
 import com.airport.lock.LockAirport;
 import com.airport.monitor.MonitorAirport;
 import com.airport.semaphore.SemaphoreAirport;
 import com.airport.common.MainController;
 import com.airport.common.AirportManager;
+import com.airport.dashboard.DashboardServer;
+import com.airport.reservation.ReservedRunwayAirport;
+import com.airport.reservation.RunwayReservationEngine;
+import com.airport.reservation.WakeCategory;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.CountDownLatch;
 
 /**
  * PerformanceTester runs a hybrid benchmark for the three implementations.
  * It runs a small number of real Plane threads per algorithm (visual + measured),
  * gathers latencies, and reports a ranking.
+ *
+ * Each suite first runs warmup rounds (discarded, lets the JIT settle) and then N measured
+ * rounds. Inside every round the three algorithms run in a freshly shuffled order so that
+ * none of them is systematically favoured by running first or last. The ranking is based
+ * on the mean latency with its 95% confidence interval; overlapping intervals are reported
+ * as a tie. Every plane also reports its per-phase breakdown (runway wait, runway hold,
+ * gate wait, service), aggregated per algorithm into histograms. Collection goes through a
+ * {@link PlaneRecorder} (own slot per plane, striped histograms), so measuring adds no
+ * contention between the planes being measured.
+ *
+ * Without a UI (ui == null) the tester runs headless and writes its report to stdout,
+ * see {@link #main(String[])}. Finished suites can be saved to a {@link ResultsStore} and
+ * compared against a stored baseline ({@link BaselineComparison}).
  */
 public class PerformanceTester {
 
+    private static final String[] ALGORITHMS = {"Semaphore", "ReentrantLock", "Monitor"};
+
+    // Airport size used by the suite
+    private static final int RUNWAYS = 1;
+    private static final int GATES = 3;
+
     private final AirportFrame ui;
     private volatile boolean running = false;
 
@@ -26,167 +54,678 @@ public class PerformanceTester {
     private final int arrivalsPerRun;
     private final int departuresPerRun;
 
-    // Results aggregated per algorithm (average latency in ns)
-    private final Map<String, Long> resultsNs = Collections.synchronizedMap(new HashMap<>());
+    // Repetitions
+    private final int warmupIterations;
+    private final int measuredIterations;
+
+    private final Random random = new Random();
+
+    // Plane durations; the spawn gap and the pause between runs are compressed with it
+    private volatile ServiceTimeModel serviceTimes;
+
+    // Manager of the run in progress (read by the optional HTTP dashboard)
+    private volatile AirportManager currentManager;
+    private volatile boolean instrumented = false;
+
+    // Arrivals turn around and leave from their own gate; no stand-alone departures
+    private volatile boolean turnaround = false;
+
+    // Every movement books a runway slot first (ReservedRunwayAirport around the manager)
+    private volatile boolean reservations = false;
+
+    // Algorithms of the suite (a forked child runs just one)
+    private volatile List<String> algorithms = List.of(ALGORITHMS);
+
+    // Allocation profiling: bytes per plane lifecycle, peak heap and threads (measured rounds)
+    private volatile boolean allocationProfiling = false;
+    private final Map<String, long[]> allocations = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    // Results aggregated per algorithm (measured repetitions, latencies in ns)
+    private final Map<String, BenchmarkResult> resultsNs = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    // Where finished suites are saved (null = not persisted)
+    private volatile ResultsStore resultsStore;
 
     public PerformanceTester(AirportFrame ui, int arrivalsPerRun, int departuresPerRun) {
+        this(ui, arrivalsPerRun, departuresPerRun, 1, 3);
+    }
+
+    public PerformanceTester(AirportFrame ui, int arrivalsPerRun, int departuresPerRun,
+                             int warmupIterations, int measuredIterations) {
+        this(ui, arrivalsPerRun, departuresPerRun, warmupIterations, measuredIterations, ServiceTimeModel.DEFAULT);
+    }
+
+    /**
+     * @throws IllegalArgumentException if there are more arrivals than gates: a plain arrival stays
+     *         docked (stand-alone departures hold no gate and free none), so the extra ones never dock
+     */
+    public PerformanceTester(AirportFrame ui, int arrivalsPerRun, int departuresPerRun,
+                             int warmupIterations, int measuredIterations, ServiceTimeModel serviceTimes) {
+        if (arrivalsPerRun > GATES) {
+            throw new IllegalArgumentException("at most " + GATES + " arrivals per run (one per gate), got "
+                    + arrivalsPerRun);
+        }
         this.ui = ui;
+        this.serviceTimes = serviceTimes;
         this.arrivalsPerRun = arrivalsPerRun;
         this.departuresPerRun = departuresPerRun;
+        this.warmupIterations = Math.max(0, warmupIterations);
+        this.measuredIterations = Math.max(1, measuredIterations);
     }
 
     public boolean isRunning() {
         return running;
     }
 
+    public AirportManager getCurrentManager() {
+        return currentManager;
+    }
+
+    /**
+     * Wrap every benchmarked manager in an InstrumentedAirport so queue depths and
+     * throughput can be observed (used when the HTTP dashboard is enabled).
+     */
+    public void setInstrumented(boolean instrumented) {
+        this.instrumented = instrumented;
+    }
+
+    /**
+     * Fly every arrival as a full turnaround ({@link Plane#turnaround}) instead of spawning
+     * separate departures, so each gate is released by the plane that occupied it.
+     *
+     * @throws IllegalArgumentException if the arrivals could deadlock the airport (more than
+     *         gates + runways - 1 of them: all gates waiting for a runway held by a plane waiting for a gate)
+     */
+    public void setTurnaround(boolean turnaround) {
+        if (turnaround && arrivalsPerRun > GATES + RUNWAYS - 1) {
+            throw new IllegalArgumentException("turnaround mode supports at most " + (GATES + RUNWAYS - 1)
+                    + " arrivals per run, got " + arrivalsPerRun);
+        }
+        this.turnaround = turnaround;
+    }
+
+    /**
+     * Restrict the suite to some of the algorithms (names as in {@link #createManager(String)}).
+     */
+    public void setAlgorithms(List<String> algorithms) {
+        if (algorithms.isEmpty()) throw new IllegalArgumentException("no algorithm selected");
+        for (String algo : algorithms) {
+            if (!Arrays.asList(ALGORITHMS).contains(algo)) {
+                throw new IllegalArgumentException("Unknown algorithm: " + algo);
+            }
+        }
+        this.algorithms = List.copyOf(algorithms);
+    }
+
+    public List<String> getAlgorithms() {
+        return algorithms;
+    }
+
     /**
-     * Run all three algorithms sequentially (Semaphore, ReentrantLock, Monitor)
+     * Record the bytes every plane thread allocates (com.sun.management.ThreadMXBean), the
+     * spawning cost, and peak heap and thread count per run. Each run then starts with a GC.
+     *
+     * @throws UnsupportedOperationException if the JVM has no per-thread allocation counter
+     */
+    public void setAllocationProfiling(boolean allocationProfiling) {
+        if (allocationProfiling && !AllocationProbe.isSupported()) {
+            throw new UnsupportedOperationException("this JVM has no per-thread allocation counter");
+        }
+        this.allocationProfiling = allocationProfiling;
+    }
+
+    /**
+     * Wrap every benchmarked manager in a {@link ReservedRunwayAirport}: each landing and takeoff
+     * books a wake-separated slot and waits for it before queueing. Separations are scaled so
+     * that 60 s of real separation lasts one landing of the service time model.
+     */
+    public void setReservations(boolean reservations) {
+        this.reservations = reservations;
+    }
+
+    public ServiceTimeModel getServiceTimes() {
+        return serviceTimes;
+    }
+
+    /**
+     * Durations used by the next run (e.g. changed from the GUI speed selector).
+     */
+    public void setServiceTimes(ServiceTimeModel serviceTimes) {
+        this.serviceTimes = serviceTimes;
+    }
+
+    public Map<String, BenchmarkResult> getResults() {
+        synchronized (resultsNs) {
+            return new LinkedHashMap<>(resultsNs);
+        }
+    }
+
+    /**
+     * Save every suite started with {@link #runAllBenchmarks()} to this store (null = don't).
+     */
+    public void setResultsStore(ResultsStore resultsStore) {
+        this.resultsStore = resultsStore;
+    }
+
+    /**
+     * Suite configuration, stored with the results so comparisons can detect mismatches.
+     */
+    public Map<String, Double> getConfiguration() {
+        Map<String, Double> config = new LinkedHashMap<>();
+        config.put("arrivals", (double) arrivalsPerRun);
+        config.put("departures", (double) (turnaround ? 0 : departuresPerRun));
+        config.put("turnaround", turnaround ? 1.0 : 0.0);
+        if (allocationProfiling) config.put("allocationProfiling", 1.0);
+        if (reservations) config.put("reservations", 1.0);
+        config.put("warmupIterations", (double) warmupIterations);
+        config.put("measuredIterations", (double) measuredIterations);
+        config.put("runways", (double) RUNWAYS);
+        config.put("gates", (double) GATES);
+        ServiceTimeModel model = serviceTimes;
+        config.put("compression", model.isZeroDelay() ? 0.0 : model.getCompression()); // 0 = zero delay
+        for (ServiceTimeModel.Activity a : ServiceTimeModel.Activity.values()) {
+            config.put(a.name().toLowerCase(Locale.ROOT) + "MeanMs", model.meanMs(a));
+        }
+        return config;
+    }
+
+    /**
+     * Snapshot of the last suite's results.
+     */
+    public BenchmarkRecord captureRecord(String label) {
+        return BenchmarkRecord.capture(label, getConfiguration(), getResults().values());
+    }
+
+    /**
+     * Run all three algorithms (Semaphore, ReentrantLock, Monitor) in a background thread
+     * and show the ranking popup when done.
      */
     public void runAllBenchmarks() {
         if (running) return;
         running = true;
 
         new Thread(() -> {
-            SwingUtilities.invokeLater(() -> ui.log("\n=== Starting Hybrid Benchmark Suite ==="));
-
-            // Clear old results
-            resultsNs.clear();
-
-            runSingle("Semaphore");
-            runSingle("ReentrantLock");
-            runSingle("Monitor");
+            runSuite();
+
+            ResultsStore store = resultsStore;
+            if (store != null) {
+                try {
+                    report("Results saved to " + store.save(captureRecord("gui")));
+                } catch (IOException e) {
+                    report("Could not save results: " + e.getMessage());
+                }
+            }
 
             SwingUtilities.invokeLater(() -> {
                 running = false;
-                ui.log("\n=== Benchmark Suite Complete ===");
+                report("\n=== Benchmark Suite Complete ===");
                 showResultsPopup();
             });
         }).start();
     }
 
-    private void runSingle(String algoName) {
-        SwingUtilities.invokeLater(() -> ui.log("\n-- Running: " + algoName + " --"));
+    /**
+     * Run warmup + measured rounds synchronously in the calling thread.
+     */
+    public void runSuite() {
+        report("\n=== Starting Hybrid Benchmark Suite ("
+                + warmupIterations + " warmup, " + measuredIterations + " measured rounds) ===");
+        report("Service times: " + serviceTimes.describe());
+        if (turnaround) report("Turnaround mode: every arrival departs again from its gate");
+
+        // Clear old results
+        List<String> suite = algorithms;
+        resultsNs.clear();
+        allocations.clear();
+        for (String algo : suite) {
+            resultsNs.put(algo, new BenchmarkResult(algo));
+        }
 
-        // Prepare AirportManager instance
-        AirportManager manager;
-        switch (algoName) {
-            case "Semaphore":
-                manager = new SemaphoreAirport(1, 3);
-                break;
-            case "ReentrantLock":
-                manager = new LockAirport(1, 3);
-                break;
-            default:
-                manager = new MonitorAirport(1, 3);
+        int rounds = warmupIterations + measuredIterations;
+        for (int round = 0; round < rounds; round++) {
+            boolean warmup = round < warmupIterations;
+
+            // Randomize run order for this round
+            List<String> order = new ArrayList<>(suite);
+            Collections.shuffle(order, random);
+
+            report(String.format("\n## %s round %d/%d — order: %s",
+                    warmup ? "Warmup" : "Measured",
+                    warmup ? round + 1 : round - warmupIterations + 1,
+                    warmup ? warmupIterations : measuredIterations,
+                    order));
+
+            for (String algo : order) {
+                runSingle(algo, warmup);
+            }
+        }
+
+        for (BenchmarkResult r : getResults().values()) {
+            report("Summary [" + r.summary() + "]");
+            report("Phase breakdown [" + r.getAlgoName() + "] (ms):\n" + r.phaseSummary());
+            long[] a = allocations.get(r.getAlgoName());
+            if (a != null) report("Allocation [" + r.getAlgoName() + "] " + allocationSummary(a));
         }
+    }
+
+    private void runSingle(String algoName, boolean warmup) {
+        report("\n-- Running: " + algoName + (warmup ? " (warmup)" : "") + " --");
+
+        // Prepare AirportManager instance
+        AirportManager base = reservations ? reserved(createManager(algoName), serviceTimes) : createManager(algoName);
+        AirportManager manager = instrumented ? new InstrumentedAirport(base) : base;
+        currentManager = manager;
 
         // Switch UI to this algorithm
-        SwingUtilities.invokeLater(() -> ui.forceSwitchAlgorithm(algoName, manager));
+        if (ui != null) {
+            SwingUtilities.invokeLater(() -> ui.forceSwitchAlgorithm(algoName, manager));
+        }
 
         // Total planes
-        int total = arrivalsPerRun + departuresPerRun;
-        CountDownLatch latch = new CountDownLatch(total);
-        List<Plane> finished = Collections.synchronizedList(new ArrayList<>());
-
-        // A temporary controller glued to UI but also collecting plane finish events
+        boolean turnarounds = turnaround;
+        int departures = turnarounds ? 0 : departuresPerRun;
+        int total = arrivalsPerRun + departures;
+        ServiceTimeModel model = serviceTimes;
+        // One latency slot per plane and striped phase histograms: planes never contend on it
+        PlaneRecorder recorder = new PlaneRecorder(total);
+
+        // Per-thread allocation counters (slot = plane index), peaks restarted for this run
+        boolean profiling = allocationProfiling;
+        long[] planeBytes = profiling ? new long[total] : null;
+        if (profiling) AllocationProbe.resetPeaks();
+        long spawnBytes = 0;
+
+        // Start IDs randomized so benchmark runs don't spam same IDs (slot = id - idBase - 1)
+        int idBase = random.nextInt(1000);
+
+        // A temporary controller glued to UI (if any) but also collecting plane finish events
         MainController collectorController = new MainController() {
 
             @Override
-            public void log(String message) { ui.log(message); }
+            public void log(String message) { if (ui != null) ui.log(message); }
 
             @Override
-            public void updateRunwayVisuals() { ui.updateRunwayVisuals(); }
+            public void updateRunwayVisuals() { if (ui != null) ui.updateRunwayVisuals(); }
 
             @Override
-            public void updateGateStatus() { ui.updateGateStatus(); }
+            public void updateGateStatus() { if (ui != null) ui.updateGateStatus(); }
 
             @Override
-            public void updateQueue(int planeId, String status) { ui.updateQueue(planeId, status); }
+            public void updateQueue(int planeId, String status) { if (ui != null) ui.updateQueue(planeId, status); }
 
             @Override
             public void notifyPlaneFinished(Plane p) {
-                finished.add(p);
-                latch.countDown();
-                ui.notifyPlaneFinished(p);
+                recorder.record(p.getId() - idBase - 1, p);
+                if (ui != null) ui.notifyPlaneFinished(p);
             }
         };
 
-        // Start IDs randomized so benchmark runs don't spam same IDs
-        int idBase = new Random().nextInt(1000);
+        long wallStart = System.nanoTime();
+        Thread[] planes = new Thread[total];
 
         // Spawn ARRIVAL planes
         for (int i = 0; i < arrivalsPerRun; i++) {
-            Plane p = new Plane(idBase + i + 1, manager, true, collectorController);
-            new Thread(p).start();
-            sleepQuiet(80);
+            // Spawn bytes cover the Plane and its Thread, as in AllocationProfiler
+            long before = profiling ? AllocationProbe.currentThreadAllocatedBytes() : 0;
+            Plane p = turnarounds
+                    ? Plane.turnaround(idBase + i + 1, manager, PriorityClass.SCHEDULED, model, collectorController)
+                    : new Plane(idBase + i + 1, manager, true, PriorityClass.SCHEDULED, model, collectorController);
+            planes[i] = new Thread(profiling ? AllocationProbe.measured(p, planeBytes, i) : p);
+            planes[i].start();
+            if (profiling) spawnBytes += AllocationProbe.currentThreadAllocatedBytes() - before;
+            sleepQuiet(model.compressMs(80));
         }
 
         // Spawn DEPARTURE planes
-        for (int i = 0; i < departuresPerRun; i++) {
-            Plane p = new Plane(idBase + arrivalsPerRun + i + 1, manager, false, collectorController);
-            new Thread(p).start();
-            sleepQuiet(80);
+        for (int i = 0; i < departures; i++) {
+            long before = profiling ? AllocationProbe.currentThreadAllocatedBytes() : 0;
+            Plane p = new Plane(idBase + arrivalsPerRun + i + 1, manager, false, PriorityClass.SCHEDULED,
+                    model, collectorController);
+            int slot = arrivalsPerRun + i;
+            planes[slot] = new Thread(profiling ? AllocationProbe.measured(p, planeBytes, slot) : p);
+            planes[slot].start();
+            if (profiling) spawnBytes += AllocationProbe.currentThreadAllocatedBytes() - before;
+            sleepQuiet(model.compressMs(80));
         }
 
-        // Wait for all planes to complete
+        // Completion barrier: every plane thread has recorded and exited
         try {
-            latch.await();
+            for (Thread t : planes) t.join();
         } catch (InterruptedException ignored) {
             Thread.currentThread().interrupt();
         }
+        long wallNs = System.nanoTime() - wallStart;
 
         // --- Calculate results ---
+        long[] latencies = recorder.getLatenciesNs();
+
         long totalNs = 0;
         long maxNs = 0;
-
-        for (Plane p : finished) {
-            long l = p.getLatencyNs();
+        for (long l : latencies) {
             totalNs += l;
             if (l > maxNs) maxNs = l;
         }
+        long avgNs = latencies.length == 0 ? 0 : totalNs / latencies.length;
 
-        long avgNs = finished.isEmpty() ? 0 : totalNs / finished.size();
-        resultsNs.put(algoName, avgNs);
+        if (!warmup) {
+            BenchmarkResult result = resultsNs.get(algoName);
+            result.addRun(latencies, wallNs);
+            recorder.mergePhasesInto(result);
+        }
 
-        // Prepare final variables for lambda
-        final long finalAvgNs = avgNs;
-        final long finalMaxNs = maxNs;
-        final int planeCount = finished.size();
+        if (profiling) {
+            long bytes = 0;
+            for (long b : planeBytes) bytes += b;
+            long[] run = {bytes, spawnBytes, total, AllocationProbe.peakHeapBytes(), AllocationProbe.peakThreadCount()};
+            report("Allocation [" + algoName + "]" + (warmup ? " (warmup, discarded) " : " ") + allocationSummary(run));
+            if (!warmup) {
+                allocations.merge(algoName, run, (a, b) -> new long[]{
+                        a[0] + b[0], a[1] + b[1], a[2] + b[2], Math.max(a[3], b[3]), Math.max(a[4], b[4])});
+            }
+        }
 
-        SwingUtilities.invokeLater(() -> {
-            ui.log(String.format("Result [%s] — planes: %d, avg: %d ms, max: %d ms",
-                    algoName,
-                    planeCount,
-                    finalAvgNs / 1_000_000,
-                    finalMaxNs / 1_000_000
-            ));
-        });
+        report(String.format("Result [%s]%s — planes: %d, avg: %s, max: %s",
+                algoName,
+                warmup ? " (warmup, discarded)" : "",
+                recorder.getFinishedCount(),
+                BenchmarkStats.formatMs(avgNs),
+                BenchmarkStats.formatMs(maxNs)
+        ));
 
         // Pause between algorithms
-        sleepQuiet(600);
+        sleepQuiet(model.compressMs(600));
     }
 
-    private void showResultsPopup() {
-        List<Map.Entry<String, Long>> list = new ArrayList<>(resultsNs.entrySet());
-        list.sort(Comparator.comparingLong(Map.Entry::getValue));
+    // {plane thread bytes, spawning bytes, planes, peak heap bytes, peak threads}
+    private static String allocationSummary(long[] a) {
+        long planes = Math.max(1, a[2]);
+        return String.format("— per plane: %.1f KB in its thread + %.1f KB to spawn it, peak heap: %.1f MB, peak threads: %d",
+                a[0] / 1024.0 / planes, a[1] / 1024.0 / planes, a[3] / 1048576.0, a[4]);
+    }
+
+    static AirportManager createManager(String algoName) {
+        return createManager(algoName, RUNWAYS, GATES);
+    }
+
+    // Fresh calendar per run: 2 min horizon in 10 ms cells, wake category by plane id
+    private static AirportManager reserved(AirportManager manager, ServiceTimeModel model) {
+        double landingMs = model.meanMs(ServiceTimeModel.Activity.LANDING);
+        RunwayReservationEngine engine = new RunwayReservationEngine(RUNWAYS, 120_000, 10, landingMs / 60_000);
+        WakeCategory[] categories = WakeCategory.values();
+        return new ReservedRunwayAirport(manager, engine, id -> categories[Math.floorMod(id, categories.length)],
+                Math.round(landingMs), Math.round(model.meanMs(ServiceTimeModel.Activity.TAKEOFF)));
+    }
+
+    /**
+     * Factory shared by the benchmark tools: "Semaphore", "ReentrantLock" (or "Lock"), anything else = Monitor.
+     */
+    public static AirportManager createManager(String algoName, int runways, int gates) {
+        return createManager(algoName, runways, gates, WaitStrategy.PARK);
+    }
+
+    public static AirportManager createManager(String algoName, int runways, int gates, WaitStrategy waitStrategy) {
+        switch (algoName) {
+            case "Semaphore":
+                return new SemaphoreAirport(runways, gates, waitStrategy);
+            case "ReentrantLock":
+            case "Lock":
+                return new LockAirport(runways, gates, waitStrategy);
+            default:
+                return new MonitorAirport(runways, gates, waitStrategy);
+        }
+    }
+
+    /**
+     * Ranking by mean latency. An algorithm whose confidence interval overlaps the one ranked
+     * just above it shares that rank (shown as "N=").
+     */
+    public String buildRankingText() {
+        List<BenchmarkResult> list = new ArrayList<>(getResults().values());
+        list.sort(Comparator.comparingDouble(BenchmarkResult::getMeanNs));
 
         StringBuilder sb = new StringBuilder();
-        sb.append("Benchmark Ranking (lower = better avg latency):\n\n");
+        sb.append("Benchmark Ranking (lower = better mean latency, 95% CI):\n\n");
+
+        int rank = 0;
+        BenchmarkResult previous = null;
+        for (int i = 0; i < list.size(); i++) {
+            BenchmarkResult r = list.get(i);
+            boolean tie = previous != null && r.isTiedWith(previous);
+            if (!tie) rank = i + 1;
+            sb.append(String.format("%d%s) %s\n", rank, tie ? "=" : "", r.summary()));
+            previous = r;
+        }
 
-        int rank = 1;
-        for (Map.Entry<String, Long> e : list) {
-            sb.append(String.format("%d) %s — avg: %d ms\n",
-                    rank++, e.getKey(), e.getValue() / 1_000_000));
+        if (list.size() > 1 && list.get(0).isTiedWith(list.get(1))) {
+            sb.append("\nTop ranks overlap: the difference is within measurement noise.\n");
+        }
+        return sb.toString();
+    }
+
+    private void showResultsPopup() {
+        String text = buildRankingText();
+
+        if (ui == null) {
+            System.out.println(text);
+            return;
         }
 
         SwingUtilities.invokeLater(() -> {
-            JOptionPane.showMessageDialog(ui, sb.toString(),
+            JOptionPane.showMessageDialog(ui, text,
                     "Benchmark Results", JOptionPane.INFORMATION_MESSAGE);
         });
     }
 
+    private void report(String message) {
+        if (ui != null) ui.log(message);
+        else System.out.println(message);
+    }
+
     private void sleepQuiet(long ms) {
         try { Thread.sleep(ms); }
         catch (InterruptedException ignored) { Thread.currentThread().interrupt(); }
     }
+
+    /**
+     * Headless entry point.
+     * Usage: PerformanceTester [--arrivals N] [--departures N] [--warmup N] [--iterations N]
+     *                            [--dashboard PORT]
+     *                            [--save] [--store DIR] [--label NAME]
+     *                            [--baseline FILE|latest] [--threshold PCT]
+     *                            [--jfr FILE]
+     *                            [--service fixed|exponential|empirical:FILE|zero] [--compression F]
+     *                            [--turnaround] [--algorithms Semaphore,ReentrantLock,Monitor]
+     *                            [--fork] [--forks N] [--parallel N] [--jvm-args "FLAGS"] [--fork-timeout SEC]
+     *                            [--alloc] [--reservations]
+     *
+     * --save writes the results to the store (default ./benchmark-results). --baseline compares
+     * this run against a stored result before saving it; the process exits with status 1 when a
+     * statistically significant regression beyond the threshold (default 5%) is found.
+     * --jfr records the suite with the bundled airport.jfc settings and prints the per-phase
+     * summary of the recording ({@link JfrSummary}).
+     * --service picks the plane duration model and --compression divides every duration
+     * (10 = ten times faster); "zero" removes all pauses to measure the managers alone.
+     * --turnaround flies each arrival through its whole turnaround (landing, gate dwell, departure
+     * from the same gate) and drops the stand-alone departures; latencies are then per turnaround.
+     * --fork runs every algorithm in its own child JVM ({@link ForkedSuite}), --forks times each,
+     * up to --parallel children at once, with --jvm-args as heap and GC flags (default
+     * {@link ForkedSuite#DEFAULT_JVM_ARGS}). The children are started with --emit-result, which
+     * prints the suite's record as one RESULT line and the plane latencies as HISTOGRAM lines.
+     * --alloc reports the bytes allocated per plane lifecycle, peak heap and peak thread count
+     * of every run and algorithm ({@link AllocationProfiler} covers the other execution modes).
+     * --reservations books a runway slot for every movement first ({@link #setReservations}).
+     */
+    public static void main(String[] args) throws Exception {
+        int arrivals = 3;
+        int departures = 3;
+        int warmup = 2;
+        int iterations = 10;
+        int dashboardPort = -1;
+        boolean save = false;
+        String storeDir = ResultsStore.DEFAULT_DIR;
+        String label = "headless";
+        String baselineRef = null;
+        double threshold = 5.0;
+        String jfrFile = null;
+        String service = "fixed";
+        double compression = 1.0;
+        boolean turnaround = false;
+        List<String> algorithms = List.of(ALGORITHMS);
+        boolean fork = false;
+        int forks = 1;
+        int parallel = 1;
+        List<String> jvmArgs = ForkedSuite.DEFAULT_JVM_ARGS;
+        long forkTimeoutSec = 1800;
+        boolean emitResult = false;
+        boolean alloc = false;
+        boolean reservations = false;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--arrivals":
+                    arrivals = Integer.parseInt(args[++i]);
+                    break;
+                case "--departures":
+                    departures = Integer.parseInt(args[++i]);
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(args[++i]);
+                    break;
+                case "--iterations":
+                    iterations = Integer.parseInt(args[++i]);
+                    break;
+                case "--dashboard":
+                    dashboardPort = Integer.parseInt(args[++i]);
+                    break;
+                case "--save":
+                    save = true;
+                    break;
+                case "--store":
+                    storeDir = args[++i];
+                    break;
+                case "--label":
+                    label = args[++i];
+                    break;
+                case "--baseline":
+                    baselineRef = args[++i];
+                    break;
+                case "--threshold":
+                    threshold = Double.parseDouble(args[++i]);
+                    break;
+                case "--jfr":
+                    jfrFile = args[++i];
+                    break;
+                case "--service":
+                    service = args[++i];
+                    break;
+                case "--compression":
+                    compression = Double.parseDouble(args[++i]);
+                    break;
+                case "--turnaround":
+                    turnaround = true;
+                    break;
+                case "--algorithms":
+                    algorithms = Arrays.asList(args[++i].split(","));
+                    break;
+                case "--fork":
+                    fork = true;
+                    break;
+                case "--forks":
+                    forks = Integer.parseInt(args[++i]);
+                    fork = true;
+                    break;
+                case "--parallel":
+                    parallel = Integer.parseInt(args[++i]);
+                    fork = true;
+                    break;
+                case "--jvm-args":
+                    jvmArgs = Arrays.asList(args[++i].trim().split("\\s+"));
+                    fork = true;
+                    break;
+                case "--fork-timeout":
+                    forkTimeoutSec = Long.parseLong(args[++i]);
+                    break;
+                case "--emit-result":
+                    emitResult = true;
+                    break;
+                case "--alloc":
+                    alloc = true;
+                    break;
+                case "--reservations":
+                    reservations = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        PerformanceTester tester = new PerformanceTester(null, arrivals, departures, warmup, iterations,
+                ServiceTimeModel.parse(service, compression));
+        tester.setTurnaround(turnaround);
+        tester.setAlgorithms(algorithms);
+        tester.setAllocationProfiling(alloc);
+        tester.setReservations(reservations);
+
+        ResultsStore store = new ResultsStore(Path.of(storeDir));
+        BenchmarkRecord record;
+        if (fork) {
+            if (dashboardPort >= 0 || jfrFile != null) {
+                throw new IllegalArgumentException("--dashboard and --jfr need the in-process suite, not --fork");
+            }
+            // Every child runs the same suite options, for one algorithm
+            List<String> childArgs = new ArrayList<>(Arrays.asList(
+                    "--arrivals", Integer.toString(arrivals), "--departures", Integer.toString(departures),
+                    "--warmup", Integer.toString(warmup), "--iterations", Integer.toString(iterations),
+                    "--service", service, "--compression", Double.toString(compression)));
+            if (turnaround) childArgs.add("--turnaround");
+            if (alloc) childArgs.add("--alloc");
+            if (reservations) childArgs.add("--reservations");
+            ForkedSuite suite = new ForkedSuite(childArgs, jvmArgs, forks, parallel, forkTimeoutSec);
+            record = suite.run(label, tester.getConfiguration(), algorithms);
+            System.out.println();
+            System.out.println(ForkedSuite.buildRankingText(record));
+        } else {
+            DashboardServer dashboard = null;
+            if (dashboardPort >= 0) {
+                tester.setInstrumented(true);
+                dashboard = new DashboardServer(tester::getCurrentManager, dashboardPort, 250);
+                System.out.println("Dashboard: http://localhost:" + dashboard.getPort() + "/");
+            }
+
+            jdk.jfr.Recording recording = jfrFile != null ? JfrSummary.startRecording(Path.of(jfrFile)) : null;
+
+            tester.runSuite();
+            if (dashboard != null) dashboard.close();
+            System.out.println();
+            System.out.println(tester.buildRankingText());
+
+            if (recording != null) {
+                recording.stop(); // writes the destination file
+                recording.close();
+                System.out.println(JfrSummary.summarize(Path.of(jfrFile)));
+            }
+
+            record = tester.captureRecord(label);
+            if (emitResult) {
+                // Child of a forked suite: the record on one line (the JSON has no raw newlines in strings)
+                System.out.println(ForkedSuite.RESULT_PREFIX + record.toJson().replace("\n", ""));
+                for (BenchmarkResult r : tester.getResults().values()) {
+                    System.out.println(ForkedSuite.histogramLine(r.getAlgoName(), r.getPooledSortedNs()));
+                }
+            }
+        }
+
+        // Compare first, so "latest" means the previous run
+        boolean regression = false;
+        if (baselineRef != null) {
+            BaselineComparison comparison = BaselineComparison.compare(
+                    store.load(store.resolve(baselineRef)), record, threshold);
+            System.out.println(comparison.report());
+            regression = comparison.hasRegression();
+        }
+        if (save) {
+            System.out.println("Results saved to " + store.save(record));
+        }
+        if (regression) System.exit(1);
+    }
 }
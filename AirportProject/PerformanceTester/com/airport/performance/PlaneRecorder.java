@@ -0,0 +1,71 @@
+package com.airport.performance;
+
+import com.airport.common.Phase;
+import com.airport.common.Plane;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention-free collection of plane results for one benchmark run.
+ *
+ * Every plane gets its own latency slot when it is spawned, so recording the latency is a plain
+ * array store that no other thread touches. Phase durations go into striped histograms: the
+ * recording thread picks a stripe from its thread id, so concurrent planes almost never update
+ * the same histogram, and the stripes are merged once after the run. There are no more stripes
+ * than planes or cores (rounded up to a power of two): a stripe is four full histograms, so a
+ * small run on a big machine would otherwise allocate megabytes of them. The finished count is a
+ * LongAdder. The caller joins the plane threads before reading, which also publishes the slots.
+ */
+public class PlaneRecorder {
+
+    private final long[] latencyNs;
+    private final int mask;
+    private final LatencyHistogram[][] phaseStripes; // [stripe][phase]
+    private final LongAdder finished = new LongAdder();
+
+    public PlaneRecorder(int planes) {
+        this.latencyNs = new long[planes];
+        // Power of two covering min(planes, cores): more planes than that never record at once
+        int concurrency = Math.max(1, Math.min(planes, Runtime.getRuntime().availableProcessors()));
+        int stripes = concurrency == 1 ? 1 : Integer.highestOneBit(concurrency - 1) << 1;
+        this.mask = stripes - 1;
+        this.phaseStripes = new LatencyHistogram[stripes][Phase.values().length];
+        for (LatencyHistogram[] stripe : phaseStripes) {
+            for (int p = 0; p < stripe.length; p++) stripe[p] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Record a finished plane into its slot (called from the plane's own thread).
+     */
+    public void record(int slot, Plane plane) {
+        latencyNs[slot] = plane.getLatencyNs();
+        LatencyHistogram[] stripe = phaseStripes[(int) Thread.currentThread().getId() & mask];
+        for (Phase phase : Phase.values()) {
+            stripe[phase.ordinal()].record(plane.getPhaseNs(phase));
+        }
+        finished.increment();
+    }
+
+    public long getFinishedCount() {
+        return finished.sum();
+    }
+
+    /**
+     * Latencies by slot (read after the plane threads were joined).
+     */
+    public long[] getLatenciesNs() {
+        return latencyNs.clone();
+    }
+
+    /**
+     * Merge all stripes into the phase histograms of a result.
+     */
+    public void mergePhasesInto(BenchmarkResult result) {
+        for (LatencyHistogram[] stripe : phaseStripes) {
+            for (Phase phase : Phase.values()) {
+                result.getPhaseHistogram(phase).add(stripe[phase.ordinal()]);
+            }
+        }
+    }
+}
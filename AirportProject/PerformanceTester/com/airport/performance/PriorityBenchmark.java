@@ -0,0 +1,144 @@
+package com.airport.performance;
+
+import com.airport.common.AirportManager;
+import com.airport.common.PriorityClass;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runway wait per priority class under saturated runways.
+ *
+ * Many more threads than runways loop over a full cycle (land, dock, take off, leave) and hold
+ * the runway for a fixed busy time, so there is always a queue. Each cycle draws a priority
+ * class from the configured mix. Runway wait is recorded per class and direction; with the
+ * multi-level queue emergency and low-fuel arrivals should see roughly one runway hold at p99,
+ * whatever the load, while cargo absorbs the queueing.
+ *
+ * Usage: PriorityBenchmark [--threads N] [--runways N] [--seconds N] [--hold-us N]
+ *                          [--mix emergency,lowFuel,scheduled,cargo]   (weights, default 2,8,60,30)
+ */
+public class PriorityBenchmark {
+
+    private static final String[] ALGORITHMS = {"Semaphore", "ReentrantLock", "Monitor"};
+
+    public static void main(String[] args) throws Exception {
+        int threads = 32;
+        int runways = 2;
+        double seconds = 2.0;
+        long holdUs = 200;
+        int[] mix = {2, 8, 60, 30};
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--runways": runways = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Double.parseDouble(args[++i]); break;
+                case "--hold-us": holdUs = Long.parseLong(args[++i]); break;
+                case "--mix":
+                    String[] parts = args[++i].split(",");
+                    if (parts.length != PriorityClass.values().length) {
+                        throw new IllegalArgumentException("--mix needs one weight per priority class");
+                    }
+                    for (int k = 0; k < parts.length; k++) mix[k] = Integer.parseInt(parts[k].trim());
+                    break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        System.out.printf("Priority benchmark: %d threads, %d runway(s), %d us hold, %.1f s per algorithm%n%n",
+                threads, runways, holdUs, seconds);
+
+        for (String algo : ALGORITHMS) {
+            // Warmup, then measure
+            run(algo, threads, runways, holdUs, mix, seconds / 4);
+            LatencyHistogram[] waits = run(algo, threads, runways, holdUs, mix, seconds);
+
+            System.out.println(algo);
+            System.out.printf("  %-10s %-9s %9s %10s %10s %10s %10s%n",
+                    "class", "movement", "count", "p50 us", "p99 us", "p99.9 us", "max us");
+            for (PriorityClass pc : PriorityClass.values()) {
+                for (boolean arriving : new boolean[]{true, false}) {
+                    LatencyHistogram h = waits[pc.level(arriving)];
+                    if (h.getCount() == 0) continue;
+                    System.out.printf("  %-10s %-9s %9d %10.1f %10.1f %10.1f %10.1f%n",
+                            pc, arriving ? "landing" : "takeoff", h.getCount(),
+                            h.getValueAtPercentile(50) / 1e3, h.getValueAtPercentile(99) / 1e3,
+                            h.getValueAtPercentile(99.9) / 1e3, h.getMax() / 1e3);
+                }
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * @return runway wait histogram per queue level (see PriorityClass.level)
+     */
+    private static LatencyHistogram[] run(String algo, int threads, int runways, long holdUs,
+                                          int[] mix, double seconds) throws Exception {
+        // One gate per thread: gates never become the bottleneck
+        AirportManager airport = PerformanceTester.createManager(algo, runways, threads);
+        LatencyHistogram[] waits = new LatencyHistogram[PriorityClass.LEVELS];
+        for (int i = 0; i < waits.length; i++) waits[i] = new LatencyHistogram();
+
+        int mixTotal = 0;
+        for (int w : mix) mixTotal += w;
+        final int total = mixTotal;
+        AtomicBoolean stop = new AtomicBoolean();
+        CyclicBarrier start = new CyclicBarrier(threads + 1);
+        long holdNs = holdUs * 1_000;
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int planeId = t + 1;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (!stop.get()) {
+                    PriorityClass pc = pick(mix, total, random.nextInt(total));
+
+                    long t0 = System.nanoTime();
+                    airport.requestRunwayForLanding(planeId, pc);
+                    waits[pc.level(true)].record(System.nanoTime() - t0);
+                    busyWait(holdNs);
+                    airport.finishLandingAndDock(planeId);
+
+                    t0 = System.nanoTime();
+                    airport.requestRunwayForTakeoff(planeId, pc);
+                    waits[pc.level(false)].record(System.nanoTime() - t0);
+                    busyWait(holdNs);
+                    airport.finishTakeoff(planeId);
+                }
+            }, "priority-" + planeId);
+            workers[t].start();
+        }
+
+        start.await();
+        Thread.sleep((long) (seconds * 1000));
+        stop.set(true);
+        for (Thread w : workers) w.join();
+        return waits;
+    }
+
+    private static PriorityClass pick(int[] mix, int total, int r) {
+        PriorityClass[] classes = PriorityClass.values();
+        for (int k = 0; k < classes.length; k++) {
+            r -= mix[k];
+            if (r < 0) return classes[k];
+        }
+        return classes[classes.length - 1];
+    }
+
+    private static void busyWait(long ns) {
+        if (ns <= 0) return;
+        long end = System.nanoTime() + ns;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.airport.performance;
+
+import com.airport.common.PriorityClass;
+import com.airport.reservation.Reservation;
+import com.airport.reservation.RunwayReservationEngine;
+import com.airport.reservation.WakeCategory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Booking / cancellation cost of the runway reservation engine as the calendar fills up.
+ *
+ * Books slots in batches (random earliest time within the horizon, 60-120 s movements, random
+ * wake category) and reports ns per booking for every batch, then cancels a quarter of the
+ * bookings and books them again. With an O(log n) calendar the cost per operation stays flat
+ * while the number of future slots grows into the tens of thousands.
+ *
+ * Then checks that the horizon rolls: planes book a small engine, wait for their slot and
+ * complete it, one after the other, for several times its horizon. Every booking must succeed.
+ *
+ * Finally checks priority and closures on a calendar full of scheduled slots: an emergency
+ * booked now must start before the scheduled flight booked next to it (moving the scheduled
+ * slots in its way), and after a runway closure no slot may remain on the closed runway.
+ * A failed check exits with code 1.
+ *
+ * Usage: ReservationBenchmark [--runways N] [--horizon-hours N] [--resolution-ms N] [--slots N]
+ *                             [--roll-ms N]
+ */
+public class ReservationBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int runways = 24;
+        int horizonHours = 72;
+        long resolutionMs = 5_000;
+        int slots = 40_000;
+        long rollMs = 1_000;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--runways": runways = Integer.parseInt(args[++i]); break;
+                case "--horizon-hours": horizonHours = Integer.parseInt(args[++i]); break;
+                case "--resolution-ms": resolutionMs = Long.parseLong(args[++i]); break;
+                case "--slots": slots = Integer.parseInt(args[++i]); break;
+                case "--roll-ms": rollMs = Long.parseLong(args[++i]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        long horizonMs = horizonHours * 3_600_000L;
+        RunwayReservationEngine engine = new RunwayReservationEngine(runways, horizonMs, resolutionMs, 1.0);
+        Random random = new Random(42);
+        WakeCategory[] categories = WakeCategory.values();
+        List<Reservation> booked = new ArrayList<>(slots);
+
+        System.out.printf("Reservation benchmark: %d runways, %d h horizon, %d ms cells%n%n",
+                runways, horizonHours, resolutionMs);
+        System.out.printf("%12s %12s %12s%n", "booked", "rejected", "ns/booking");
+
+        // 1. Fill the calendar in batches
+        int batch = Math.max(1, slots / 10);
+        int rejected = 0;
+        for (int done = 0; done < slots; done += batch) {
+            long t0 = System.nanoTime();
+            for (int k = 0; k < batch; k++) {
+                Reservation r = engine.book(done + k, categories[random.nextInt(categories.length)],
+                        (long) (random.nextDouble() * horizonMs * 0.9), 60_000 + random.nextInt(60_000));
+                if (r != null) booked.add(r);
+                else rejected++;
+            }
+            long ns = System.nanoTime() - t0;
+            System.out.printf("%12d %12d %12.0f%n", engine.getActiveReservations(), rejected, (double) ns / batch);
+        }
+
+        // 2. Cancel a quarter, then re-book the same number
+        Collections.shuffle(booked, random);
+        int toCancel = booked.size() / 4;
+        long t0 = System.nanoTime();
+        for (int k = 0; k < toCancel; k++) {
+            engine.cancel(booked.get(k));
+        }
+        double cancelNs = (double) (System.nanoTime() - t0) / Math.max(1, toCancel);
+
+        t0 = System.nanoTime();
+        for (int k = 0; k < toCancel; k++) {
+            engine.book(slots + k, categories[random.nextInt(categories.length)],
+                    (long) (random.nextDouble() * horizonMs * 0.9), 60_000 + random.nextInt(60_000));
+        }
+        double rebookNs = (double) (System.nanoTime() - t0) / Math.max(1, toCancel);
+
+        System.out.println();
+        System.out.printf("Cancel: %d ops, %.0f ns/op%n", toCancel, cancelNs);
+        System.out.printf("Re-book into freed gaps: %d ops, %.0f ns/op%n", toCancel, rebookNs);
+        System.out.printf("Active future slots: %d%n", engine.getActiveReservations());
+
+        // 3. Rolling horizon: 100 ms window, 1 ms cells, 2 ms movements without separation
+        RunwayReservationEngine rolling = new RunwayReservationEngine(1, 100, 1, 0.0);
+        int rolled = 0;
+        int rollRejected = 0;
+        while (rolling.nowMs() < rollMs) {
+            Reservation r = rolling.book(rolled, WakeCategory.LIGHT, rolling.nowMs(), 2);
+            if (r == null) {
+                rollRejected++;
+            } else {
+                long waitMs = r.getStartMs() - rolling.nowMs();
+                if (waitMs > 0) Thread.sleep(waitMs);
+                rolling.complete(r, rolling.nowMs());
+            }
+            rolled++;
+        }
+        System.out.printf("Rolling horizon: %d bookings over %d ms (%.0fx the %d ms horizon), %d rejected%n",
+                rolled, rollMs, (double) rollMs / rolling.getHorizonMs(), rolling.getHorizonMs(), rollRejected);
+        String problem = rollRejected > 0 ? "bookings were rejected once the clock passed the horizon" : null;
+
+        // 4. Urgent precedence: 2 runways, 1 h horizon, the first 45 min booked by scheduled flights
+        RunwayReservationEngine busy = new RunwayReservationEngine(2, 3_600_000, 1_000, 1.0);
+        List<Reservation> slotsBooked = new ArrayList<>();
+        for (int k = 0; k < 15; k++) {
+            slotsBooked.add(busy.book(k, categories[k % categories.length], busy.nowMs(), 90_000));
+        }
+        long now = busy.nowMs();
+        Reservation scheduled = busy.book(100, WakeCategory.MEDIUM, now, 90_000);
+        Reservation emergency = busy.book(101, WakeCategory.MEDIUM, PriorityClass.EMERGENCY, now, 90_000);
+        System.out.printf("Urgent precedence: scheduled flight starts in %d s, emergency in %d s, "
+                        + "%d slots moved, %d dropped%n", (scheduled.getStartMs() - now) / 1000,
+                (emergency.getStartMs() - now) / 1000, busy.getBumpedReservations(), busy.getDroppedReservations());
+        if (problem == null && emergency.getStartMs() >= scheduled.getStartMs()) {
+            problem = "the emergency waited behind scheduled slots";
+        }
+        slotsBooked.add(scheduled);
+        slotsBooked.add(emergency);
+
+        // 5. Runway closure: every slot of runway 1 moves to runway 0 or is dropped
+        long movedBefore = busy.getBumpedReservations();
+        busy.setRunwayCount(1);
+        int stranded = 0;
+        for (Reservation r : slotsBooked) {
+            if (r.isActive() && r.getRunway() > 0) stranded++;
+        }
+        System.out.printf("Runway closure: %d slots moved, %d dropped in total, %d left on the closed runway%n",
+                busy.getBumpedReservations() - movedBefore, busy.getDroppedReservations(), stranded);
+        if (problem == null && stranded > 0) problem = "slots remain on a closed runway";
+
+        if (problem != null) {
+            System.out.println("FAILED: " + problem);
+            System.exit(1);
+        }
+    }
+}
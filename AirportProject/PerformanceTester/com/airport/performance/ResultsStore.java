@@ -0,0 +1,106 @@
+package com.airport.performance;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Directory of stored benchmark results, one JSON file per suite.
+ *
+ * File names start with the UTC timestamp of the run (to the second), for people browsing the
+ * directory. Order comes from the timestamp stored in each record, which is finer: several runs
+ * saved within one second, under any labels, still list in the order they ran.
+ */
+public class ResultsStore {
+
+    public static final String DEFAULT_DIR = "benchmark-results";
+
+    private final Path dir;
+
+    public ResultsStore(Path dir) {
+        this.dir = dir;
+    }
+
+    public Path getDirectory() {
+        return dir;
+    }
+
+    public Path save(BenchmarkRecord record) throws IOException {
+        Files.createDirectories(dir);
+        // 2024-05-01T12:34:56.789Z -> 20240501-123456
+        String ts = record.getTimestamp().replaceAll("[-:]", "").replace('T', '-');
+        int dot = ts.indexOf('.');
+        if (dot > 0) ts = ts.substring(0, dot);
+        else if (ts.endsWith("Z")) ts = ts.substring(0, ts.length() - 1);
+
+        String label = record.getLabel() == null ? "run" : record.getLabel().replaceAll("[^A-Za-z0-9._-]", "_");
+        Path file = dir.resolve(ts + "-" + label + ".json");
+        for (int n = 2; Files.exists(file); n++) {
+            file = dir.resolve(String.format("%s-%s-%02d.json", ts, label, n));
+        }
+        Files.write(file, record.toJson().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    public BenchmarkRecord load(Path file) throws IOException {
+        return BenchmarkRecord.fromJson(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Stored result files, oldest first by record timestamp. Ties (and files whose timestamp
+     * can't be read, which go first) fall back to the name without ".json", so "x" precedes
+     * "x-02".
+     */
+    public List<Path> list() throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return files;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path p : stream) files.add(p);
+        }
+        Map<Path, Instant> times = new HashMap<>();
+        for (Path p : files) times.put(p, recordTime(p));
+        files.sort(Comparator.comparing((Path p) -> times.get(p))
+                .thenComparing(p -> p.getFileName().toString().replaceFirst("\\.json$", "")));
+        return files;
+    }
+
+    private Instant recordTime(Path file) {
+        try {
+            return Instant.parse(load(file).getTimestamp());
+        } catch (IOException | RuntimeException e) {
+            return Instant.MIN;
+        }
+    }
+
+    /**
+     * Most recent stored result, or null if the store is empty.
+     */
+    public Path latest() throws IOException {
+        List<Path> files = list();
+        return files.isEmpty() ? null : files.get(files.size() - 1);
+    }
+
+    /**
+     * Resolve a baseline reference: "latest", a path, or a file name inside the store.
+     */
+    public Path resolve(String ref) throws IOException {
+        if ("latest".equals(ref)) {
+            Path p = latest();
+            if (p == null) throw new IOException("No stored results in " + dir);
+            return p;
+        }
+        Path p = Path.of(ref);
+        if (Files.exists(p)) return p;
+        p = dir.resolve(ref);
+        if (Files.exists(p)) return p;
+        throw new IOException("Baseline not found: " + ref);
+    }
+}
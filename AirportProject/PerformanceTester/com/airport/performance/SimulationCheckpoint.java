@@ -0,0 +1,143 @@
+package com.airport.performance;
+
+import com.airport.common.ServiceTimeModel;
+import com.airport.performance.AirportSimulation.Outcome;
+import com.airport.performance.AirportSimulation.QueuePolicy;
+import com.airport.performance.AirportSimulation.Workload;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * What-if branching from a checkpoint of the discrete-event airport model.
+ *
+ * Simulates a long day of traffic straight through once, then again up to {@code --at-h} hours
+ * of virtual time, checkpoints it to a file and restores one branch per runway/gate configuration
+ * from that file. Each branch only simulates the rest of the day. Reported: checkpoint size and
+ * write/restore time, and per branch the landing latency, completed aircraft and makespan.
+ *
+ * Checked: the branch with the original configuration finishes exactly like the straight run
+ * (same histogram, counts and makespan); otherwise exit code 1.
+ *
+ * Usage: SimulationCheckpoint [--aircraft N] [--rate R] [--runways N] [--gates N] [--policy P]
+ *                             [--service fixed|exponential|empirical:FILE] [--seed N] [--at-h H]
+ *                             [--file PATH] [--branches 2:16,3:16,2:32]
+ */
+public class SimulationCheckpoint {
+
+    public static void main(String[] args) throws Exception {
+        int aircraft = 100_000;
+        double rate = 0.8;
+        int runways = 2;
+        int gates = 16;
+        QueuePolicy policy = QueuePolicy.FIFO;
+        String service = "exponential";
+        long seed = 42;
+        double atHours = -1;
+        Path file = null;
+        String branches = null;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--aircraft": aircraft = Integer.parseInt(args[++i]); break;
+                case "--rate": rate = Double.parseDouble(args[++i]); break;
+                case "--runways": runways = Integer.parseInt(args[++i]); break;
+                case "--gates": gates = Integer.parseInt(args[++i]); break;
+                case "--policy": policy = QueuePolicy.valueOf(args[++i]); break;
+                case "--service": service = args[++i]; break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--at-h": atHours = Double.parseDouble(args[++i]); break;
+                case "--file": file = Path.of(args[++i]); break;
+                case "--branches": branches = args[++i]; break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (branches == null) branches = runways + ":" + gates + "," + (runways + 1) + ":" + gates + "," + runways + ":" + (gates * 2);
+        boolean tempFile = file == null;
+        if (tempFile) file = Files.createTempFile("airport-checkpoint", ".bin");
+
+        ServiceTimeModel model = ServiceTimeModel.parse(service, 1.0);
+        Workload workload = Workload.generate(aircraft, rate, new int[]{0, 0, 100, 0}, model, seed);
+        long lastArrivalNs = workload.arriveNs[aircraft - 1];
+        // Default: branch at the middle of the arrivals
+        long atNs = atHours < 0 ? lastArrivalNs / 2 : (long) (atHours * 3600e9);
+
+        System.out.printf("Checkpoint what-if: %d aircraft at %.2f/s (%.1f h of arrivals), %d runway(s), %d gates, %s%n",
+                aircraft, rate, lastArrivalNs / 3600e9, runways, gates, policy);
+        System.out.printf("Service times: %s%n%n", model.describe());
+
+        // 1. Straight run, the reference
+        long t0 = System.nanoTime();
+        Outcome straight = newSimulation(workload, runways, gates, policy).run();
+        double straightMs = (System.nanoTime() - t0) / 1e6;
+
+        // 2. Run to the branch point and checkpoint
+        AirportSimulation sim = newSimulation(workload, runways, gates, policy);
+        t0 = System.nanoTime();
+        boolean over = sim.runUntil(atNs);
+        double prefixMs = (System.nanoTime() - t0) / 1e6;
+        if (over) {
+            System.out.printf("FAILED: the run ended at %.2f h, before the branch point (%s)%n",
+                    sim.getClockNs() / 3600e9, sim.getOutcome().isDeadlock() ? "model deadlock" : "all aircraft gone");
+            System.exit(1);
+        }
+        t0 = System.nanoTime();
+        long bytes = sim.checkpoint(file);
+        double writeMs = (System.nanoTime() - t0) / 1e6;
+
+        System.out.printf("Straight run: %.1f ms. Prefix to %.2f h: %.1f ms, %d aircraft done%n",
+                straightMs, sim.getClockNs() / 3600e9, prefixMs, sim.getOutcome().getCompleted());
+        System.out.printf("Checkpoint: %s, %.1f KB written in %.2f ms%n%n", file, bytes / 1024.0, writeMs);
+        System.out.printf("%-10s %11s %13s %13s %13s %10s %12s%n",
+                "branch", "restore", "rest of day", "landing p50", "landing p99", "completed", "makespan");
+
+        // 3. One restored branch per configuration
+        String problem = null;
+        for (String branch : branches.split(",")) {
+            String[] parts = branch.trim().split(":");
+            int r = Integer.parseInt(parts[0]);
+            int g = Integer.parseInt(parts[1]);
+
+            t0 = System.nanoTime();
+            AirportSimulation copy = AirportSimulation.restore(file);
+            double restoreMs = (System.nanoTime() - t0) / 1e6;
+            if (r != runways || g != gates) copy.setCapacity(r, g);
+            t0 = System.nanoTime();
+            Outcome o = copy.run();
+            double restMs = (System.nanoTime() - t0) / 1e6;
+
+            System.out.printf("%-10s %9.2fms %11.1fms %11.1f s %11.1f s %10d %10.2f h%s%n",
+                    r + ":" + g, restoreMs, restMs,
+                    o.getLanding().getValueAtPercentile(50) / 1e9, o.getLanding().getValueAtPercentile(99) / 1e9,
+                    o.getCompleted(), o.getMakespanNs() / 3600e9, o.isDeadlock() ? "  DEADLOCK" : "");
+
+            if (r == runways && g == gates && problem == null && !sameOutcome(straight, o)) {
+                problem = "the restored run with the original configuration differs from the straight run";
+            }
+        }
+        if (tempFile) Files.deleteIfExists(file);
+
+        System.out.println(problem == null
+                ? "\nRestored run matches the straight run exactly."
+                : "\nFAILED: " + problem);
+        if (problem != null) System.exit(1);
+    }
+
+    // No early stop: the whole day is simulated
+    private static AirportSimulation newSimulation(Workload w, int runways, int gates, QueuePolicy policy) {
+        return new AirportSimulation(w, runways, gates, policy, 0, Long.MAX_VALUE, new AtomicLong(),
+                Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    private static boolean sameOutcome(Outcome a, Outcome b) {
+        if (a.getCompleted() != b.getCompleted() || a.getMakespanNs() != b.getMakespanNs()
+                || a.isDeadlock() != b.isDeadlock() || a.getLanding().getCount() != b.getLanding().getCount()) {
+            return false;
+        }
+        for (double p : new double[]{0, 50, 90, 99, 99.9, 100}) {
+            if (a.getLanding().getValueAtPercentile(p) != b.getLanding().getValueAtPercentile(p)) return false;
+        }
+        return a.getLanding().getMean() == b.getLanding().getMean();
+    }
+}
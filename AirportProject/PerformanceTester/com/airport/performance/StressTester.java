@@ -0,0 +1,424 @@
+package com.airport.performance;
+
+import com.airport.common.AirportManager;
+import com.airport.common.PriorityClass;
+import com.airport.common.PriorityWaitQueue;
+import com.airport.common.WaitStrategy;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * High-contention stress mode with continuous invariant checking.
+ *
+ * Thousands of threads hammer one airport with random priority classes, a mix of full cycles
+ * (land, dock, take off, leave) and stand-alone departures that hold no gate, and random
+ * jitter (yield, short spin, short park) between every call to shake out interleavings.
+ *
+ * The checks only use lock-free shadow state, so they don't serialize the threads and hide
+ * the races they look for:
+ *   OVERBOOKED      shadow count of runways held (incremented after a grant, decremented before
+ *                   the release) must never exceed the total
+ *   FREE_BOUNDS     a sampler thread reads getFreeRunways / getFreeGates every millisecond and
+ *                   checks 0 <= free <= total
+ *   PRIORITY_ORDER  on a sampled fraction of grants, no plane of a higher queue level may have
+ *                   been queued before the grant and still be unserved at it
+ *   STALL           no grant for --stall-ms while planes wait and a runway looks free, or
+ *                   threads still blocked after the run stopped (lost wakeup)
+ *
+ * PRIORITY_ORDER is exact: a PriorityWaitQueue observer numbers every queue entry and dequeue
+ * from one counter, under the manager's own lock, so "queued before the grant" is the order the
+ * manager itself saw. A thread descheduled before it reaches the queue has no entry yet.
+ *
+ * Gates are contended by default (a tenth of the threads). At most gates + runways - 1 planes
+ * fly a full cycle at once, the most that cannot deadlock the model (arrivals holding every
+ * runway while every gate holder waits to depart); a plane that finds no cycle slot departs
+ * stand-alone instead. So up to runways - 1 arrivals wait for a gate at a time.
+ *
+ * Usage: StressTester [--threads N] [--runways N] [--gates N] [--seconds N] [--warmup-s N]
+ *                     [--standalone-pct N] [--sample-every N] [--stall-ms N]
+ *                     [--strategy PARK|SPIN_THEN_PARK]
+ *                     [--algorithms Semaphore,ReentrantLock,Monitor]
+ * Exits with status 1 if any invariant was violated.
+ */
+public class StressTester {
+
+    public enum Check { OVERBOOKED, FREE_BOUNDS, PRIORITY_ORDER, STALL }
+
+    private static final int MAX_EXAMPLES = 5;
+    private static final int[] PRIORITY_MIX = {5, 10, 60, 25}; // emergency, low fuel, scheduled, cargo
+
+    // Configuration
+    private final String algorithm;
+    private final int threads;
+    private final int runways;
+    private final int gates;
+    private final int standalonePct;
+    private final int sampleEvery;
+    private final long stallNs;
+
+    private final AirportManager airport;
+    private final Semaphore cycleSlots;
+    private volatile boolean stop = false;
+
+    // Shadow state (lock-free)
+    private final AtomicInteger runwaysHeld = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder grants = new LongAdder();
+
+    // Queue order, per thread: sequence numbers of the current request's queue entry and dequeue
+    // (0 = not queued / not dequeued), taken by the observer under the manager's lock
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLongArray queuedAt;
+    private final AtomicLongArray dequeuedAt;
+    private final AtomicIntegerArray queuedLevel;
+    private final ThreadLocal<Integer> slotOfThread = new ThreadLocal<>();
+    private final ConcurrentHashMap<Object, Integer> slotOfWaiter = new ConcurrentHashMap<>();
+
+    // Findings
+    private final LongAdder[] violations = new LongAdder[Check.values().length];
+    private final ConcurrentLinkedQueue<String> examples = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger exampleCount = new AtomicInteger();
+
+    public StressTester(String algorithm, int threads, int runways, int gates, int standalonePct,
+                        int sampleEvery, long stallMs) {
+        this(algorithm, threads, runways, gates, standalonePct, sampleEvery, stallMs, WaitStrategy.PARK);
+    }
+
+    public StressTester(String algorithm, int threads, int runways, int gates, int standalonePct,
+                        int sampleEvery, long stallMs, WaitStrategy strategy) {
+        this.algorithm = algorithm;
+        this.threads = threads;
+        this.runways = runways;
+        this.gates = gates;
+        this.standalonePct = standalonePct;
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.stallNs = stallMs * 1_000_000L;
+        this.airport = PerformanceTester.createManager(algorithm, runways, gates, strategy);
+        this.cycleSlots = new Semaphore(gates + runways - 1);
+        this.queuedAt = new AtomicLongArray(threads);
+        this.dequeuedAt = new AtomicLongArray(threads);
+        this.queuedLevel = new AtomicIntegerArray(threads);
+        for (int i = 0; i < violations.length; i++) violations[i] = new LongAdder();
+    }
+
+    /**
+     * Run for the given time and return the number of violations found.
+     */
+    public long run(double seconds) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int slot = t;
+            // Small stacks: thousands of threads
+            workers[t] = new Thread(null, () -> work(slot), "stress-" + t, 256 * 1024);
+            workers[t].setDaemon(true);
+        }
+        Thread sampler = new Thread(this::sample, "stress-sampler");
+        sampler.setDaemon(true);
+
+        PriorityWaitQueue.setObserver(new QueueObserver());
+        try {
+            for (Thread w : workers) w.start();
+            sampler.start();
+
+            Thread.sleep((long) (seconds * 1000));
+            stop = true;
+            drain(workers, sampler);
+        } finally {
+            PriorityWaitQueue.setObserver(null);
+        }
+        return getViolationCount();
+    }
+
+    private void drain(Thread[] workers, Thread sampler) throws InterruptedException {
+        // Every thread must come back. Draining can be slow (notifyAll herds), so only give up
+        // once no runway has been granted for the stall time: a thread left then never got the
+        // wakeup it was owed
+        sampler.join();
+        long lastGrants = grants.sum();
+        long lastProgressNs = System.nanoTime();
+        int stuck;
+        while ((stuck = countAlive(workers)) > 0 && System.nanoTime() - lastProgressNs < stallNs) {
+            Thread.sleep(20);
+            long g = grants.sum();
+            if (g != lastGrants) {
+                lastGrants = g;
+                lastProgressNs = System.nanoTime();
+            }
+        }
+        if (stuck > 0) {
+            violation(Check.STALL, stuck + " thread(s) still blocked after stop"
+                    + " (free runways " + airport.getFreeRunways() + ", free gates " + airport.getFreeGates() + ")");
+        }
+    }
+
+    private static int countAlive(Thread[] workers) {
+        int alive = 0;
+        for (Thread w : workers) {
+            if (w.isAlive()) alive++;
+        }
+        return alive;
+    }
+
+    // --- WORKERS ---
+
+    private void work(int slot) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int planeId = slot + 1;
+        slotOfThread.set(slot);
+
+        while (!stop) {
+            PriorityClass pc = pickPriority(random);
+
+            boolean cycle = random.nextInt(100) >= standalonePct && cycleSlots.tryAcquire();
+            if (cycle) {
+                // Full cycle: land and dock
+                requestRunway(slot, planeId, pc, true, random);
+                jitter(random);
+                runwaysHeld.decrementAndGet();
+                airport.finishLandingAndDock(planeId);
+                jitter(random);
+            }
+
+            // Take off (frees the gate docked at above; a stand-alone departure holds none)
+            requestRunway(slot, planeId, pc, false, random);
+            jitter(random);
+            runwaysHeld.decrementAndGet();
+            airport.finishTakeoff(planeId);
+            if (cycle) cycleSlots.release();
+            jitter(random);
+        }
+    }
+
+    private void requestRunway(int slot, int planeId, PriorityClass pc, boolean arriving, ThreadLocalRandom random) {
+        int level = pc.level(arriving);
+        jitter(random);
+
+        queuedLevel.set(slot, level); // the level asked for, not the one the manager used
+        dequeuedAt.set(slot, 0L);
+        long requestSeq = sequence.get();
+        waiting.incrementAndGet();
+
+        if (arriving) airport.requestRunwayForLanding(planeId, pc);
+        else airport.requestRunwayForTakeoff(planeId, pc);
+
+        waiting.decrementAndGet();
+        long dequeueSeq = dequeuedAt.get(slot);
+        queuedAt.set(slot, 0L);
+
+        int held = runwaysHeld.incrementAndGet();
+        if (held > runways) {
+            violation(Check.OVERBOOKED, held + " runways held, only " + runways + " exist");
+        }
+        grants.increment();
+
+        if (random.nextInt(sampleEvery) == 0) {
+            checkOrder(slot, level, requestSeq, dequeueSeq);
+        }
+    }
+
+    /**
+     * A queued plane was dequeued at dequeueSeq: every plane of a higher level queued before
+     * that must have been dequeued before it. A plane granted without queueing (dequeueSeq 0)
+     * found the queue empty some time after requestSeq: nobody queued before requestSeq may
+     * still be undequeued.
+     */
+    private void checkOrder(int self, int level, long requestSeq, long dequeueSeq) {
+        boolean queued = dequeueSeq != 0L;
+        long grantSeq = queued ? dequeueSeq : requestSeq;
+        for (int s = 0; s < threads; s++) {
+            if (s == self) continue;
+            long since = queuedAt.get(s);
+            if (since == 0L || since > grantSeq) continue;
+            int otherLevel = queuedLevel.get(s);
+            if (otherLevel >= level) continue;
+            long otherDequeued = dequeuedAt.get(s);
+            if (otherDequeued != 0L && (!queued || otherDequeued < grantSeq)) continue;
+            // Still the same request: queuedAt numbers are never reused
+            if (queuedAt.get(s) != since) continue;
+            violation(Check.PRIORITY_ORDER, String.format(
+                    "level %d %s while level %d was queued ahead of it",
+                    level, queued ? "dequeued" : "took the runway without queueing", otherLevel));
+            return;
+        }
+    }
+
+    /** Numbers queue entries and dequeues of this run's workers; other threads are ignored. */
+    private class QueueObserver implements PriorityWaitQueue.Observer {
+        @Override
+        public void added(int level, Object waiter) {
+            Integer slot = slotOfThread.get();
+            if (slot == null) return;
+            slotOfWaiter.put(waiter, slot);
+            queuedAt.set(slot, sequence.incrementAndGet());
+        }
+
+        @Override
+        public void polled(Object waiter) {
+            Integer slot = slotOfWaiter.remove(waiter);
+            if (slot != null) dequeuedAt.set(slot, sequence.incrementAndGet());
+        }
+
+        @Override
+        public void removed(Object waiter) {
+            Integer slot = slotOfWaiter.remove(waiter);
+            if (slot != null) queuedAt.set(slot, 0L);
+        }
+    }
+
+    private static PriorityClass pickPriority(ThreadLocalRandom random) {
+        int r = random.nextInt(100);
+        PriorityClass[] classes = PriorityClass.values();
+        for (int k = 0; k < classes.length; k++) {
+            r -= PRIORITY_MIX[k];
+            if (r < 0) return classes[k];
+        }
+        return PriorityClass.SCHEDULED;
+    }
+
+    private static void jitter(ThreadLocalRandom random) {
+        int r = random.nextInt(100);
+        if (r < 50) return;
+        if (r < 80) {
+            Thread.yield();
+        } else if (r < 95) {
+            for (int i = random.nextInt(200); i > 0; i--) Thread.onSpinWait();
+        } else {
+            LockSupport.parkNanos(random.nextInt(50_000));
+        }
+    }
+
+    // --- SAMPLER ---
+
+    private void sample() {
+        long lastGrants = -1;
+        long lastProgressNs = System.nanoTime();
+        boolean stallReported = false;
+
+        while (!stop) {
+            int freeRunways = airport.getFreeRunways();
+            int freeGates = airport.getFreeGates();
+            if (freeRunways < 0 || freeRunways > runways) {
+                violation(Check.FREE_BOUNDS, "free runways " + freeRunways + " outside 0.." + runways);
+            }
+            if (freeGates < 0 || freeGates > gates) {
+                violation(Check.FREE_BOUNDS, "free gates " + freeGates + " outside 0.." + gates);
+            }
+
+            // Lost wakeup: planes wait, a runway is free, yet nothing moves
+            long now = System.nanoTime();
+            long g = grants.sum();
+            if (g != lastGrants) {
+                lastGrants = g;
+                lastProgressNs = now;
+                stallReported = false;
+            } else if (!stallReported && now - lastProgressNs > stallNs
+                    && waiting.get() > 0 && runwaysHeld.get() < runways) {
+                violation(Check.STALL, String.format("no runway grant for %d ms with %d plane(s) waiting and %d runway(s) free",
+                        (now - lastProgressNs) / 1_000_000, waiting.get(), runways - runwaysHeld.get()));
+                stallReported = true;
+            }
+
+            LockSupport.parkNanos(1_000_000);
+        }
+    }
+
+    // --- RESULTS ---
+
+    private void violation(Check check, String message) {
+        violations[check.ordinal()].increment();
+        if (exampleCount.incrementAndGet() <= MAX_EXAMPLES) {
+            examples.add(check + ": " + message);
+        }
+    }
+
+    public long getViolationCount() {
+        long n = 0;
+        for (LongAdder v : violations) n += v.sum();
+        return n;
+    }
+
+    public long getViolations(Check check) {
+        return violations[check.ordinal()].sum();
+    }
+
+    public long getGrants() {
+        return grants.sum();
+    }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-14s grants: %d", algorithm, getGrants()));
+        for (Check c : Check.values()) {
+            sb.append(", ").append(c).append(": ").append(getViolations(c));
+        }
+        sb.append('\n');
+        for (String e : examples) {
+            sb.append("    ").append(e).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = 2000;
+        int runways = 4;
+        int gates = -1;
+        double seconds = 5.0;
+        double warmupSec = 0.0;
+        int standalonePct = 20;
+        int sampleEvery = 8;
+        long stallMs = 2000;
+        WaitStrategy strategy = WaitStrategy.PARK;
+        String[] algorithms = {"Semaphore", "ReentrantLock", "Monitor"};
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--runways": runways = Integer.parseInt(args[++i]); break;
+                case "--gates": gates = Integer.parseInt(args[++i]); break;
+                case "--seconds": seconds = Double.parseDouble(args[++i]); break;
+                case "--warmup-s": warmupSec = Double.parseDouble(args[++i]); break;
+                case "--standalone-pct": standalonePct = Integer.parseInt(args[++i]); break;
+                case "--sample-every": sampleEvery = Integer.parseInt(args[++i]); break;
+                case "--stall-ms": stallMs = Long.parseLong(args[++i]); break;
+                case "--strategy": strategy = WaitStrategy.valueOf(args[++i]); break;
+                case "--algorithms": algorithms = args[++i].split(","); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        // Default: a tenth of the threads, so arrivals queue for gates (cycles are capped at
+        // gates + runways - 1, so gate waits need at least two runways)
+        if (gates < 0) gates = Math.max(1, threads / 10);
+        if (runways < 2) {
+            System.out.println("Note: with one runway no arrival ever waits for a gate.");
+        }
+
+        System.out.printf("Stress test: %d threads, %d runway(s), %d gates, %.1f s per algorithm after %.1f s warmup, "
+                        + "%d%% stand-alone departures, order check on 1/%d grants, %s%n%n",
+                threads, runways, gates, seconds, warmupSec, standalonePct, sampleEvery, strategy);
+
+        long total = 0;
+        for (String algo : algorithms) {
+            if (warmupSec > 0) {
+                // Optional, for steady-state grant counts; its findings are discarded
+                new StressTester(algo.trim(), threads, runways, gates, standalonePct, sampleEvery, stallMs, strategy)
+                        .run(warmupSec);
+            }
+            StressTester tester = new StressTester(algo.trim(), threads, runways, gates, standalonePct,
+                    sampleEvery, stallMs, strategy);
+            total += tester.run(seconds);
+            System.out.print(tester.report());
+        }
+
+        System.out.println(total == 0 ? "\nAll invariants held." : "\n" + total + " invariant violation(s).");
+        if (total > 0) System.exit(1);
+    }
+}
@@ -0,0 +1,204 @@
+package com.airport.performance;
+
+import com.airport.common.AirportManager;
+import com.airport.common.MainController;
+import com.airport.common.Plane;
+import com.airport.common.PriorityClass;
+import com.airport.common.ServiceTimeModel;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sustained throughput of a steady-state airport, per algorithm.
+ *
+ * A fixed fleet flies turnarounds ({@link Plane#turnaround}): land, dock, stay at the gate for
+ * the turnaround time, depart from that gate, then spend an exponential en-route time away
+ * before coming back. Gates therefore turn over the way they do at a real airport, and after a
+ * warmup the run settles into a steady state. Over the measurement window the report shows
+ * movements per hour of airport time (wall time x compression), landing and full turnaround
+ * latency, mean gate occupancy and runway utilisation, and the drift between the first and
+ * second half of the window (a steady state drifts by a few percent at most).
+ *
+ * With more aircraft than gates + runways - 1 the model can deadlock (every runway held by a
+ * plane waiting for a gate, every gate by a plane waiting for a runway); a run that makes no
+ * progress for 5 seconds is reported as stalled and the process exits with 1.
+ *
+ * Usage: TurnaroundBenchmark [--fleet N] [--runways N] [--gates N] [--warmup-s N] [--seconds N]
+ *                            [--enroute-ms N] [--service fixed|exponential|empirical:FILE]
+ *                            [--compression F] [--algorithms Semaphore,ReentrantLock,Monitor]
+ */
+public class TurnaroundBenchmark {
+
+    private static final long STALL_NS = 5_000_000_000L;
+
+    private static class Result {
+        long movements;
+        long firstHalf;
+        long secondHalf;
+        double windowSec;
+        final LatencyHistogram landing = new LatencyHistogram();
+        final LatencyHistogram turnaround = new LatencyHistogram();
+        double meanGatesOccupied;
+        double runwayUtilisation;
+        boolean stalled;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runways = 2;
+        int gates = 8;
+        int fleet = -1;
+        double warmupSec = 2;
+        double seconds = 10;
+        double enrouteMs = 1500;
+        String service = "fixed";
+        double compression = 20;
+        String[] algorithms = {"Semaphore", "ReentrantLock", "Monitor"};
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--fleet": fleet = Integer.parseInt(args[++i]); break;
+                case "--runways": runways = Integer.parseInt(args[++i]); break;
+                case "--gates": gates = Integer.parseInt(args[++i]); break;
+                case "--warmup-s": warmupSec = Double.parseDouble(args[++i]); break;
+                case "--seconds": seconds = Double.parseDouble(args[++i]); break;
+                case "--enroute-ms": enrouteMs = Double.parseDouble(args[++i]); break;
+                case "--service": service = args[++i]; break;
+                case "--compression": compression = Double.parseDouble(args[++i]); break;
+                case "--algorithms": algorithms = args[++i].split(","); break;
+                default: throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        // Largest fleet that cannot deadlock
+        if (fleet < 0) fleet = gates + runways - 1;
+        ServiceTimeModel model = ServiceTimeModel.parse(service, compression);
+
+        System.out.printf("Turnaround benchmark: fleet %d, %d runway(s), %d gates, en route %.0f ms, "
+                        + "warmup %.1f s, window %.1f s%n", fleet, runways, gates, enrouteMs, warmupSec, seconds);
+        System.out.printf("Service times: %s%n%n", model.describe());
+        System.out.printf("%-14s %10s %9s %13s %16s %11s %12s %7s%n",
+                "algorithm", "mov/h", "mov/s", "landing p99", "turnaround p99", "gates used", "runway util", "drift");
+
+        boolean stalled = false;
+        for (String algorithm : algorithms) {
+            AirportManager airport = PerformanceTester.createManager(algorithm, runways, gates);
+            Result r = run(airport, model, fleet, warmupSec, seconds, enrouteMs);
+            // Latencies and rates in airport time
+            double scale = model.isZeroDelay() ? Double.NaN : model.getCompression();
+            double perSec = r.movements / r.windowSec;
+            double drift = r.firstHalf == 0 ? 0 : 100.0 * (r.secondHalf - r.firstHalf) / r.firstHalf;
+            System.out.printf("%-14s %10s %9.1f %11.0fms %14.0fms %7.1f/%-3d %11.1f%% %6.1f%%%s%n",
+                    airport.getAlgorithmName(),
+                    Double.isNaN(scale) ? "-" : String.format("%.0f", perSec / scale * 3600), perSec,
+                    airportMs(r.landing.getValueAtPercentile(99), scale),
+                    airportMs(r.turnaround.getValueAtPercentile(99), scale),
+                    r.meanGatesOccupied, gates, 100 * r.runwayUtilisation, drift,
+                    r.stalled ? "  STALLED" : "");
+            stalled |= r.stalled;
+        }
+        if (stalled) {
+            System.out.println("\nFAILED: no movement for 5 s (model deadlock, use a smaller --fleet)");
+            System.exit(1);
+        }
+    }
+
+    private static double airportMs(long wallNs, double compression) {
+        return Double.isNaN(compression) ? wallNs / 1e6 : wallNs * compression / 1e6;
+    }
+
+    private static Result run(AirportManager airport, ServiceTimeModel model, int fleet, double warmupSec,
+                              double seconds, double enrouteMs) throws Exception {
+        Result result = new Result();
+        long t0 = System.nanoTime();
+        long windowStart = t0 + (long) (warmupSec * 1e9);
+        long windowEnd = windowStart + (long) (seconds * 1e9);
+        long halfway = windowStart + (windowEnd - windowStart) / 2;
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder firstHalf = new LongAdder();
+        LongAdder secondHalf = new LongAdder();
+        long[] lastProgress = {t0};
+
+        MainController controller = new MainController() {
+            @Override
+            public void log(String message) { }
+
+            @Override
+            public void updateRunwayVisuals() { }
+
+            @Override
+            public void updateGateStatus() { }
+
+            @Override
+            public void updateQueue(int planeId, String status) { }
+
+            @Override
+            public void notifyPlaneFinished(Plane p) {
+                long now = System.nanoTime();
+                lastProgress[0] = now; // racy on purpose, only a watchdog hint
+                if (now < windowStart || now >= windowEnd) return;
+                (now < halfway ? firstHalf : secondHalf).add(2); // landing + takeoff
+                synchronized (result) {
+                    result.landing.record(p.getLandingLatencyNs());
+                    result.turnaround.record(p.getLatencyNs());
+                }
+            }
+        };
+
+        double enrouteNs = model.isZeroDelay() ? 0 : enrouteMs * 1e6 / model.getCompression();
+        Thread[] aircraft = new Thread[fleet];
+        for (int a = 0; a < fleet; a++) {
+            final int planeId = a + 1;
+            aircraft[a] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    while (!stop.get()) {
+                        Plane.turnaround(planeId, airport, PriorityClass.SCHEDULED, model, controller).run();
+                        ServiceTimeModel.sleepNs(Math.round(-enrouteNs * Math.log(1.0 - random.nextDouble())));
+                    }
+                } catch (InterruptedException ignored) {
+                    // stalled run abandoned
+                }
+            }, "aircraft-" + planeId);
+            aircraft[a].setDaemon(true);
+            aircraft[a].start();
+        }
+
+        // Sample occupancy while waiting for the window to end
+        long samples = 0;
+        long gatesOccupied = 0;
+        long runwaysBusy = 0;
+        while (System.nanoTime() < windowEnd) {
+            Thread.sleep(5);
+            long now = System.nanoTime();
+            if (now - lastProgress[0] > STALL_NS) {
+                result.stalled = true;
+                break;
+            }
+            if (now < windowStart) continue;
+            samples++;
+            gatesOccupied += airport.getTotalGates() - airport.getFreeGates();
+            runwaysBusy += airport.getTotalRunways() - airport.getFreeRunways();
+        }
+        stop.set(true);
+        // Each aircraft finishes its current turnaround; one still flying after that is stuck
+        long joinDeadline = System.nanoTime() + STALL_NS;
+        for (Thread t : aircraft) {
+            if (!result.stalled) t.join(Math.max(1, (joinDeadline - System.nanoTime()) / 1_000_000));
+            if (t.isAlive()) {
+                result.stalled = true;
+                t.interrupt();
+            }
+        }
+
+        result.firstHalf = firstHalf.sum();
+        result.secondHalf = secondHalf.sum();
+        result.movements = result.firstHalf + result.secondHalf;
+        result.windowSec = seconds;
+        if (samples > 0) {
+            result.meanGatesOccupied = (double) gatesOccupied / samples;
+            result.runwayUtilisation = (double) runwaysBusy / samples / airport.getTotalRunways();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,137 @@
+package com.airport.reservation;
+
+/**
+ * Segment tree over the time cells of one runway ("calendar" of the runway).
+ *
+ * Every node keeps the longest free run inside its range plus the free prefix and suffix,
+ * with lazy range assignment. That gives O(log n) booking / cancellation (range assign) and
+ * O(log n) earliest-fit search: the first start >= from with {@code need} free cells.
+ *
+ * Not thread-safe; RunwayReservationEngine serializes access.
+ */
+class FreeRunTree {
+
+    private static final byte NONE = 0;
+    private static final byte SET_FREE = 1;
+    private static final byte SET_BUSY = 2;
+
+    private final int size;
+    private final int[] pref;
+    private final int[] suf;
+    private final int[] max;
+    private final byte[] lazy;
+
+    // Length of the free run that ends right before the node being visited (search scratch)
+    private int run;
+
+    FreeRunTree(int cells) {
+        this.size = cells;
+        this.pref = new int[4 * cells];
+        this.suf = new int[4 * cells];
+        this.max = new int[4 * cells];
+        this.lazy = new byte[4 * cells];
+        apply(1, 0, cells, false);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Free cells at the start of the calendar. */
+    int freePrefix() {
+        return pref[1];
+    }
+
+    /** Free cells at the end of the calendar. */
+    int freeSuffix() {
+        return suf[1];
+    }
+
+    // --- RANGE ASSIGN ---
+
+    void setBusy(int from, int to) {
+        if (from < to) assign(1, 0, size, Math.max(0, from), Math.min(size, to), true);
+    }
+
+    void setFree(int from, int to) {
+        if (from < to) assign(1, 0, size, Math.max(0, from), Math.min(size, to), false);
+    }
+
+    private void assign(int node, int lo, int hi, int from, int to, boolean busy) {
+        if (to <= lo || hi <= from) return;
+        if (from <= lo && hi <= to) {
+            apply(node, lo, hi, busy);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        push(node, lo, mid, hi);
+        assign(2 * node, lo, mid, from, to, busy);
+        assign(2 * node + 1, mid, hi, from, to, busy);
+        pull(node, lo, mid, hi);
+    }
+
+    // --- EARLIEST FIT ---
+
+    /**
+     * First cell p >= from such that [p, p + need) is entirely free, or -1.
+     */
+    int findFirstFit(int from, int need) {
+        if (from < 0) from = 0;
+        if (need <= 0) return from < size ? from : -1;
+        if (from + need > size) return -1;
+        run = 0;
+        return find(1, 0, size, from, need);
+    }
+
+    private int find(int node, int lo, int hi, int from, int need) {
+        if (hi <= from) return -1;
+        int len = hi - lo;
+
+        if (lo >= from) {
+            // 1. The run carried from the left plus our free prefix is long enough
+            if (run + pref[node] >= need) return lo - run;
+            // 2. A long enough run lies inside this node: descend (guaranteed hit)
+            if (max[node] >= need) {
+                int mid = (lo + hi) >>> 1;
+                push(node, lo, mid, hi);
+                int res = find(2 * node, lo, mid, from, need);
+                return res >= 0 ? res : find(2 * node + 1, mid, hi, from, need);
+            }
+            // 3. Skip the node, carrying its free suffix to the right
+            run = pref[node] == len ? run + len : suf[node];
+            return -1;
+        }
+
+        // Node straddles 'from': visit the children in order
+        int mid = (lo + hi) >>> 1;
+        push(node, lo, mid, hi);
+        int res = find(2 * node, lo, mid, from, need);
+        return res >= 0 ? res : find(2 * node + 1, mid, hi, from, need);
+    }
+
+    // --- NODE HELPERS ---
+
+    private void apply(int node, int lo, int hi, boolean busy) {
+        int v = busy ? 0 : hi - lo;
+        pref[node] = v;
+        suf[node] = v;
+        max[node] = v;
+        lazy[node] = busy ? SET_BUSY : SET_FREE;
+    }
+
+    private void push(int node, int lo, int mid, int hi) {
+        if (lazy[node] == NONE) return;
+        boolean busy = lazy[node] == SET_BUSY;
+        apply(2 * node, lo, mid, busy);
+        apply(2 * node + 1, mid, hi, busy);
+        lazy[node] = NONE;
+    }
+
+    private void pull(int node, int lo, int mid, int hi) {
+        int l = 2 * node, r = 2 * node + 1;
+        int lenL = mid - lo, lenR = hi - mid;
+        pref[node] = pref[l] == lenL ? lenL + pref[r] : pref[l];
+        suf[node] = suf[r] == lenR ? lenR + suf[l] : suf[r];
+        max[node] = Math.max(Math.max(max[l], max[r]), suf[l] + pref[r]);
+    }
+}
@@ -0,0 +1,82 @@
+package com.airport.reservation;
+
+import com.airport.common.PriorityClass;
+
+/**
+ * A booked runway slot. Times are engine milliseconds (see RunwayReservationEngine#nowMs()).
+ * The booked cells cover the movement itself plus the wake separation behind it.
+ *
+ * A slot that has not started yet can be moved to a later time or another runway when an
+ * urgent flight needs its cells or its runway closes, or dropped when nothing fits any more
+ * ({@link #isActive()} turns false). Waiters should re-read {@link #getStartMs()}.
+ */
+public class Reservation {
+
+    private final int planeId;
+    private final WakeCategory category;
+    private final PriorityClass priority;
+    private final long durationMs;
+    private volatile int runway;
+    private volatile long startMs;
+
+    // Booked cell range [firstCell, endCell); endCell shrinks when released early
+    long firstCell;
+    long endCell;
+    volatile boolean active = true;
+
+    Reservation(int planeId, WakeCategory category, PriorityClass priority, long durationMs) {
+        this.planeId = planeId;
+        this.category = category;
+        this.priority = priority;
+        this.durationMs = durationMs;
+    }
+
+    // Called by the engine (under its lock) whenever the slot is placed or moved
+    void place(int runway, long firstCell, long endCell, long resolutionMs) {
+        this.runway = runway;
+        this.firstCell = firstCell;
+        this.endCell = endCell;
+        this.startMs = firstCell * resolutionMs;
+    }
+
+    public int getPlaneId() {
+        return planeId;
+    }
+
+    public int getRunway() {
+        return runway;
+    }
+
+    public WakeCategory getCategory() {
+        return category;
+    }
+
+    public PriorityClass getPriority() {
+        return priority;
+    }
+
+    // Start of the runway occupancy
+    public long getStartMs() {
+        return startMs;
+    }
+
+    // Planned end of the runway occupancy (separation not included)
+    public long getEndMs() {
+        return startMs + durationMs;
+    }
+
+    long getDurationMs() {
+        return durationMs;
+    }
+
+    /** False once the slot was used, cancelled, or dropped because it could not be moved. */
+    public boolean isActive() {
+        return active;
+    }
+
+    @Override
+    public String toString() {
+        return "Reservation[plane " + planeId + ", runway " + runway + ", " + category + ", " + priority
+                + ", " + startMs + "-" + getEndMs() + " ms]";
+    }
+}
@@ -0,0 +1,154 @@
+package com.airport.reservation;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+import com.airport.common.AirportManager;
+import com.airport.common.PriorityClass;
+
+/**
+ * AirportManager decorator that books a runway slot before every landing / takeoff.
+ *
+ * requestRunwayForLanding / requestRunwayForTakeoff book the earliest feasible slot, wait until
+ * it starts, then go through the wrapped implementation as usual (which still enforces the
+ * runway count). finishLandingAndDock / finishTakeoff hand the unused rest of the slot back.
+ * If no slot fits in the horizon the plane simply queues on the wrapped manager. A plane
+ * interrupted while waiting for its slot cancels it and does not queue at all.
+ *
+ * Bookings carry the flight's priority class, so urgent flights move the lower-class slots in
+ * their way (see RunwayReservationEngine); a plane whose slot was moved waits for the new start.
+ * Runway capacity changes resize the engine along with the wrapped manager.
+ */
+public class ReservedRunwayAirport implements AirportManager {
+
+    private final AirportManager delegate;
+    private final RunwayReservationEngine engine;
+    private final IntFunction<WakeCategory> categoryOf;
+    private final long landingMs;
+    private final long takeoffMs;
+
+    // planeId -> slot being used
+    private final ConcurrentHashMap<Integer, Reservation> active = new ConcurrentHashMap<>();
+
+    public ReservedRunwayAirport(AirportManager delegate, RunwayReservationEngine engine,
+                                 IntFunction<WakeCategory> categoryOf, long landingMs, long takeoffMs) {
+        this.delegate = delegate;
+        this.engine = engine;
+        this.categoryOf = categoryOf;
+        this.landingMs = landingMs;
+        this.takeoffMs = takeoffMs;
+    }
+
+    public RunwayReservationEngine getEngine() {
+        return engine;
+    }
+
+    public AirportManager getDelegate() {
+        return delegate;
+    }
+
+    // --- ARRIVAL LOGIC ---
+
+    @Override
+    public void requestRunwayForLanding(int planeId) {
+        requestRunwayForLanding(planeId, PriorityClass.SCHEDULED);
+    }
+
+    @Override
+    public void requestRunwayForLanding(int planeId, PriorityClass priority) {
+        if (!bookAndWait(planeId, priority, landingMs)) return;
+        delegate.requestRunwayForLanding(planeId, priority);
+    }
+
+    @Override
+    public void finishLandingAndDock(int planeId) {
+        delegate.finishLandingAndDock(planeId);
+        completeSlot(planeId);
+    }
+
+    // --- DEPARTURE LOGIC ---
+
+    @Override
+    public void requestRunwayForTakeoff(int planeId) {
+        requestRunwayForTakeoff(planeId, PriorityClass.SCHEDULED);
+    }
+
+    @Override
+    public void requestRunwayForTakeoff(int planeId, PriorityClass priority) {
+        if (!bookAndWait(planeId, priority, takeoffMs)) return;
+        delegate.requestRunwayForTakeoff(planeId, priority);
+    }
+
+    @Override
+    public void finishTakeoff(int planeId) {
+        delegate.finishTakeoff(planeId);
+        completeSlot(planeId);
+    }
+
+    // False if the plane was interrupted: its slot is cancelled and it must not queue
+    private boolean bookAndWait(int planeId, PriorityClass priority, long durationMs) {
+        Reservation r = engine.book(planeId, categoryOf.apply(planeId), priority, engine.nowMs(), durationMs);
+        if (r == null) return true; // horizon full: fall back to plain queueing
+        active.put(planeId, r);
+
+        // A slot moved by an urgent flight only starts later; a dropped one just queues
+        long waitMs;
+        while (r.isActive() && (waitMs = r.getStartMs() - engine.nowMs()) > 0) {
+            try {
+                Thread.sleep(waitMs);
+            } catch (InterruptedException e) {
+                engine.cancel(active.remove(planeId));
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void completeSlot(int planeId) {
+        Reservation r = active.remove(planeId);
+        if (r != null) engine.complete(r, engine.nowMs());
+    }
+
+    // --- CAPACITY ---
+
+    // The wrapped manager validates first, so a rejected change leaves the engine alone
+
+    @Override
+    public void setRunwayCapacity(int runways) {
+        delegate.setRunwayCapacity(runways);
+        engine.setRunwayCount(runways);
+    }
+
+    @Override
+    public void setGateCapacity(int gates) {
+        delegate.setGateCapacity(gates);
+    }
+
+    // --- GETTERS ---
+
+    @Override
+    public int getFreeRunways() {
+        return delegate.getFreeRunways();
+    }
+
+    @Override
+    public int getTotalRunways() {
+        return delegate.getTotalRunways();
+    }
+
+    @Override
+    public int getFreeGates() {
+        return delegate.getFreeGates();
+    }
+
+    @Override
+    public int getTotalGates() {
+        return delegate.getTotalGates();
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return delegate.getAlgorithmName();
+    }
+}
@@ -0,0 +1,340 @@
+package com.airport.reservation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.airport.common.PriorityClass;
+
+/**
+ * Books separation-constrained runway slots in advance.
+ *
+ * Time is split into cells of {@code resolutionMs}; each runway keeps a FreeRunTree over a
+ * rolling window of cells that always starts at the current cell and spans the horizon. A booking
+ * occupies the movement plus the trailing wake separation of its category (worst case over
+ * followers, so any later follower is safe), which makes the feasibility check local to the tree:
+ * booking, cancellation and "earliest feasible slot" are all O(log cells) per runway, independent
+ * of how many slots are already booked.
+ *
+ * The tree is used as a ring: absolute cell c lives at index c % cells. Cells that fall into the
+ * past are freed again and become the far end of the window, so the horizon moves with the clock.
+ *
+ * Urgent flights ({@link PriorityClass#isUrgent()}) keep the precedence they have in the runway
+ * queues: they are placed against a second tree per runway that only holds urgent slots and the
+ * separation of completed movements, and the lower-class slots in their way that have not
+ * started yet are moved to the next feasible time (possibly on another runway), or dropped if
+ * nothing fits in the horizon any more.
+ *
+ * Engine time starts at 0 when the engine is created ({@link #nowMs()}). Separations are
+ * multiplied by {@code separationScale} so demos can use compressed time.
+ */
+public class RunwayReservationEngine {
+
+    private final long resolutionMs;
+    private final double separationScale;
+    private final int cells;
+    private final long originNs = System.nanoTime();
+
+    // Per runway: every booked cell, the cells urgent flights cannot take, and the active slots
+    private int runways;
+    private FreeRunTree[] calendars;
+    private FreeRunTree[] fixed;
+    private List<TreeMap<Long, Reservation>> booked;
+
+    // Window [baseCell, baseCell + cells) in absolute cells; everything before it is past
+    private long baseCell;
+    private int activeReservations;
+    private long bumped;
+    private long dropped;
+
+    public RunwayReservationEngine(int runways, long horizonMs, long resolutionMs, double separationScale) {
+        if (runways < 1 || resolutionMs < 1) throw new IllegalArgumentException("runways and resolution must be >= 1");
+        this.resolutionMs = resolutionMs;
+        this.separationScale = separationScale;
+        this.cells = (int) Math.max(1, Math.min(Integer.MAX_VALUE / 4, (horizonMs + resolutionMs - 1) / resolutionMs));
+        this.calendars = new FreeRunTree[0];
+        this.fixed = new FreeRunTree[0];
+        this.booked = new ArrayList<>();
+        addRunways(runways);
+    }
+
+    public long nowMs() {
+        return (System.nanoTime() - originNs) / 1_000_000;
+    }
+
+    public synchronized int getRunwayCount() {
+        return runways;
+    }
+
+    /** Length of the booking window, which always starts now. */
+    public long getHorizonMs() {
+        return cells * resolutionMs;
+    }
+
+    public synchronized int getActiveReservations() {
+        return activeReservations;
+    }
+
+    /** Slots moved so far to make room for an urgent flight or because their runway closed. */
+    public synchronized long getBumpedReservations() {
+        return bumped;
+    }
+
+    /** Moved slots that no longer fitted in the horizon and were dropped. */
+    public synchronized long getDroppedReservations() {
+        return dropped;
+    }
+
+    /**
+     * Book a scheduled flight's slot, see {@link #book(int, WakeCategory, PriorityClass, long, long)}.
+     */
+    public Reservation book(int planeId, WakeCategory category, long earliestMs, long durationMs) {
+        return book(planeId, category, PriorityClass.SCHEDULED, earliestMs, durationMs);
+    }
+
+    /**
+     * Book the earliest feasible slot at or after {@code earliestMs} (and now) on any runway
+     * (ties go to the lowest runway index). Urgent flights only wait for other urgent slots and
+     * for movements already under way. Returns null if nothing fits within the horizon.
+     */
+    public synchronized Reservation book(int planeId, WakeCategory category, PriorityClass priority,
+                                         long earliestMs, long durationMs) {
+        roll();
+        Reservation r = new Reservation(planeId, category, priority, durationMs);
+        if (!place(r, ceilDiv(Math.max(0, earliestMs), resolutionMs))) return null;
+        activeReservations++;
+        return r;
+    }
+
+    /**
+     * Cancel a booking and free all of its cells. Returns false if it was already gone.
+     */
+    public synchronized boolean cancel(Reservation r) {
+        if (!r.active) return false;
+        roll();
+        unbook(r);
+        assign(calendars[r.getRunway()], r.firstCell, r.endCell, false);
+        if (r.getPriority().isUrgent()) assign(fixed[r.getRunway()], r.firstCell, r.endCell, false);
+        deactivate(r);
+        return true;
+    }
+
+    /**
+     * The movement ended at {@code actualEndMs}: keep its separation behind that time and give
+     * back the rest of the booked slot. Overruns keep the original booking. The kept cells can
+     * no longer be taken by an urgent flight.
+     */
+    public synchronized void complete(Reservation r, long actualEndMs) {
+        if (!r.active) return;
+        roll();
+        int runway = r.getRunway();
+        unbook(r);
+        long keepUntil = ceilDiv(Math.max(0, actualEndMs), resolutionMs) + separationCells(r.getCategory());
+        keepUntil = Math.max(keepUntil, r.firstCell + 1);
+        if (keepUntil < r.endCell) {
+            assign(calendars[runway], keepUntil, r.endCell, false);
+            if (r.getPriority().isUrgent()) assign(fixed[runway], keepUntil, r.endCell, false);
+            r.endCell = keepUntil;
+        }
+        assign(fixed[runway], r.firstCell, r.endCell, true);
+        deactivate(r);
+    }
+
+    /**
+     * Follow a runway closure or opening. Slots on closed runways that have not started move to
+     * the remaining runways (urgent ones first) or are dropped; slots already under way are
+     * ended, their plane keeps the runway it queued for.
+     */
+    public synchronized void setRunwayCount(int runways) {
+        if (runways < 0) throw new IllegalArgumentException("runways must be >= 0: " + runways);
+        roll();
+        if (runways >= this.runways) {
+            addRunways(runways - this.runways);
+            return;
+        }
+
+        List<Reservation> displaced = new ArrayList<>();
+        for (int rw = runways; rw < this.runways; rw++) {
+            displaced.addAll(booked.get(rw).values());
+        }
+        this.runways = runways;
+        calendars = Arrays.copyOf(calendars, runways);
+        fixed = Arrays.copyOf(fixed, runways);
+        booked = new ArrayList<>(booked.subList(0, runways));
+
+        displaced.sort(Comparator.comparing((Reservation r) -> !r.getPriority().isUrgent())
+                .thenComparingLong(r -> r.firstCell));
+        for (Reservation r : displaced) {
+            if (r.firstCell <= baseCell) {
+                deactivate(r);
+            } else {
+                bumped++;
+                if (!place(r, r.firstCell)) drop(r);
+            }
+        }
+    }
+
+    // --- PLACEMENT ---
+
+    // Find, mark and index a slot for r at or after cell from; false if nothing fits
+    private boolean place(Reservation r, long from) {
+        from = Math.max(baseCell, from);
+        int need = (int) Math.max(1, ceilDiv(r.getDurationMs(), resolutionMs)) + separationCells(r.getCategory());
+        boolean urgent = r.getPriority().isUrgent();
+
+        int bestRunway = -1;
+        long bestStart = Long.MAX_VALUE;
+        boolean bestClear = false;
+        for (int rw = 0; rw < runways; rw++) {
+            long start = urgent ? urgentFit(rw, from, need) : findFirstFit(calendars[rw], from, need);
+            if (start < 0 || start > bestStart) continue;
+            // Among equal starts an urgent flight prefers a runway where it moves nobody
+            boolean clear = !urgent || findFirstFit(calendars[rw], start, need) == start;
+            if (start < bestStart || (clear && !bestClear)) {
+                bestStart = start;
+                bestRunway = rw;
+                bestClear = clear;
+                if (start == from && clear) break; // can't do better
+            }
+        }
+        if (bestRunway < 0) return false;
+
+        List<Reservation> moved = bestClear ? List.of() : evict(bestRunway, bestStart, bestStart + need);
+        assign(calendars[bestRunway], bestStart, bestStart + need, true);
+        if (urgent) assign(fixed[bestRunway], bestStart, bestStart + need, true);
+        r.place(bestRunway, bestStart, bestStart + need, resolutionMs);
+        booked.get(bestRunway).put(bestStart, r);
+
+        // Lower-class slots only: they never move anyone in turn
+        for (Reservation m : moved) {
+            bumped++;
+            if (!place(m, m.firstCell)) drop(m);
+        }
+        return true;
+    }
+
+    // Earliest start for an urgent slot: free of urgent slots, completed separations and
+    // lower-class slots already under way (only the one starting at or before s can be)
+    private long urgentFit(int runway, long from, int need) {
+        long at = from;
+        while (true) {
+            long start = findFirstFit(fixed[runway], at, need);
+            if (start < 0) return -1;
+            Map.Entry<Long, Reservation> e = booked.get(runway).floorEntry(start);
+            Reservation r = e == null ? null : e.getValue();
+            if (r == null || r.firstCell > baseCell || r.endCell <= start || r.getPriority().isUrgent()) {
+                return start;
+            }
+            at = r.endCell;
+        }
+    }
+
+    // Unbook the slots overlapping [from, to) on a runway, in start order
+    private List<Reservation> evict(int runway, long from, long to) {
+        TreeMap<Long, Reservation> slots = booked.get(runway);
+        List<Reservation> out = new ArrayList<>();
+        Map.Entry<Long, Reservation> first = slots.floorEntry(from);
+        if (first != null && first.getValue().endCell > from) out.add(first.getValue());
+        out.addAll(slots.subMap(from, false, to, false).values());
+        for (Reservation r : out) {
+            slots.remove(r.firstCell);
+            assign(calendars[runway], r.firstCell, r.endCell, false);
+        }
+        return out;
+    }
+
+    private void unbook(Reservation r) {
+        booked.get(r.getRunway()).remove(r.firstCell, r);
+    }
+
+    private void deactivate(Reservation r) {
+        r.active = false;
+        activeReservations--;
+    }
+
+    private void drop(Reservation r) {
+        dropped++;
+        deactivate(r);
+    }
+
+    private void addRunways(int count) {
+        calendars = Arrays.copyOf(calendars, runways + count);
+        fixed = Arrays.copyOf(fixed, runways + count);
+        for (int rw = runways; rw < runways + count; rw++) {
+            calendars[rw] = new FreeRunTree(cells);
+            fixed[rw] = new FreeRunTree(cells);
+            booked.add(new TreeMap<>());
+        }
+        runways += count;
+    }
+
+    // --- ROLLING WINDOW ---
+
+    // Free the cells that are now in the past: in the ring they are the new far end of the window
+    private void roll() {
+        long nowCell = nowMs() / resolutionMs;
+        if (nowCell <= baseCell) return;
+        for (int rw = 0; rw < runways; rw++) {
+            assign(calendars[rw], baseCell, nowCell, false);
+            assign(fixed[rw], baseCell, nowCell, false);
+        }
+        baseCell = nowCell;
+    }
+
+    // Mark absolute cells [from, to) busy or free; cells outside the window are left alone
+    private void assign(FreeRunTree calendar, long from, long to, boolean busy) {
+        from = Math.max(from, baseCell);
+        to = Math.min(to, baseCell + cells);
+        if (from >= to) return;
+        int lo = (int) (from % cells);
+        int hi = lo + (int) (to - from);
+        set(calendar, lo, Math.min(hi, cells), busy);
+        if (hi > cells) set(calendar, 0, hi - cells, busy);
+    }
+
+    private static void set(FreeRunTree calendar, int from, int to, boolean busy) {
+        if (busy) calendar.setBusy(from, to);
+        else calendar.setFree(from, to);
+    }
+
+    /**
+     * Earliest absolute cell s >= from with [s, s + need) free and inside the window, or -1.
+     * The window may wrap around the end of the ring: a run can then also start in the free
+     * suffix of the tree and continue in its free prefix.
+     */
+    private long findFirstFit(FreeRunTree calendar, long from, int need) {
+        long length = baseCell + cells - from;
+        if (need > length) return -1;
+        int p = (int) (from % cells);
+
+        // 1. Up to the end of the ring (or of the window, if it does not wrap)
+        int start = calendar.findFirstFit(p, need);
+        if (p + length <= cells) {
+            return start >= 0 && start + need <= p + length ? from + (start - p) : -1;
+        }
+        if (start >= 0) return from + (start - p);
+
+        // 2. Across the wrap point
+        int wrapped = (int) (p + length - cells); // window cells at the start of the ring
+        int tail = Math.min(calendar.freeSuffix(), cells - p);
+        if (tail > 0 && need - tail <= wrapped && calendar.freePrefix() >= need - tail) {
+            return from + (cells - tail - p);
+        }
+
+        // 3. In the wrapped part
+        start = calendar.findFirstFit(0, need);
+        return start >= 0 && start + need <= wrapped ? from + (cells - p) + start : -1;
+    }
+
+    private int separationCells(WakeCategory category) {
+        long sepMs = Math.round(category.trailingSeparationSeconds() * 1000.0 * separationScale);
+        return (int) ceilDiv(sepMs, resolutionMs);
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return (a + b - 1) / b;
+    }
+}
@@ -0,0 +1,34 @@
+package com.airport.reservation;
+
+/**
+ * Wake-turbulence categories and the time separation a follower needs behind a leader
+ * on the same runway (simplified time-based table, seconds).
+ */
+public enum WakeCategory {
+    LIGHT, MEDIUM, HEAVY, SUPER;
+
+    // SEPARATION_S[leader][follower]
+    private static final int[][] SEPARATION_S = {
+            //  LIGHT MEDIUM HEAVY SUPER   <- follower
+            {   60,   60,   60,   60 },  // LIGHT leader
+            {  120,   60,   60,   60 },  // MEDIUM leader
+            {  180,  120,   90,   90 },  // HEAVY leader
+            {  240,  180,  120,  120 },  // SUPER leader
+    };
+
+    /**
+     * Seconds between the end of this (leading) movement and the start of {@code follower}.
+     */
+    public int separationSecondsBefore(WakeCategory follower) {
+        return SEPARATION_S[ordinal()][follower.ordinal()];
+    }
+
+    /**
+     * Separation every follower is guaranteed behind this leader (worst case over followers).
+     */
+    public int trailingSeparationSeconds() {
+        int max = 0;
+        for (int s : SEPARATION_S[ordinal()]) max = Math.max(max, s);
+        return max;
+    }
+}
@@ -1,65 +1,123 @@
 package com.airport.semaphore;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import com.airport.common.AdaptiveSpinner;
 import com.airport.common.AirportManager;
+import com.airport.common.GatePool;
+import com.airport.common.GateWaitEvent;
+import com.airport.common.PriorityClass;
+import com.airport.common.PriorityWaitQueue;
+import com.airport.common.RunwayRequestEvent;
+import com.airport.common.WaitStrategy;
 
 public class SemaphoreAirport implements AirportManager {
+
+    private static final String ALGORITHM = "Semaphore";
     
-    // Resources (Runways and Gates)
-    private Semaphore runways; 
-    private Semaphore gates;
-    private final int totalRunways;
-    private final int totalGates;
+    // Resources (Runways and Gates); resizable, see setRunwayCapacity / setGateCapacity
+    private ResizableSemaphore runways; 
+    private ResizableSemaphore gates;
+    // Planes holding a gate: a departure only frees the gate it docked at, so free gates
+    // can never exceed the total
+    private final Set<Integer> docked = ConcurrentHashMap.newKeySet();
+    private volatile int totalRunways;
+    private volatile int totalGates;
     // Priority Mechanism
-    // This semaphore acts as a mutex lock protecting access to the runways
-    // We use a counter to track how many high-priority arrivals are waiting.
+    // This semaphore acts as a mutex lock protecting the runway wait queue.
+    // Waiters queue by priority level, each blocked on its own Semaphore(0); a released
+    // runway permit is handed directly to the head of the queue instead of going back
+    // into the runways semaphore, so nobody can barge past a higher-priority plane.
     private Semaphore runwayAccessMutex = new Semaphore(1, true); 
-    private AtomicInteger waitingArrivals = new AtomicInteger(0);
+    private final PriorityWaitQueue<Semaphore> runwayQueue = new PriorityWaitQueue<>(PriorityClass.LEVELS);
+
+    // Optional spin phase before blocking in acquire() (runway waiters spin only once queued)
+    private final WaitStrategy waitStrategy;
+    private final AdaptiveSpinner spinner = new AdaptiveSpinner();
+    private final BooleanSupplier gateLooksFree;
+
+    // Optional terminal gate pool; null = the gates semaphore is used
+    private final GatePool gatePool;
     
     // Note: Use the actual values from your GUI setup here
     public SemaphoreAirport(int numRunways, int numGates) {
-        this.runways = new Semaphore(numRunways, true); // Fair queue
-        this.gates = new Semaphore(numGates, true);     // Fair queue
+        this(numRunways, numGates, WaitStrategy.PARK);
+    }
+
+    public SemaphoreAirport(int numRunways, int numGates, WaitStrategy waitStrategy) {
+        this(numRunways, numGates, null, waitStrategy);
+    }
+
+    public SemaphoreAirport(int numRunways, GatePool gatePool) {
+        this(numRunways, gatePool, WaitStrategy.PARK);
+    }
+
+    public SemaphoreAirport(int numRunways, GatePool gatePool, WaitStrategy waitStrategy) {
+        this(numRunways, gatePool.getTotalGates(), gatePool, waitStrategy);
+    }
+
+    private SemaphoreAirport(int numRunways, int numGates, GatePool gatePool, WaitStrategy waitStrategy) {
+        this.runways = new ResizableSemaphore(numRunways); // Fair queue
+        this.gates = new ResizableSemaphore(numGates);     // Fair queue
         this.totalRunways = numRunways; // Store the total count
         this.totalGates = numGates ; 
+        this.gatePool = gatePool;
+        this.waitStrategy = waitStrategy;
+        this.gateLooksFree = gatePool != null ? () -> gatePool.getFreeGates() > 0 : () -> gates.availablePermits() > 0;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    // Spin until a permit looks available, before blocking in the fair acquire()
+    private void spinIfEnabled(BooleanSupplier hint) {
+        if (waitStrategy == WaitStrategy.SPIN_THEN_PARK && !hint.getAsBoolean()) {
+            spinner.spinUntil(hint);
+        }
     }
     
     // --- ARRIVAL LOGIC (PRIORITY) ---
 
     @Override
     public void requestRunwayForLanding(int planeId) {
-        // 1. Mark yourself as a waiting Arrival (high priority)
-        waitingArrivals.incrementAndGet();
+        requestRunwayForLanding(planeId, PriorityClass.SCHEDULED);
+    }
 
+    @Override
+    public void requestRunwayForLanding(int planeId, PriorityClass priority) {
+        RunwayRequestEvent event = new RunwayRequestEvent();
+        event.begin();
         try {
-            // 2. Acquire the main runway access lock (Mutex)
-            runwayAccessMutex.acquire(); 
-            
-            // 3. Acquire the actual Runway resource.
-            //    No Departure can pass the mutex if an Arrival is waiting.
-            runways.acquire();
-            
-            // 4. Release the Mutex and decrement the counter
-            waitingArrivals.decrementAndGet();
-            runwayAccessMutex.release(); 
+            // 1. Queue at our level (see PriorityClass.level)
+            acquireRunway(priority.level(true));
+            event.complete(ALGORITHM, planeId, priority, true);
             
         } catch (InterruptedException e) { 
-            // Important: Decrement counter if thread is interrupted
-            waitingArrivals.decrementAndGet();
-            runwayAccessMutex.release(); 
             Thread.currentThread().interrupt(); 
         }
     }
 
     @Override
     public void finishLandingAndDock(int planeId) {
+        GateWaitEvent event = new GateWaitEvent();
+        event.begin();
         try {
             // 1. Acquire a Gate
-            gates.acquire();
+            spinIfEnabled(gateLooksFree);
+            if (gatePool != null) gatePool.acquire(planeId);
+            else {
+                gates.acquire();
+                docked.add(planeId);
+            }
+            event.complete(ALGORITHM, planeId);
             
             // 2. Release the Runway
-            runways.release(); 
+            releaseRunway(); 
             
         } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
     }
@@ -68,38 +126,119 @@ public class SemaphoreAirport implements AirportManager {
 
     @Override
     public void requestRunwayForTakeoff(int planeId) {
+        requestRunwayForTakeoff(planeId, PriorityClass.SCHEDULED);
+    }
+
+    @Override
+    public void requestRunwayForTakeoff(int planeId, PriorityClass priority) {
+        RunwayRequestEvent event = new RunwayRequestEvent();
+        event.begin();
         try {
-            // 1. Try to acquire the Mutex (allows check of waiting arrivals)
-            runwayAccessMutex.acquire(); 
+            // 1. CHECK PRIORITY: queue behind every waiting plane of a higher level.
+            //    Departures yield to arrivals of the same class (and above).
+            acquireRunway(priority.level(false));
+            event.complete(ALGORITHM, planeId, priority, false);
             
-            // 2. CHECK PRIORITY: If high-priority Arrivals are waiting, block access to the runway.
-            //    Departures must yield the runway resource if an Arrival is waiting.
-            while (waitingArrivals.get() > 0) {
-                 // Release the Mutex so Arrivals can proceed and wait on the runways semaphore
-                 runwayAccessMutex.release(); 
-                 
-                 // Small wait before re-checking to prevent busy-waiting
-                 Thread.sleep(50); 
-                 
-                 // Reacquire the Mutex to check the state again
-                 runwayAccessMutex.acquire();
-            }
-            
-            // 3. Acquire the actual Runway resource (if no Arrivals are waiting)
-            runways.acquire(); 
-            
-            // 4. If successful, release the Gate and the Mutex
-            gates.release();   
-            runwayAccessMutex.release(); 
+            // 2. If successful, release the Gate (only if this plane docked at one)
+            if (gatePool != null) gatePool.release(planeId);
+            else if (docked.remove(planeId)) gates.release();
             
         } catch (InterruptedException e) { 
-            runwayAccessMutex.release();
             Thread.currentThread().interrupt(); 
         }
     }
+
+    // --- RUNWAY QUEUE ---
+
+    private void acquireRunway(int level) throws InterruptedException {
+        // 1. Take a free runway directly if nobody is queued ahead of us
+        runwayAccessMutex.acquire();
+        if (runwayQueue.isEmpty() && runways.tryAcquire()) {
+            runwayAccessMutex.release();
+            return;
+        }
+
+        // 2. Otherwise queue and block until a releasing plane hands us its permit
+        Semaphore turn = new Semaphore(0);
+        runwayQueue.add(level, turn);
+        runwayAccessMutex.release();
+        // Spin for the handoff, already queued: a plane of a lower level that comes meanwhile
+        // queues behind us instead of taking the runway
+        spinIfEnabled(() -> turn.availablePermits() > 0);
+        try {
+            turn.acquire();
+        } catch (InterruptedException e) {
+            runwayAccessMutex.acquireUninterruptibly();
+            boolean removed = runwayQueue.remove(level, turn);
+            runwayAccessMutex.release();
+            if (!removed) {
+                // The runway was already handed to us: pass it on
+                turn.acquireUninterruptibly();
+                releaseRunway();
+            }
+            throw e;
+        }
+    }
+
+    private void releaseRunway() {
+        runwayAccessMutex.acquireUninterruptibly();
+        // A closed runway goes back into the deficit instead of to the next plane
+        Semaphore next = runways.availablePermits() < 0 ? null : runwayQueue.poll();
+        if (next == null) runways.release(); // Nobody waiting: permit back to the pool
+        runwayAccessMutex.release();
+        if (next != null) next.release();   // Direct handoff to the highest-priority plane
+    }
+
+    // --- CAPACITY ---
+
+    /**
+     * Fair semaphore whose permits can also be taken away. After a cut the available permits
+     * go negative, and releases pay the deficit back before anybody acquires again.
+     */
+    private static final class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        void resize(int delta) {
+            if (delta > 0) release(delta);
+            else if (delta < 0) reducePermits(-delta);
+        }
+    }
+
+    @Override
+    public void setRunwayCapacity(int runways) {
+        if (runways < 0) throw new IllegalArgumentException("runways must be >= 0: " + runways);
+        runwayAccessMutex.acquireUninterruptibly();
+        List<Semaphore> granted = new ArrayList<>();
+        try {
+            this.runways.resize(runways - totalRunways);
+            totalRunways = runways;
+            // New runways go straight to the queue, in priority order
+            while (!runwayQueue.isEmpty() && this.runways.tryAcquire()) {
+                granted.add(runwayQueue.poll());
+            }
+        } finally {
+            runwayAccessMutex.release();
+        }
+        for (Semaphore turn : granted) turn.release();
+    }
+
+    @Override
+    public synchronized void setGateCapacity(int gates) {
+        if (gates < 0) throw new IllegalArgumentException("gates must be >= 0: " + gates);
+        if (gatePool != null) throw new UnsupportedOperationException("terminal gates are fixed by the GatePool");
+        this.gates.resize(gates - totalGates);
+        totalGates = gates;
+    }
+
+    // --- GETTERS FOR UI ---
+
     @Override
     public int getFreeRunways() {
-        return runways.availablePermits();
+        return Math.max(0, runways.availablePermits());
     }
     
     @Override
@@ -108,17 +247,27 @@ public class SemaphoreAirport implements AirportManager {
     }
     
     public int getFreeGates() {
-        return gates.availablePermits();
+        if (gatePool != null) return gatePool.getFreeGates();
+        return Math.max(0, gates.availablePermits());
     }
 
     public int getTotalGates() {
         return totalGates;
     }
 
+    @Override
+    public String getAlgorithmName() {
+        return ALGORITHM;
+    }
+
+    public GatePool getGatePool() {
+        return gatePool;
+    }
+
     
     @Override
     public void finishTakeoff(int planeId) {
         // Just releases the runway and exits the system
-        runways.release(); 
+        releaseRunway(); 
     }
 }
\ No newline at end of file